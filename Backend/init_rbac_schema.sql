@@ -232,6 +232,26 @@ VALUES (
     'View audit logs',
     'audit',
     'view'
+),
+
+-- Project, Employee and Analytics Permissions (checked by @RequiresPermission)
+(
+    'PROJECT_WRITE',
+    'Create, edit and delete projects',
+    'projects',
+    'write'
+),
+(
+    'EMPLOYEE_WRITE',
+    'Create, edit and delete employees and their assignments',
+    'employees',
+    'write'
+),
+(
+    'ANALYTICS_READ',
+    'View allocation analytics',
+    'analytics',
+    'read'
 )
 ON DUPLICATE KEY UPDATE
     permission_description = VALUES(permission_description);
@@ -281,7 +301,10 @@ WHERE
         'FINANCE_REPORTS_VIEW',
         'OPERATIONS_DASHBOARD_ACCESS',
         'TRACE_SHEETS_ACCESS',
-        'AUDIT_LOGS_VIEW'
+        'AUDIT_LOGS_VIEW',
+        'PROJECT_WRITE',
+        'EMPLOYEE_WRITE',
+        'ANALYTICS_READ'
     );
 
 -- FINANCE Role Permissions
@@ -300,7 +323,9 @@ WHERE
         'INVOICE_REJECT',
         'FINANCE_DASHBOARD_ACCESS',
         'FINANCE_REPORTS_VIEW',
-        'FINANCE_REPORTS_EXPORT'
+        'FINANCE_REPORTS_EXPORT',
+        'PROJECT_WRITE',
+        'ANALYTICS_READ'
     );
 
 -- ============================================
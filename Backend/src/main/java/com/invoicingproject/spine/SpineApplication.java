@@ -2,8 +2,10 @@ package com.invoicingproject.spine;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SpineApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,57 @@
+package com.invoicingproject.spine.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/**
+ * Production pool sizing. Hikari's default of 10 connections ignores the host; here the
+ * pool is cores * pool-size-per-core + 1 (the usual starting point for a disk-backed
+ * database), unless spring.datasource.hikari.maximum-pool-size is set explicitly.
+ * The pool is kept fixed-size so it never has to open connections under load.
+ */
+@Configuration
+@Profile("prod")
+public class DataSourcePoolConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourcePoolConfig.class);
+
+    // Static so the post-processor is registered without instantiating this configuration early.
+    // Highest precedence so it sees the Hikari pool before any wrapping post-processor.
+    @Bean
+    public static BeanPostProcessor hikariPoolSizer(Environment environment) {
+        return new HikariPoolSizer(environment);
+    }
+
+    private static final class HikariPoolSizer implements BeanPostProcessor, Ordered {
+        private final Environment environment;
+
+        HikariPoolSizer(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource dataSource
+                    && !environment.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+                int perCore = environment.getProperty("spine.datasource.pool-size-per-core", Integer.class, 2);
+                int poolSize = Runtime.getRuntime().availableProcessors() * perCore + 1;
+                dataSource.setMaximumPoolSize(poolSize);
+                dataSource.setMinimumIdle(poolSize);
+                logger.info("Sized connection pool {} to {} connections", dataSource.getPoolName(), poolSize);
+            }
+            return bean;
+        }
+    }
+}
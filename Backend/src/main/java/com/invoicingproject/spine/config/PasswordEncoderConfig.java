@@ -1,5 +1,6 @@
 package com.invoicingproject.spine.config;
 
+import com.invoicingproject.spine.metrics.RecordingPasswordEncoder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -13,12 +14,12 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class PasswordEncoderConfig {
 
     /**
-     * Bean for password encoding using BCrypt
+     * Bean for password encoding using BCrypt, recorded as spine.PasswordHash JFR events
      * 
      * @return PasswordEncoder instance
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new RecordingPasswordEncoder(new BCryptPasswordEncoder());
     }
 }
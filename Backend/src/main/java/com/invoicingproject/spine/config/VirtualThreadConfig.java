@@ -0,0 +1,42 @@
+package com.invoicingproject.spine.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+
+import java.sql.Driver;
+
+/**
+ * Startup checks for the "virtual" profile. Spring Boot silently falls back to platform
+ * threads on a JVM older than 21, and Connector/J 8 holds monitors during socket I/O,
+ * which pins the carrier thread for the whole query; both are reported here.
+ */
+@Configuration
+@Profile("virtual")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkRuntime() {
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < 21) {
+            logger.warn("Profile 'virtual' is active on Java {}; requests run on platform threads. "
+                    + "Use a Java 21 runtime.", javaVersion);
+            return;
+        }
+        try {
+            Driver driver = new com.mysql.cj.jdbc.Driver();
+            if (driver.getMajorVersion() < 9) {
+                logger.warn("Connector/J {}.{} pins carrier threads during queries; build with -Pjava21 "
+                        + "for a 9.x driver", driver.getMajorVersion(), driver.getMinorVersion());
+            }
+        } catch (Exception e) {
+            logger.debug("Could not check the JDBC driver version", e);
+        }
+        logger.info("Serving requests on virtual threads");
+    }
+}
@@ -1,4 +1,6 @@
 package com.invoicingproject.spine.controller;
+import com.invoicingproject.spine.repository.UserCache;
+import com.invoicingproject.spine.security.LoginRateLimiter;
 import com.invoicingproject.spine.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +22,12 @@ public class AdminController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
     // Health check endpoint for debugging
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> healthCheck() {
@@ -180,24 +188,21 @@ public class AdminController {
             }
 
             logger.info("Bulk updating roles for {} users to {}", userIds.size(), role.toUpperCase());
-            boolean updated = userService.updateMultipleUserRoles(userIds, role.toUpperCase());
+            UserService.BulkRoleUpdateResult result = userService.updateMultipleUserRoles(userIds,
+                    role.toUpperCase());
 
-            if (updated) {
-                Map<String, Object> response = new HashMap<>();
-                response.put("success", true);
-                response.put("message", "Roles updated successfully for " + userIds.size() + " users");
-                response.put("updatedCount", userIds.size());
-                logger.info("Successfully updated roles for {} users", userIds.size());
-                return ResponseEntity.ok(response);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("updatedCount", result.getUpdatedCount());
+            response.put("unmatchedUserIds", result.getUnmatchedIds());
+            if (result.getUnmatchedIds().isEmpty()) {
+                response.put("message", "Roles updated successfully for " + result.getUpdatedCount() + " users");
             } else {
-                Map<String, Object> errorResponse = new HashMap<>();
-                errorResponse.put("success", false);
-                errorResponse.put("message",
-                        "Failed to update user roles - some users may not exist or database error");
-                errorResponse.put("debugInfo", "updateMultipleUserRoles returned false");
-                logger.warn("Failed to update roles for bulk users - updateMultipleUserRoles returned false");
-                return ResponseEntity.internalServerError().body(errorResponse);
+                response.put("message", "Roles updated for " + result.getUpdatedCount() + " users; "
+                        + result.getUnmatchedIds().size() + " user IDs were not found");
             }
+            logger.info("Successfully updated roles for {} users", result.getUpdatedCount());
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
             logger.error("Error updating multiple user roles: {}", e.getMessage(), e);
             Map<String, Object> errorResponse = new HashMap<>();
@@ -246,4 +251,22 @@ public class AdminController {
             return ResponseEntity.internalServerError().body(errorResponse);
         }
     }
+
+    // User cache statistics (per node)
+    @GetMapping("/cache/users")
+    public ResponseEntity<Map<String, Object>> getUserCacheStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("stats", userCache.getStats());
+        return ResponseEntity.ok(response);
+    }
+
+    // Login rate limiter counters (per node)
+    @GetMapping("/rate-limit/login")
+    public ResponseEntity<Map<String, Object>> getLoginRateLimitStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("stats", loginRateLimiter.getStats());
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,44 @@
+package com.invoicingproject.spine.controller;
+
+import com.invoicingproject.spine.dto.AllocationReportResponse;
+import com.invoicingproject.spine.security.RequiresPermission;
+import com.invoicingproject.spine.service.AllocationAnalyticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
+
+    @Autowired
+    private AllocationAnalyticsService allocationAnalyticsService;
+
+    // Billable FTE per project per month, bench and over-allocation over a date range
+    // GET /api/analytics/allocation?from=2026-01-01&to=2026-06-30&includeEmployees=true
+    @GetMapping("/allocation")
+    @RequiresPermission("analytics:read")
+    public ResponseEntity<AllocationReportResponse> getAllocationReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includeEmployees) {
+        try {
+            return ResponseEntity.ok(allocationAnalyticsService.analyze(from, to, includeEmployees));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid allocation report request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error computing allocation report", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package com.invoicingproject.spine.controller;
 
 import com.invoicingproject.spine.dto.AuthRequest;
+import com.invoicingproject.spine.security.AuthenticatedUser;
+import com.invoicingproject.spine.security.LoginRateLimiter;
 import com.invoicingproject.spine.service.AuthService;
-import com.invoicingproject.spine.service.JwtService;
+import com.invoicingproject.spine.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -19,7 +25,10 @@ public class AuthController {
     private AuthService authService;
 
     @Autowired
-    private JwtService jwtService;
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private UserService userService;
 
     /**
      * Register a new user
@@ -57,8 +66,22 @@ public class AuthController {
      * POST /api/auth/login
      */
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> loginUser(@Valid @RequestBody AuthRequest request) {
+    public ResponseEntity<Map<String, Object>> loginUser(@Valid @RequestBody AuthRequest request,
+            HttpServletRequest httpRequest) {
         try {
+            // Throttle before any database lookup or password hashing
+            LoginRateLimiter.Decision decision = loginRateLimiter.tryAcquire(request.getUsername(),
+                    httpRequest.getRemoteAddr());
+            if (decision != LoginRateLimiter.Decision.ALLOWED) {
+                Map<String, Object> errorResponse = Map.of(
+                        "success", false,
+                        "message", "Too many login attempts. Please try again later.");
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER,
+                                String.valueOf(loginRateLimiter.retryAfterSeconds(decision)))
+                        .body(errorResponse);
+            }
+
             // Use username field as identifier for backward compatibility
             Map<String, Object> result = authService.loginUser(
                     request.getUsername(),
@@ -66,6 +89,7 @@ public class AuthController {
                     request.getDepartment());
 
             if ((Boolean) result.get("success")) {
+                loginRateLimiter.recordSuccess(request.getUsername());
                 return ResponseEntity.ok(result);
             } else {
                 return ResponseEntity.badRequest().body(result);
@@ -104,13 +128,40 @@ public class AuthController {
     }
 
     /**
-     * Get user profile
-     * GET /api/auth/profile?username={username}
+     * Logout - revokes the refresh token and every token rotated from the same login
+     * POST /api/auth/logout
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Map<String, Object>> logout(@RequestBody Map<String, String> request) {
+        try {
+            Map<String, Object> result = authService.logout(request.get("refreshToken"));
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = Map.of(
+                    "success", false,
+                    "message", "Logout failed: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(errorResponse);
+        }
+    }
+
+    /**
+     * Get user profile of the authenticated caller
+     * GET /api/auth/profile (username parameter optional; admins may look up others)
      */
     @GetMapping("/profile")
-    public ResponseEntity<Map<String, Object>> getUserProfile(@RequestParam String username) {
+    public ResponseEntity<Map<String, Object>> getUserProfile(
+            @RequestParam(required = false) String username,
+            @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            Map<String, Object> result = authService.getUserProfile(username);
+            if (username != null && !username.equals(principal.getUsername()) && !principal.isAdmin()) {
+                Map<String, Object> errorResponse = Map.of(
+                        "success", false,
+                        "message", "Not allowed to view another user's profile");
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
+            }
+
+            Map<String, Object> result = authService
+                    .getUserProfile(username != null ? username : principal.getUsername());
 
             if ((Boolean) result.get("success")) {
                 return ResponseEntity.ok(result);
@@ -126,6 +177,26 @@ public class AuthController {
         }
     }
 
+    /**
+     * Access summary (permissions and dashboard flags) for the caller's role
+     * GET /api/auth/access
+     */
+    @GetMapping("/access")
+    public ResponseEntity<Map<String, Object>> getAccessSummary(@AuthenticationPrincipal AuthenticatedUser principal) {
+        try {
+            Map<String, Object> response = Map.of(
+                    "success", true,
+                    "access", userService.getUserAccessSummary(principal.getRoleId()));
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = Map.of(
+                    "success", false,
+                    "message", "Failed to get access summary: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(errorResponse);
+        }
+    }
+
     /**
      * Get valid departments
      * GET /api/auth/departments
@@ -163,6 +234,7 @@ public class AuthController {
                         "register", "POST /api/auth/register",
                         "login", "POST /api/auth/login",
                         "refresh", "POST /api/auth/refresh",
+                        "logout", "POST /api/auth/logout",
                         "profile", "GET /api/auth/profile",
                         "departments", "GET /api/auth/departments"));
 
@@ -176,37 +248,13 @@ public class AuthController {
     @PostMapping("/change-password")
     public ResponseEntity<Map<String, Object>> changePassword(
             @RequestBody Map<String, String> request,
-            @RequestHeader("Authorization") String authorizationHeader) {
+            @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            // Extract token from Authorization header
-            if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
-                Map<String, Object> errorResponse = Map.of(
-                        "success", false,
-                        "message", "Authorization token required");
-                return ResponseEntity.badRequest().body(errorResponse);
-            }
-
-            String token = authorizationHeader.substring(7); // Remove "Bearer " prefix
-
-            // Validate token and get username
-            if (!jwtService.validateToken(token)) {
-                Map<String, Object> errorResponse = Map.of(
-                        "success", false,
-                        "message", "Invalid or expired token");
-                return ResponseEntity.badRequest().body(errorResponse);
-            }
-
-            String username = jwtService.getUsernameFromToken(token);
+            // Token was verified by JwtAuthenticationFilter
+            String username = principal.getUsername();
             String currentPassword = request.get("currentPassword");
             String newPassword = request.get("newPassword");
 
-            if (username == null) {
-                Map<String, Object> errorResponse = Map.of(
-                        "success", false,
-                        "message", "Invalid token payload");
-                return ResponseEntity.badRequest().body(errorResponse);
-            }
-
             Map<String, Object> result = authService.changePassword(username, currentPassword, newPassword);
 
             if ((Boolean) result.get("success")) {
@@ -230,36 +278,12 @@ public class AuthController {
     @PostMapping("/update-email")
     public ResponseEntity<Map<String, Object>> updateEmail(
             @RequestBody Map<String, String> request,
-            @RequestHeader("Authorization") String authorizationHeader) {
+            @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            // Extract token from Authorization header
-            if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
-                Map<String, Object> errorResponse = Map.of(
-                        "success", false,
-                        "message", "Authorization token required");
-                return ResponseEntity.badRequest().body(errorResponse);
-            }
-
-            String token = authorizationHeader.substring(7); // Remove "Bearer " prefix
-
-            // Validate token and get username
-            if (!jwtService.validateToken(token)) {
-                Map<String, Object> errorResponse = Map.of(
-                        "success", false,
-                        "message", "Invalid or expired token");
-                return ResponseEntity.badRequest().body(errorResponse);
-            }
-
-            String username = jwtService.getUsernameFromToken(token);
+            // Token was verified by JwtAuthenticationFilter
+            String username = principal.getUsername();
             String newEmail = request.get("email");
 
-            if (username == null) {
-                Map<String, Object> errorResponse = Map.of(
-                        "success", false,
-                        "message", "Invalid token payload");
-                return ResponseEntity.badRequest().body(errorResponse);
-            }
-
             Map<String, Object> result = authService.updateEmail(username, newEmail);
 
             if ((Boolean) result.get("success")) {
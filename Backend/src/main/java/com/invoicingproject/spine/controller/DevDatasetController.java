@@ -0,0 +1,55 @@
+package com.invoicingproject.spine.controller;
+
+import com.invoicingproject.spine.service.DatasetGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Synthetic scale-test data, "dev" profile only. Under /api/admin so it needs the ADMIN role.
+ * The full default volumes take several minutes; the request blocks until done.
+ */
+@RestController
+@RequestMapping("/api/admin/dataset")
+@CrossOrigin(origins = "*")
+@Profile("dev")
+public class DevDatasetController {
+
+    private static final Logger logger = LoggerFactory.getLogger(DevDatasetController.class);
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+
+    // POST /api/admin/dataset {"employees": 1000, "projects": 100, "invoices": 20000}
+    // Omitted fields keep the production-sized defaults
+    @PostMapping
+    public ResponseEntity<DatasetGenerator.Result> generate(@RequestBody(required = false) DatasetGenerator.Spec spec) {
+        try {
+            return ResponseEntity.ok(datasetGenerator.generate(spec != null ? spec : new DatasetGenerator.Spec()));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid dataset request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            logger.warn("Dataset not generated: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            logger.error("Error generating dataset", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // DELETE /api/admin/dataset removes every generated row
+    @DeleteMapping
+    public ResponseEntity<DatasetGenerator.Result> purge() {
+        try {
+            return ResponseEntity.ok(datasetGenerator.purge());
+        } catch (Exception e) {
+            logger.error("Error purging dataset", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -8,6 +8,9 @@ import com.invoicingproject.spine.entity.Project;
 import com.invoicingproject.spine.repository.EmployeeProjectRepository;
 import com.invoicingproject.spine.repository.EmployeeRepository;
 import com.invoicingproject.spine.repository.ProjectRepository;
+import com.invoicingproject.spine.security.RequiresPermission;
+import com.invoicingproject.spine.service.AllocationLedger;
+import com.invoicingproject.spine.service.WriteTransactionRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +18,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -36,6 +42,12 @@ public class EmployeeController {
     @Autowired
     private ProjectRepository projectRepository;
 
+    @Autowired
+    private AllocationLedger allocationLedger;
+
+    @Autowired
+    private WriteTransactionRunner writeTransactionRunner;
+
     // Get all employees
     @GetMapping
     public ResponseEntity<List<EmployeeResponse>> getAllEmployees() {
@@ -98,6 +110,26 @@ public class EmployeeController {
         }
     }
 
+    // Get employees by tenure range in days (uses materialized tenure_days column)
+    @GetMapping("/tenure")
+    public ResponseEntity<List<EmployeeResponse>> getEmployeesByTenure(
+            @RequestParam(defaultValue = "0") int minDays,
+            @RequestParam(defaultValue = "2147483647") int maxDays) {
+        try {
+            if (minDays < 0 || maxDays < minDays) {
+                return ResponseEntity.badRequest().build();
+            }
+            List<Employee> employees = employeeRepository.findByTenureDaysBetween(minDays, maxDays);
+            List<EmployeeResponse> responses = employees.stream()
+                    .map(this::convertToResponse)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(responses);
+        } catch (Exception e) {
+            logger.error("Error fetching employees by tenure", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     // Get employees by project name using junction table (new approach)
     @GetMapping("/project-junction/{projectName}")
     public ResponseEntity<List<EmployeeResponse>> getEmployeesByProjectFromJunction(@PathVariable String projectName) {
@@ -146,6 +178,7 @@ public class EmployeeController {
 
     // Sync employee-project assignments from old column to junction table
     @PostMapping("/sync-projects")
+    @RequiresPermission("employees:write")
     public ResponseEntity<String> syncProjects() {
         try {
             logger.info("Syncing employee-project assignments to junction table...");
@@ -178,7 +211,13 @@ public class EmployeeController {
                                     employee.getStartDate() != null ? java.sql.Date.valueOf(employee.getStartDate())
                                             : null);
                             ep.setIsPrimary(true);
+                            if (allocationLedger.wouldOverAllocate(employee.getId(), List.of(ep))) {
+                                logger.warn("Skipping sync of employee {} to project {}: would exceed 100% allocation",
+                                        employee.getEmpId(), projectName);
+                                continue;
+                            }
                             employeeProjectRepository.save(ep);
+                            allocationLedger.record(ep);
                             syncCount++;
                             logger.info("Synced employee {} to project {}", employee.getEmpId(), projectName);
                         }
@@ -212,6 +251,7 @@ public class EmployeeController {
 
     // Create new employee
     @PostMapping
+    @RequiresPermission("employees:write")
     public ResponseEntity<EmployeeResponse> createEmployee(@RequestBody EmployeeRequest request) {
         try {
             logger.info("Creating new employee: {}", request.getEmpId());
@@ -241,10 +281,22 @@ public class EmployeeController {
             employee.setBillingType(request.getBillingType());
             employee.setStartDate(request.getStartDate());
 
-            Employee savedEmployee = employeeRepository.save(employee);
+            // Reject over-allocation before anything is written
+            List<EmployeeProject> assignments = buildEmployeeProjects(employee, request,
+                    employee.getStartDate());
+            if (allocationLedger.wouldOverAllocate(null, assignments)) {
+                logger.warn("Rejecting employee {}: project allocations exceed 100%", request.getEmpId());
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
 
-            // Handle multiple projects
-            saveEmployeeProjects(savedEmployee, request);
+            // Employee row and its project associations commit together
+            Employee savedEmployee = writeTransactionRunner.execute("employee.create", status -> {
+                employee.setId(null); // a rolled-back attempt may have assigned one
+                Employee saved = employeeRepository.save(employee);
+                saveEmployeeProjects(saved, assignments);
+                return saved;
+            });
+            allocationLedger.replace(savedEmployee.getId(), assignments);
 
             EmployeeResponse response = convertToResponse(savedEmployee);
 
@@ -258,6 +310,7 @@ public class EmployeeController {
 
     // Update employee
     @PutMapping("/{id}")
+    @RequiresPermission("employees:write")
     public ResponseEntity<EmployeeResponse> updateEmployee(@PathVariable Long id,
             @RequestBody EmployeeRequest request) {
         try {
@@ -278,14 +331,36 @@ public class EmployeeController {
             employee.setStartDate(request.getStartDate());
             employee.preUpdate();
 
-            Employee savedEmployee = employeeRepository.save(employee);
+            // The request replaces the current assignments; ended ones stay and count against it.
+            // New assignments start today (or on a later hire date), not on the hire date.
+            boolean replaceProjects = request.getProjectIds() != null || request.getProjectNames() != null;
+            AllocationLedger.Replacement replacement = null;
+            if (replaceProjects) {
+                LocalDate today = LocalDate.now();
+                LocalDate start = employee.getStartDate() != null && employee.getStartDate().isAfter(today)
+                        ? employee.getStartDate()
+                        : today;
+                replacement = allocationLedger.planReplacement(id,
+                        buildEmployeeProjects(employee, request, start), today);
+                if (replacement.isOverAllocated()) {
+                    logger.warn("Rejecting update of employee {}: project allocations exceed 100%", id);
+                    return ResponseEntity.status(HttpStatus.CONFLICT).build();
+                }
+            }
 
-            // Handle multiple projects - update the junction table
-            if (request.getProjectIds() != null || request.getProjectNames() != null) {
-                // Delete existing employee-project associations
-                employeeProjectRepository.deleteByEmployeeId(savedEmployee.getId());
-                // Save new associations
-                saveEmployeeProjects(savedEmployee, request);
+            // One transaction for the row update and the junction changes, retried on deadlock
+            AllocationLedger.Replacement changes = replacement;
+            Employee savedEmployee = writeTransactionRunner.execute("employee.update", status -> {
+                Employee saved = employeeRepository.save(employee);
+                if (changes != null) {
+                    employeeProjectRepository.deleteAll(changes.getDeletes());
+                    employeeProjectRepository.updateAll(changes.getUpdates());
+                    saveEmployeeProjects(saved, changes.getInserts());
+                }
+                return saved;
+            });
+            if (changes != null) {
+                allocationLedger.replace(id, changes.getResult());
             }
 
             return ResponseEntity.ok(convertToResponse(savedEmployee));
@@ -297,12 +372,15 @@ public class EmployeeController {
 
     // Delete employee
     @DeleteMapping("/{id}")
+    @RequiresPermission("employees:write")
     public ResponseEntity<Void> deleteEmployee(@PathVariable Long id) {
         try {
-            // Delete employee-project associations first
-            employeeProjectRepository.deleteByEmployeeId(id);
-            // Delete the employee
-            boolean deleted = employeeRepository.deleteById(id);
+            // Associations first, then the employee, in one transaction
+            boolean deleted = Boolean.TRUE.equals(writeTransactionRunner.execute("employee.delete", status -> {
+                employeeProjectRepository.deleteByEmployeeId(id);
+                return employeeRepository.deleteById(id);
+            }));
+            allocationLedger.evict(id);
             if (deleted) {
                 return ResponseEntity.noContent().build();
             }
@@ -313,41 +391,61 @@ public class EmployeeController {
         }
     }
 
-    // Helper method to save employee-project associations
-    private void saveEmployeeProjects(Employee employee, EmployeeRequest request) {
-        List<Long> projectIds = request.getProjectIds();
-        List<String> projectNames = request.getProjectNames();
-
-        if (projectIds != null && !projectIds.isEmpty()) {
-            // Save by project IDs
-            for (int i = 0; i < projectIds.size(); i++) {
-                Long projectId = projectIds.get(i);
-                EmployeeProject ep = new EmployeeProject();
-                ep.setEmployeeId(employee.getId());
-                ep.setProjectId(projectId);
-                ep.setAllocationPercentage(new java.math.BigDecimal("100.00"));
-                ep.setStartDate(
-                        employee.getStartDate() != null ? java.sql.Date.valueOf(employee.getStartDate()) : null);
-                ep.setIsPrimary(i == 0); // First project is primary
-                employeeProjectRepository.save(ep);
-            }
-        } else if (projectNames != null && !projectNames.isEmpty()) {
-            // Save by project names (for backward compatibility)
-            for (int i = 0; i < projectNames.size(); i++) {
-                String projectName = projectNames.get(i);
-                Optional<Project> projectOpt = projectRepository.findByProjectName(projectName);
-                if (projectOpt.isPresent()) {
-                    EmployeeProject ep = new EmployeeProject();
-                    ep.setEmployeeId(employee.getId());
-                    ep.setProjectId(projectOpt.get().getId());
-                    ep.setAllocationPercentage(new java.math.BigDecimal("100.00"));
-                    ep.setStartDate(
-                            employee.getStartDate() != null ? java.sql.Date.valueOf(employee.getStartDate()) : null);
-                    ep.setIsPrimary(i == 0);
-                    employeeProjectRepository.save(ep);
-                }
+    // Helper method to build employee-project associations from the request.
+    // Project IDs take precedence over names; unknown names are skipped.
+    private List<EmployeeProject> buildEmployeeProjects(Employee employee, EmployeeRequest request,
+            LocalDate startDate) {
+        List<Long> projectIds = new ArrayList<>();
+        if (request.getProjectIds() != null && !request.getProjectIds().isEmpty()) {
+            projectIds.addAll(request.getProjectIds());
+        } else if (request.getProjectNames() != null) {
+            // Resolve by project names (for backward compatibility)
+            for (String projectName : request.getProjectNames()) {
+                projectRepository.findByProjectName(projectName)
+                        .ifPresent(project -> projectIds.add(project.getId()));
             }
         }
+
+        List<BigDecimal> allocations = resolveAllocations(request.getAllocationPercentages(), projectIds.size());
+        List<EmployeeProject> assignments = new ArrayList<>();
+        for (int i = 0; i < projectIds.size(); i++) {
+            EmployeeProject ep = new EmployeeProject();
+            ep.setEmployeeId(employee.getId());
+            ep.setProjectId(projectIds.get(i));
+            ep.setAllocationPercentage(allocations.get(i));
+            ep.setStartDate(startDate != null ? java.sql.Date.valueOf(startDate) : null);
+            ep.setIsPrimary(i == 0); // First project is primary
+            assignments.add(ep);
+        }
+        return assignments;
+    }
+
+    // Use the requested allocations when given for every project, otherwise split 100%
+    // evenly with the rounding remainder on the primary (first) project
+    private List<BigDecimal> resolveAllocations(List<BigDecimal> requested, int projectCount) {
+        if (requested != null && requested.size() == projectCount && !requested.contains(null)) {
+            return requested;
+        }
+        List<BigDecimal> allocations = new ArrayList<>();
+        if (projectCount == 0) {
+            return allocations;
+        }
+        BigDecimal full = new BigDecimal("100.00");
+        BigDecimal share = full.divide(BigDecimal.valueOf(projectCount), 2, RoundingMode.DOWN);
+        BigDecimal remainder = full.subtract(share.multiply(BigDecimal.valueOf(projectCount)));
+        for (int i = 0; i < projectCount; i++) {
+            allocations.add(i == 0 ? share.add(remainder) : share);
+        }
+        return allocations;
+    }
+
+    // Helper method to insert employee-project associations in one batch. Database only:
+    // it runs inside a retryable transaction, so the caller updates the ledger afterwards.
+    private void saveEmployeeProjects(Employee employee, List<EmployeeProject> assignments) {
+        for (EmployeeProject ep : assignments) {
+            ep.setEmployeeId(employee.getId());
+        }
+        employeeProjectRepository.insertAll(assignments);
     }
 
     private EmployeeResponse convertToResponse(Employee employee) {
@@ -363,13 +461,18 @@ public class EmployeeController {
         response.setBillingType(employee.getBillingType());
         response.setStartDate(employee.getStartDate());
         response.setTenure(employee.getTenure());
+        response.setTenureDays(employee.getTenureDays());
         response.setCreatedAt(employee.getCreatedAt());
         response.setUpdatedAt(employee.getUpdatedAt());
 
-        // Load employee projects
+        // Load employee projects from junction table; projects lists every assignment,
+        // currentProjects only those not ended, which is what an edit replaces
         List<EmployeeProject> employeeProjects = employeeProjectRepository.findByEmployeeId(employee.getId());
         List<String> projectNames = new ArrayList<>();
         List<Long> projectIds = new ArrayList<>();
+        List<String> currentProjectNames = new ArrayList<>();
+        List<Long> currentProjectIds = new ArrayList<>();
+        LocalDate today = LocalDate.now();
 
         for (EmployeeProject ep : employeeProjects) {
             // Get project name from repository
@@ -377,11 +480,17 @@ public class EmployeeController {
             if (projectOpt.isPresent()) {
                 projectNames.add(projectOpt.get().getProjectName());
                 projectIds.add(ep.getProjectId());
+                if (!AllocationLedger.hasEnded(ep, today)) {
+                    currentProjectNames.add(projectOpt.get().getProjectName());
+                    currentProjectIds.add(ep.getProjectId());
+                }
             }
         }
 
         response.setProjects(projectNames);
         response.setProjectIds(projectIds);
+        response.setCurrentProjects(currentProjectNames);
+        response.setCurrentProjectIds(currentProjectIds);
 
         // For backward compatibility, set 'project' to comma-separated list
         if (!projectNames.isEmpty()) {
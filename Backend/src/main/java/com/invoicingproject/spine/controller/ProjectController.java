@@ -1,12 +1,18 @@
 package com.invoicingproject.spine.controller;
 
 import com.invoicingproject.spine.dto.CategoryResponse;
+import com.invoicingproject.spine.dto.ProjectPageResponse;
 import com.invoicingproject.spine.dto.ProjectRequest;
 import com.invoicingproject.spine.dto.ProjectResponse;
+import com.invoicingproject.spine.dto.ProjectSearchRequest;
+import com.invoicingproject.spine.dto.ProjectSummaryResponse;
 import com.invoicingproject.spine.entity.Project;
 import com.invoicingproject.spine.entity.ProjectCategory;
 import com.invoicingproject.spine.repository.ProjectCategoryRepository;
 import com.invoicingproject.spine.repository.ProjectRepository;
+import com.invoicingproject.spine.security.RequiresPermission;
+import com.invoicingproject.spine.service.AllocationLedger;
+import com.invoicingproject.spine.service.WriteTransactionRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,6 +41,12 @@ public class ProjectController {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private AllocationLedger allocationLedger;
+
+    @Autowired
+    private WriteTransactionRunner writeTransactionRunner;
+
     // Get all projects
     @GetMapping
     public ResponseEntity<List<ProjectResponse>> getAllProjects() {
@@ -50,6 +62,39 @@ public class ProjectController {
         }
     }
 
+    // Search projects with server-side filters and keyset pagination
+    // GET /api/projects/search?projectType=FTE&status=ACTIVE&limit=50&cursor=...
+    // GET /api/projects/search?projectType=FTE&countOnly=true
+    @GetMapping("/search")
+    public ResponseEntity<ProjectPageResponse> searchProjects(@ModelAttribute ProjectSearchRequest request) {
+        try {
+            if (request.isCountOnly()) {
+                long total = projectRepository.countMatching(request);
+                return ResponseEntity.ok(new ProjectPageResponse(List.of(), null, total));
+            }
+
+            int limit = request.getEffectiveLimit();
+            List<Project> projects = projectRepository.search(request);
+            String nextCursor = null;
+            if (projects.size() > limit) {
+                projects = projects.subList(0, limit);
+                nextCursor = ProjectRepository.encodeCursor(projects.get(limit - 1));
+            }
+
+            // Category name comes from the join in search(), so no per-row lookup here
+            List<ProjectResponse> responses = projects.stream()
+                    .map(ProjectResponse::fromProject)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(new ProjectPageResponse(responses, nextCursor, null));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid project search request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error searching projects", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     // Get project by ID
     @GetMapping("/{id}")
     public ResponseEntity<ProjectResponse> getProjectById(@PathVariable Long id) {
@@ -65,8 +110,24 @@ public class ProjectController {
         }
     }
 
+    // Get project with category, headcount, billable FTE and invoice totals in one request
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<ProjectSummaryResponse> getProjectSummary(@PathVariable Long id) {
+        try {
+            Optional<ProjectSummaryResponse> summaryOpt = projectRepository.findSummaryById(id);
+            if (summaryOpt.isPresent()) {
+                return ResponseEntity.ok(summaryOpt.get());
+            }
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            logger.error("Error fetching summary for project with id: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     // Create new project
     @PostMapping
+    @RequiresPermission("projects:write")
     public ResponseEntity<ProjectResponse> createProject(@RequestBody ProjectRequest request) {
         try {
             logger.info("Creating new project: {}", request.getProjectName());
@@ -96,7 +157,11 @@ public class ProjectController {
                 project.setProjectCode(request.getProjectCode());
             }
 
-            Project savedProject = projectRepository.save(project);
+            // Transaction keeps the INSERT and LAST_INSERT_ID() on one connection
+            Project savedProject = writeTransactionRunner.execute("project.create", status -> {
+                project.setId(null); // a rolled-back attempt may have assigned one
+                return projectRepository.save(project);
+            });
             ProjectResponse response = convertToResponse(savedProject);
 
             logger.info("Project created successfully with id: {}", savedProject.getId());
@@ -109,6 +174,7 @@ public class ProjectController {
 
     // Update project
     @PutMapping("/{id}")
+    @RequiresPermission("projects:write")
     public ResponseEntity<ProjectResponse> updateProject(@PathVariable Long id, @RequestBody ProjectRequest request) {
         try {
             Optional<Project> existingOpt = projectRepository.findById(id);
@@ -130,7 +196,8 @@ public class ProjectController {
             project.setDepartment(request.getDepartment());
             project.preUpdate();
 
-            Project savedProject = projectRepository.save(project);
+            Project savedProject = writeTransactionRunner.execute("project.update",
+                    status -> projectRepository.save(project));
             return ResponseEntity.ok(convertToResponse(savedProject));
         } catch (Exception e) {
             logger.error("Error updating project with id: {}", id, e);
@@ -140,10 +207,14 @@ public class ProjectController {
 
     // Delete project
     @DeleteMapping("/{id}")
+    @RequiresPermission("projects:write")
     public ResponseEntity<Void> deleteProject(@PathVariable Long id) {
         try {
-            boolean deleted = projectRepository.deleteById(id);
+            boolean deleted = Boolean.TRUE.equals(writeTransactionRunner.execute("project.delete",
+                    status -> projectRepository.deleteById(id)));
             if (deleted) {
+                // employee_projects rows cascade with the project; drop cached allocations
+                allocationLedger.evictAll();
                 return ResponseEntity.noContent().build();
             }
             return ResponseEntity.notFound().build();
@@ -174,6 +245,7 @@ public class ProjectController {
 
     // Seed/initialize sample data
     @PostMapping("/seed")
+    @RequiresPermission("projects:write")
     public ResponseEntity<String> seedSampleData() {
         try {
             logger.info("Seeding sample project data...");
@@ -232,6 +304,7 @@ public class ProjectController {
 
     // Fix/Update project types for existing projects
     @PostMapping("/fix-project-types")
+    @RequiresPermission("projects:write")
     public ResponseEntity<String> fixProjectTypes() {
         try {
             logger.info("Fixing project types for existing projects...");
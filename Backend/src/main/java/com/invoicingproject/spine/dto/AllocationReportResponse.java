@@ -0,0 +1,183 @@
+package com.invoicingproject.spine.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Headcount and allocation analytics over a date range, bucketed by calendar month.
+ * Monthly arrays are aligned with {@link #getMonths()}; the first and last month are
+ * clipped to the requested range.
+ */
+public class AllocationReportResponse {
+
+    private LocalDate from;
+    private LocalDate to;
+    private List<String> months = new ArrayList<>(); // "yyyy-MM"
+
+    private double[] totalFte; // all assignments, day-weighted per month
+    private double[] billableFte; // assignments of billable employees only
+    private int[] benchHeadcount; // employees with no allocation at all during the month
+    private int[] overAllocatedHeadcount; // employees above 100% on at least one day of the month
+
+    private List<ProjectAllocation> projects = new ArrayList<>();
+    private List<EmployeeAllocation> employees = new ArrayList<>();
+
+    public AllocationReportResponse() {
+    }
+
+    // Getters and Setters
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public List<String> getMonths() {
+        return months;
+    }
+
+    public void setMonths(List<String> months) {
+        this.months = months;
+    }
+
+    public double[] getTotalFte() {
+        return totalFte;
+    }
+
+    public void setTotalFte(double[] totalFte) {
+        this.totalFte = totalFte;
+    }
+
+    public double[] getBillableFte() {
+        return billableFte;
+    }
+
+    public void setBillableFte(double[] billableFte) {
+        this.billableFte = billableFte;
+    }
+
+    public int[] getBenchHeadcount() {
+        return benchHeadcount;
+    }
+
+    public void setBenchHeadcount(int[] benchHeadcount) {
+        this.benchHeadcount = benchHeadcount;
+    }
+
+    public int[] getOverAllocatedHeadcount() {
+        return overAllocatedHeadcount;
+    }
+
+    public void setOverAllocatedHeadcount(int[] overAllocatedHeadcount) {
+        this.overAllocatedHeadcount = overAllocatedHeadcount;
+    }
+
+    public List<ProjectAllocation> getProjects() {
+        return projects;
+    }
+
+    public void setProjects(List<ProjectAllocation> projects) {
+        this.projects = projects;
+    }
+
+    public List<EmployeeAllocation> getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(List<EmployeeAllocation> employees) {
+        this.employees = employees;
+    }
+
+    public static class ProjectAllocation {
+        private Long projectId;
+        private double[] fte;
+        private double[] billableFte;
+        private int[] headcount;
+        private int[] primaryHeadcount;
+
+        public ProjectAllocation(Long projectId, double[] fte, double[] billableFte, int[] headcount,
+                int[] primaryHeadcount) {
+            this.projectId = projectId;
+            this.fte = fte;
+            this.billableFte = billableFte;
+            this.headcount = headcount;
+            this.primaryHeadcount = primaryHeadcount;
+        }
+
+        // Getters
+        public Long getProjectId() {
+            return projectId;
+        }
+
+        public double[] getFte() {
+            return fte;
+        }
+
+        public double[] getBillableFte() {
+            return billableFte;
+        }
+
+        public int[] getHeadcount() {
+            return headcount;
+        }
+
+        public int[] getPrimaryHeadcount() {
+            return primaryHeadcount;
+        }
+    }
+
+    public static class EmployeeAllocation {
+        private Long employeeId;
+        private boolean billable;
+        private double utilizationPercent; // day-weighted average allocation over the range
+        private double peakAllocationPercent;
+        private int overAllocatedDays;
+        private int benchDays;
+
+        public EmployeeAllocation(Long employeeId, boolean billable, double utilizationPercent,
+                double peakAllocationPercent, int overAllocatedDays, int benchDays) {
+            this.employeeId = employeeId;
+            this.billable = billable;
+            this.utilizationPercent = utilizationPercent;
+            this.peakAllocationPercent = peakAllocationPercent;
+            this.overAllocatedDays = overAllocatedDays;
+            this.benchDays = benchDays;
+        }
+
+        // Getters
+        public Long getEmployeeId() {
+            return employeeId;
+        }
+
+        public boolean isBillable() {
+            return billable;
+        }
+
+        public double getUtilizationPercent() {
+            return utilizationPercent;
+        }
+
+        public double getPeakAllocationPercent() {
+            return peakAllocationPercent;
+        }
+
+        public int getOverAllocatedDays() {
+            return overAllocatedDays;
+        }
+
+        public int getBenchDays() {
+            return benchDays;
+        }
+    }
+}
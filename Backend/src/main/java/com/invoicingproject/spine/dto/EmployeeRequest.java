@@ -1,5 +1,6 @@
 package com.invoicingproject.spine.dto;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -22,6 +23,8 @@ public class EmployeeRequest {
     // Multiple projects support
     private List<Long> projectIds;
     private List<String> projectNames;
+    // Optional, aligned with projectIds/projectNames; 100% is split evenly when omitted
+    private List<BigDecimal> allocationPercentages;
 
     public EmployeeRequest() {
     }
@@ -124,4 +127,12 @@ public class EmployeeRequest {
     public void setProjectNames(List<String> projectNames) {
         this.projectNames = projectNames;
     }
+
+    public List<BigDecimal> getAllocationPercentages() {
+        return allocationPercentages;
+    }
+
+    public void setAllocationPercentages(List<BigDecimal> allocationPercentages) {
+        this.allocationPercentages = allocationPercentages;
+    }
 }
@@ -17,12 +17,16 @@ public class EmployeeResponse {
     private String billingType;
     private LocalDate startDate;
     private String tenure;
+    private Integer tenureDays;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
     // Multiple projects support
     private List<String> projects;
     private List<Long> projectIds;
+    // Assignments that have not ended; an edit replaces these and keeps the rest
+    private List<String> currentProjects;
+    private List<Long> currentProjectIds;
 
     public EmployeeResponse() {
     }
@@ -129,6 +133,14 @@ public class EmployeeResponse {
         this.tenure = tenure;
     }
 
+    public Integer getTenureDays() {
+        return tenureDays;
+    }
+
+    public void setTenureDays(Integer tenureDays) {
+        this.tenureDays = tenureDays;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -160,4 +172,20 @@ public class EmployeeResponse {
     public void setProjectIds(List<Long> projectIds) {
         this.projectIds = projectIds;
     }
+
+    public List<String> getCurrentProjects() {
+        return currentProjects;
+    }
+
+    public void setCurrentProjects(List<String> currentProjects) {
+        this.currentProjects = currentProjects;
+    }
+
+    public List<Long> getCurrentProjectIds() {
+        return currentProjectIds;
+    }
+
+    public void setCurrentProjectIds(List<Long> currentProjectIds) {
+        this.currentProjectIds = currentProjectIds;
+    }
 }
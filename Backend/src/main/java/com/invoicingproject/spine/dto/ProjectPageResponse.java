@@ -0,0 +1,45 @@
+package com.invoicingproject.spine.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProjectPageResponse {
+
+    private List<ProjectResponse> projects = new ArrayList<>();
+    private String nextCursor; // null when there are no more pages
+    private Long totalCount; // only populated in count-only mode
+
+    public ProjectPageResponse() {
+    }
+
+    public ProjectPageResponse(List<ProjectResponse> projects, String nextCursor, Long totalCount) {
+        this.projects = projects;
+        this.nextCursor = nextCursor;
+        this.totalCount = totalCount;
+    }
+
+    // Getters and Setters
+    public List<ProjectResponse> getProjects() {
+        return projects;
+    }
+
+    public void setProjects(List<ProjectResponse> projects) {
+        this.projects = projects;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Long getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(Long totalCount) {
+        this.totalCount = totalCount;
+    }
+}
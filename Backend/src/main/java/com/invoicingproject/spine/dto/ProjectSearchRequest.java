@@ -0,0 +1,148 @@
+package com.invoicingproject.spine.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Query parameters for GET /api/projects/search.
+ * All filters are optional; pagination is keyset-based on (created_at, id).
+ */
+public class ProjectSearchRequest {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private String status;
+    private String projectType; // "Contingency" or "FTE"
+    private String department;
+    private Long categoryId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDateFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDateTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDateFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDateTo;
+
+    private String sortDirection = "desc"; // "asc" or "desc" on created_at
+    private String cursor; // opaque value returned as nextCursor by the previous page
+    private Integer limit;
+    private boolean countOnly;
+
+    public ProjectSearchRequest() {
+    }
+
+    public boolean isAscending() {
+        return "asc".equalsIgnoreCase(sortDirection);
+    }
+
+    public int getEffectiveLimit() {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    // Getters and Setters
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getProjectType() {
+        return projectType;
+    }
+
+    public void setProjectType(String projectType) {
+        this.projectType = projectType;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public LocalDate getStartDateFrom() {
+        return startDateFrom;
+    }
+
+    public void setStartDateFrom(LocalDate startDateFrom) {
+        this.startDateFrom = startDateFrom;
+    }
+
+    public LocalDate getStartDateTo() {
+        return startDateTo;
+    }
+
+    public void setStartDateTo(LocalDate startDateTo) {
+        this.startDateTo = startDateTo;
+    }
+
+    public LocalDate getEndDateFrom() {
+        return endDateFrom;
+    }
+
+    public void setEndDateFrom(LocalDate endDateFrom) {
+        this.endDateFrom = endDateFrom;
+    }
+
+    public LocalDate getEndDateTo() {
+        return endDateTo;
+    }
+
+    public void setEndDateTo(LocalDate endDateTo) {
+        this.endDateTo = endDateTo;
+    }
+
+    public String getSortDirection() {
+        return sortDirection;
+    }
+
+    public void setSortDirection(String sortDirection) {
+        this.sortDirection = sortDirection;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public boolean isCountOnly() {
+        return countOnly;
+    }
+
+    public void setCountOnly(boolean countOnly) {
+        this.countOnly = countOnly;
+    }
+}
@@ -0,0 +1,60 @@
+package com.invoicingproject.spine.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Everything the dashboard needs when a project is opened, returned by
+ * GET /api/projects/{id}/summary.
+ */
+public class ProjectSummaryResponse {
+
+    private ProjectResponse project;
+    private int headcount; // distinct employees with an active assignment
+    private BigDecimal billableFte = BigDecimal.ZERO; // sum of allocation_percentage / 100 for billable employees
+    private int invoiceCount;
+    private BigDecimal invoiceTotalAmount = BigDecimal.ZERO;
+
+    public ProjectSummaryResponse() {
+    }
+
+    // Getters and Setters
+    public ProjectResponse getProject() {
+        return project;
+    }
+
+    public void setProject(ProjectResponse project) {
+        this.project = project;
+    }
+
+    public int getHeadcount() {
+        return headcount;
+    }
+
+    public void setHeadcount(int headcount) {
+        this.headcount = headcount;
+    }
+
+    public BigDecimal getBillableFte() {
+        return billableFte;
+    }
+
+    public void setBillableFte(BigDecimal billableFte) {
+        this.billableFte = billableFte;
+    }
+
+    public int getInvoiceCount() {
+        return invoiceCount;
+    }
+
+    public void setInvoiceCount(int invoiceCount) {
+        this.invoiceCount = invoiceCount;
+    }
+
+    public BigDecimal getInvoiceTotalAmount() {
+        return invoiceTotalAmount;
+    }
+
+    public void setInvoiceTotalAmount(BigDecimal invoiceTotalAmount) {
+        this.invoiceTotalAmount = invoiceTotalAmount;
+    }
+}
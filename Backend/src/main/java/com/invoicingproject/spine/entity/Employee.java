@@ -10,6 +10,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import jakarta.persistence.Index;
 import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -19,7 +20,11 @@ import jakarta.persistence.CascadeType;
 import jakarta.persistence.FetchType;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_project_emp_id", columnList = "project, emp_id"),
+        @Index(name = "idx_employees_role_emp_id", columnList = "employee_role, emp_id"),
+        @Index(name = "idx_employees_tenure_days_emp_id", columnList = "tenure_days DESC, emp_id")
+})
 public class Employee {
 
     @Id
@@ -57,6 +62,10 @@ public class Employee {
     @Column(name = "tenure")
     private String tenure;
 
+    // Days since start_date, materialized nightly for SQL sorting/filtering
+    @Column(name = "tenure_days")
+    private Integer tenureDays;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -163,14 +172,22 @@ public class Employee {
     }
 
     public String getTenure() {
+        // Stored value is written on save and refreshed by TenureMaterializationService
         if (tenure != null && !tenure.isEmpty()) {
             return tenure;
         }
+        return formatTenure(startDate, LocalDate.now());
+    }
+
+    /**
+     * Human-readable tenure, e.g. "2 years 3 months 4 days". Mirrors the SQL used by
+     * EmployeeRepository.materializeTenure so stored and computed values agree.
+     */
+    public static String formatTenure(LocalDate startDate, LocalDate today) {
         if (startDate == null) {
             return "N/A";
         }
 
-        LocalDate today = LocalDate.now();
         Period period = Period.between(startDate, today);
 
         int years = period.getYears();
@@ -205,6 +222,14 @@ public class Employee {
         this.tenure = tenure;
     }
 
+    public Integer getTenureDays() {
+        return tenureDays;
+    }
+
+    public void setTenureDays(Integer tenureDays) {
+        this.tenureDays = tenureDays;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
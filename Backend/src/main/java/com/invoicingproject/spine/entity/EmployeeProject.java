@@ -7,6 +7,8 @@ import lombok.Builder;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import jakarta.persistence.Index;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -15,7 +17,13 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.JoinColumn;
 
 @Entity
-@Table(name = "employee_projects")
+@Table(name = "employee_projects", uniqueConstraints = {
+        @UniqueConstraint(name = "unique_employee_project_start", columnNames = { "employee_id", "project_id",
+                "start_date" })
+}, indexes = {
+        @Index(name = "idx_ep_employee_primary", columnList = "employee_id, is_primary DESC, id"),
+        @Index(name = "idx_ep_project_active", columnList = "project_id, end_date, employee_id, allocation_percentage")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
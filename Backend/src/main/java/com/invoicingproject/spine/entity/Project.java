@@ -7,7 +7,15 @@ import java.time.LocalDateTime;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = {
+        @Index(name = "idx_project_name", columnList = "project_name"),
+        @Index(name = "idx_project_created_keyset", columnList = "created_at, id"),
+        @Index(name = "idx_project_status_created", columnList = "status, created_at, id"),
+        @Index(name = "idx_project_type_created", columnList = "project_type, created_at, id"),
+        @Index(name = "idx_project_department_created", columnList = "department, created_at, id"),
+        @Index(name = "idx_project_category_created", columnList = "category_id, created_at, id"),
+        @Index(name = "idx_project_type_status_created", columnList = "project_type, status, created_at, id")
+})
 public class Project {
 
     @Id
@@ -0,0 +1,50 @@
+package com.invoicingproject.spine.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Single-row change counter for finance_roles, permissions and role_permissions
+ * (id is always 1). Bumped by triggers (V14) and by the application's own RBAC writes.
+ */
+@Entity
+@Table(name = "rbac_version")
+public class RbacVersion {
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public RbacVersion() {
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_department_username", columnList = "department, username"),
+        @Index(name = "idx_users_location_username", columnList = "location, username"),
+        @Index(name = "idx_users_role_username", columnList = "role_id, username")
+})
 public class User {
 
     @Id
@@ -29,7 +33,7 @@ public class User {
     @Column(name = "department")
     private String department;
 
-    @Column(name = "employee_number")
+    @Column(name = "employee_number", unique = true)
     private String employeeNumber;
 
     @Column(name = "role_id")
@@ -0,0 +1,37 @@
+package com.invoicingproject.spine.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one controller handler, from HandlerEventInterceptor's preHandle to
+ * afterCompletion (response body written). Repository, JWT and hashing events on the same
+ * thread inside this window belong to the request.
+ */
+@Name("spine.ControllerHandler")
+@Label("Controller Handler")
+@Category({ "Spine", "Web" })
+@StackTrace(false)
+public class ControllerEvent extends Event {
+
+    @Label("Handler")
+    @Description("Controller class and method")
+    public String handler;
+
+    @Label("HTTP Method")
+    public String httpMethod;
+
+    @Label("URI Pattern")
+    public String uri;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Exception")
+    @Description("Simple name of an exception that escaped the handler, if any")
+    public String exception;
+}
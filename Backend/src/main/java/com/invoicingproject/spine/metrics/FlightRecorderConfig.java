@@ -0,0 +1,27 @@
+package com.invoicingproject.spine.metrics;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Java Flight Recorder events for attributing request latency: spine.ControllerHandler,
+ * spine.RepositoryCall, spine.Jwt and spine.PasswordHash. They are registered with the JVM
+ * on first use and cost an isEnabled check until a recording runs, so they stay on in
+ * production. On a live node:
+ *
+ *   jcmd <pid> JFR.start name=spine duration=60s filename=spine.jfr
+ *   jfr print --categories Spine spine.jfr
+ *
+ * No stack traces are captured. Repository and JWT events below 1 ms are dropped; a custom
+ * .jfc can lower a threshold, e.g. {@code <event name="spine.RepositoryCall"><setting
+ * name="threshold">0 ms</setting></event>}.
+ */
+@Configuration
+public class FlightRecorderConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerEventInterceptor());
+    }
+}
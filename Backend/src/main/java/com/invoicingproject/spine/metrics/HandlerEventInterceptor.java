@@ -0,0 +1,50 @@
+package com.invoicingproject.spine.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Emits a ControllerEvent per handled request. With no recording running the event is
+ * never begun, so the cost is one isEnabled check.
+ */
+public class HandlerEventInterceptor implements HandlerInterceptor {
+
+    private static final String EVENT_ATTRIBUTE = HandlerEventInterceptor.class.getName() + ".event";
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler) {
+        if (handler instanceof HandlerMethod) {
+            ControllerEvent event = new ControllerEvent();
+            if (event.isEnabled()) {
+                event.begin();
+                request.setAttribute(EVENT_ATTRIBUTE, event);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler, Exception ex) {
+        if (!(request.getAttribute(EVENT_ATTRIBUTE) instanceof ControllerEvent event)) {
+            return;
+        }
+        request.removeAttribute(EVENT_ATTRIBUTE);
+        event.end();
+        if (event.shouldCommit()) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            event.handler = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+            event.httpMethod = request.getMethod();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            event.uri = pattern != null ? pattern.toString() : request.getRequestURI();
+            event.status = response.getStatus();
+            event.exception = ex != null ? ex.getClass().getSimpleName() : null;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.invoicingproject.spine.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for signing or verifying a token in JwtService. Both normally take tens of
+ * microseconds, so only the slow ones are recorded.
+ */
+@Name("spine.Jwt")
+@Label("JWT Sign/Parse")
+@Category({ "Spine", "Security" })
+@StackTrace(false)
+@Threshold("1 ms")
+public class JwtEvent extends Event {
+
+    public static final String SIGN = "sign";
+    public static final String PARSE = "parse";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
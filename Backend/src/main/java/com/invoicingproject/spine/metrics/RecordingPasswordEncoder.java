@@ -0,0 +1,47 @@
+package com.invoicingproject.spine.metrics;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Emits a PasswordHashEvent around each encode and match of the wrapped encoder.
+ */
+public class RecordingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    public RecordingPasswordEncoder(PasswordEncoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        String encoded = delegate.encode(rawPassword);
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = PasswordHashEvent.ENCODE;
+            event.commit();
+        }
+        return encoded;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        boolean matched = delegate.matches(rawPassword, encodedPassword);
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = PasswordHashEvent.MATCHES;
+            event.matched = matched;
+            event.commit();
+        }
+        return matched;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,44 @@
+package com.invoicingproject.spine.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for one public @Repository method call, emitted by RepositoryMetricsAspect.
+ * The SQL shapes come from SqlCountingDataSource, so they are empty when
+ * sql.counting.enabled=false.
+ */
+@Name("spine.RepositoryCall")
+@Label("Repository Call")
+@Category({ "Spine", "Database" })
+@Description("A repository method call with the SQL it issued")
+@StackTrace(false)
+@Threshold("1 ms")
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("SQL")
+    @Description("Normalized shapes of the statements issued, separated by '; '")
+    public String sql;
+
+    @Label("Statements")
+    public int statements;
+
+    @Label("Rows")
+    @Description("Collection size for reads, int result or batch counts for writes; -1 otherwise")
+    public long rows;
+
+    @Label("Outcome")
+    @Description("success, or the simple name of the exception thrown")
+    public String outcome;
+}
@@ -0,0 +1,112 @@
+package com.invoicingproject.spine.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every public method of every @Repository bean as spine.repository, tagged with
+ * the repository class, method and outcome (success / the exception's simple name).
+ * Calls a repository makes to its own methods are not proxied, so only the outermost
+ * call is timed. The success timer is looked up once per method; failures go through
+ * the registry.
+ *
+ * While a flight recording has spine.RepositoryCall enabled, each call is also emitted as a
+ * RepositoryCallEvent carrying the SQL shapes it issued and the rows it returned; the
+ * statement capture is skipped entirely otherwise.
+ */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    static final String METRIC_NAME = "spine.repository";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@within(org.springframework.stereotype.Repository) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        boolean recording = event.isEnabled();
+        SqlStatementStats outer = null;
+        if (recording) {
+            outer = SqlStatementCounter.begin();
+            event.begin();
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object result = null;
+        String outcome = "success";
+        try {
+            result = joinPoint.proceed();
+            sample.stop(successTimers.computeIfAbsent(method, m -> timer(m, "success")));
+            return result;
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            sample.stop(timer(method, outcome));
+            throw e;
+        } finally {
+            if (recording) {
+                commit(event, method, SqlStatementCounter.end(outer), result, outcome);
+            }
+        }
+    }
+
+    private static void commit(RepositoryCallEvent event, Method method, SqlStatementStats stats, Object result,
+            String outcome) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.repository = method.getDeclaringClass().getSimpleName();
+            event.method = method.getName();
+            event.statements = stats.getCount();
+            event.sql = String.join("; ", stats.countsByShape().keySet());
+            event.rows = rows(result);
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    // Collection/map sizes for reads, update counts for writes
+    static long rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof int[] counts) {
+            return Arrays.stream(counts).filter(n -> n > 0).asLongStream().sum();
+        }
+        if (result instanceof Integer count) {
+            return count;
+        }
+        return -1;
+    }
+
+    private Timer timer(Method method, String outcome) {
+        return Timer.builder(METRIC_NAME)
+                .description("Repository method latency")
+                .tag("repository", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,48 @@
+package com.invoicingproject.spine.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request SQL statement counting (see SqlCountingFilter). On by default; set
+ * sql.counting.enabled=false to leave the DataSource unwrapped.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.counting.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlCountingConfig {
+
+    // Static so the post-processor is registered without instantiating this configuration early.
+    // Lowest precedence: other post-processors (e.g. the prod pool sizer) still see the Hikari pool.
+    @Bean
+    public static BeanPostProcessor sqlCountingDataSourceWrapper() {
+        return new DataSourceWrapper();
+    }
+
+    @Bean
+    public SqlCountingFilter sqlCountingFilter(MeterRegistry meterRegistry,
+            @Value("${sql.request.warn-threshold:20}") int warnThreshold) {
+        return new SqlCountingFilter(meterRegistry, warnThreshold);
+    }
+
+    private static final class DataSourceWrapper implements BeanPostProcessor, Ordered {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof SqlCountingDataSource)) {
+                return new SqlCountingDataSource(dataSource);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
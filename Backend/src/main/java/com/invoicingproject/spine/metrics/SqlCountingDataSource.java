@@ -0,0 +1,106 @@
+package com.invoicingproject.spine.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Reports every statement to SqlStatementCounter. Prepared and callable statements are
+ * counted when prepared (JdbcTemplate and Hibernate prepare once per execution); plain
+ * Statements, which JdbcTemplate uses for queries without arguments, are counted per
+ * execute call. Extends DelegatingDataSource so Boot's pool metrics still unwrap to Hikari.
+ * close() is forwarded because the container infers the pool's destroy method from this bean.
+ */
+public class SqlCountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    public SqlCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(SqlCountingDataSource.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "prepareStatement", "prepareCall" -> SqlStatementCounter.record((String) args[0]);
+                case "createStatement" -> {
+                    Statement statement = (Statement) SqlCountingDataSource.invoke(target, method, args);
+                    return Proxy.newProxyInstance(SqlCountingDataSource.class.getClassLoader(),
+                            new Class<?>[] { Statement.class }, new StatementHandler(statement));
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                }
+            }
+            return SqlCountingDataSource.invoke(target, method, args);
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+
+        StatementHandler(Statement target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().startsWith("execute") && args != null && args.length > 0
+                    && args[0] instanceof String sql) {
+                SqlStatementCounter.record(sql);
+            } else if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            } else if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            return SqlCountingDataSource.invoke(target, method, args);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.invoicingproject.spine.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements each HTTP request issues. The count goes out in the
+ * X-SQL-Count response header and into the spine.http.sql.statements summary (tagged by
+ * method and URI pattern); a request above sql.request.warn-threshold is logged with its
+ * most repeated statement shape, which is usually an N+1 loop in a controller.
+ *
+ * The header is written when the response starts committing, so statements issued after
+ * the body has started (rare) are only reflected in the metric and the log.
+ */
+public class SqlCountingFilter extends OncePerRequestFilter implements Ordered {
+
+    public static final String HEADER_NAME = "X-SQL-Count";
+    static final String METRIC_NAME = "spine.http.sql.statements";
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlCountingFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+
+    public SqlCountingFilter(MeterRegistry meterRegistry, int warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    // Ahead of Spring Security so statements made while authenticating are counted too
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementStats previous = SqlStatementCounter.begin();
+        CountingResponse countingResponse = new CountingResponse(response);
+        SqlStatementStats stats;
+        try {
+            filterChain.doFilter(request, countingResponse);
+        } finally {
+            stats = SqlStatementCounter.end(previous);
+        }
+        if (!response.isCommitted()) {
+            countingResponse.writeHeader(stats);
+        }
+        record(request, stats);
+    }
+
+    private void record(HttpServletRequest request, SqlStatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder(METRIC_NAME)
+                .description("SQL statements issued per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getCount());
+
+        if (stats.getCount() > warnThreshold) {
+            Map.Entry<String, Integer> repeated = stats.mostRepeated();
+            logger.warn("{} {} issued {} SQL statements (threshold {}); most repeated ({}x): {}",
+                    request.getMethod(), request.getRequestURI(), stats.getCount(), warnThreshold,
+                    repeated.getValue(), repeated.getKey());
+        }
+    }
+
+    // Sets the header just before anything reaches the client
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+        private boolean headerWritten;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        void writeHeader(SqlStatementStats stats) {
+            if (!headerWritten && stats != null) {
+                headerWritten = true;
+                setHeader(HEADER_NAME, Integer.toString(stats.getCount()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader(SqlStatementCounter.current());
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader(SqlStatementCounter.current());
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader(SqlStatementCounter.current());
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader(SqlStatementCounter.current());
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader(SqlStatementCounter.current());
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeader(SqlStatementCounter.current());
+            super.sendRedirect(location);
+        }
+    }
+}
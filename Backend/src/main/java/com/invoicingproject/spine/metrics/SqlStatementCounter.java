@@ -0,0 +1,46 @@
+package com.invoicingproject.spine.metrics;
+
+/**
+ * Thread-bound statement counting. SqlCountingDataSource calls record for every statement;
+ * it only counts while a unit of work is open on the thread (SqlCountingFilter opens one
+ * per HTTP request), so scheduled jobs and startup work cost a single ThreadLocal read.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    // Start counting on this thread; returns the previous stats so nested units can restore them
+    public static SqlStatementStats begin() {
+        SqlStatementStats previous = CURRENT.get();
+        CURRENT.set(new SqlStatementStats());
+        return previous;
+    }
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    // Stop counting and hand back what was recorded; a nested unit's statements also count toward the outer one
+    public static SqlStatementStats end(SqlStatementStats previous) {
+        SqlStatementStats stats = CURRENT.get();
+        if (previous != null) {
+            if (stats != null) {
+                previous.addAll(stats);
+            }
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+        return stats;
+    }
+
+    static void record(String sql) {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null && sql != null) {
+            stats.record(sql);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.invoicingproject.spine.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Statements issued while one unit of work (an HTTP request, or a test capture) was
+ * active on the current thread. Counting is keyed by the raw SQL string, which is cheap
+ * because repositories pass the same string constants; the SQL is only normalized to a
+ * shape when a report is built.
+ */
+public class SqlStatementStats {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+
+    private final Map<String, Integer> countsBySql = new HashMap<>();
+    private int count;
+
+    void record(String sql) {
+        count++;
+        countsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    void addAll(SqlStatementStats other) {
+        count += other.count;
+        other.countsBySql.forEach((sql, n) -> countsBySql.merge(sql, n, Integer::sum));
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    // Counts per normalized shape, so "IN (?, ?)" and "IN (?, ?, ?)" or differing literals group together
+    public Map<String, Integer> countsByShape() {
+        Map<String, Integer> shapes = new HashMap<>();
+        countsBySql.forEach((sql, n) -> shapes.merge(shapeOf(sql), n, Integer::sum));
+        return shapes;
+    }
+
+    // The most frequently issued shape, or null when nothing was recorded
+    public Map.Entry<String, Integer> mostRepeated() {
+        Map.Entry<String, Integer> top = null;
+        for (Map.Entry<String, Integer> entry : countsByShape().entrySet()) {
+            if (top == null || entry.getValue() > top.getValue()) {
+                top = entry;
+            }
+        }
+        return top;
+    }
+
+    public static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PLACEHOLDER_LIST.matcher(shape).replaceAll("?...");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
@@ -7,8 +7,11 @@ import org.springframework.jdbc.core.RowMapper;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 @Repository
@@ -107,6 +110,25 @@ public class EmployeeProjectRepository {
         return employeeProject;
     }
 
+    // Insert a whole assignment set in one batch (a single multi-row INSERT with
+    // rewriteBatchedStatements); generated ids are not read back
+    public void insertAll(List<EmployeeProject> employeeProjects) {
+        if (employeeProjects.isEmpty()) {
+            return;
+        }
+        java.sql.Timestamp now = new java.sql.Timestamp(System.currentTimeMillis());
+        String sql = "INSERT INTO employee_projects (employee_id, project_id, allocation_percentage, start_date, end_date, is_primary, created_at, updated_at) "
+                +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> rows = new ArrayList<>();
+        for (EmployeeProject ep : employeeProjects) {
+            rows.add(new Object[] { ep.getEmployeeId(), ep.getProjectId(), ep.getAllocationPercentage(),
+                    ep.getStartDate(), ep.getEndDate(), ep.getIsPrimary(), now, now });
+            ep.setUpdatedAt(now);
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+    }
+
     public boolean deleteById(Long id) {
         String sql = "DELETE FROM employee_projects WHERE id = ?";
         int rowsAffected = jdbcTemplate.update(sql, id);
@@ -119,12 +141,74 @@ public class EmployeeProjectRepository {
         return rowsAffected > 0;
     }
 
+    // Update allocation, end date and primary flag in one batch. Rows are matched on
+    // (employee_id, project_id, start_date), which is unique, since rows written in a
+    // batch have no id; <=> also matches a NULL start_date
+    public void updateAll(List<EmployeeProject> employeeProjects) {
+        if (employeeProjects.isEmpty()) {
+            return;
+        }
+        java.sql.Timestamp now = new java.sql.Timestamp(System.currentTimeMillis());
+        String sql = "UPDATE employee_projects SET allocation_percentage = ?, end_date = ?, is_primary = ?, updated_at = ? "
+                + "WHERE employee_id = ? AND project_id = ? AND start_date <=> ?";
+        List<Object[]> rows = new ArrayList<>();
+        for (EmployeeProject ep : employeeProjects) {
+            rows.add(new Object[] { ep.getAllocationPercentage(), ep.getEndDate(), ep.getIsPrimary(), now,
+                    ep.getEmployeeId(), ep.getProjectId(), ep.getStartDate() });
+            ep.setUpdatedAt(now);
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+    }
+
+    // Delete in one batch, matched like updateAll
+    public void deleteAll(List<EmployeeProject> employeeProjects) {
+        if (employeeProjects.isEmpty()) {
+            return;
+        }
+        String sql = "DELETE FROM employee_projects WHERE employee_id = ? AND project_id = ? AND start_date <=> ?";
+        List<Object[]> rows = new ArrayList<>();
+        for (EmployeeProject ep : employeeProjects) {
+            rows.add(new Object[] { ep.getEmployeeId(), ep.getProjectId(), ep.getStartDate() });
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+    }
+
     public boolean deleteByEmployeeAndProject(Long employeeId, Long projectId) {
         String sql = "DELETE FROM employee_projects WHERE employee_id = ? AND project_id = ?";
         int rowsAffected = jdbcTemplate.update(sql, employeeId, projectId);
         return rowsAffected > 0;
     }
 
+    /**
+     * Streams employees.billable_status (ordered by id) and then every employee_projects
+     * row to the handler, without building entities. The caller decides what to build.
+     */
+    public void streamAllocations(AllocationRowHandler handler) {
+        jdbcTemplate.query("SELECT id, billable_status FROM employees ORDER BY id", rs -> {
+            handler.employee(rs.getLong("id"), rs.getBoolean("billable_status"));
+        });
+        String sql = "SELECT employee_id, project_id, allocation_percentage, start_date, end_date, is_primary " +
+                "FROM employee_projects";
+        jdbcTemplate.query(sql, rs -> {
+            java.sql.Date startDate = rs.getDate("start_date");
+            java.sql.Date endDate = rs.getDate("end_date");
+            handler.assignment(
+                    rs.getLong("employee_id"),
+                    rs.getLong("project_id"),
+                    rs.getBigDecimal("allocation_percentage"),
+                    startDate != null ? startDate.toLocalDate() : null,
+                    endDate != null ? endDate.toLocalDate() : null,
+                    rs.getBoolean("is_primary"));
+        });
+    }
+
+    public interface AllocationRowHandler {
+        void employee(long employeeId, boolean billable);
+
+        void assignment(long employeeId, long projectId, BigDecimal allocationPercentage,
+                        LocalDate startDate, LocalDate endDate, boolean primary);
+    }
+
     public int count() {
         String sql = "SELECT COUNT(*) FROM employee_projects";
         Integer count = jdbcTemplate.queryForObject(sql, Integer.class);
@@ -9,7 +9,9 @@ import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,6 +42,8 @@ public class EmployeeRepository {
             }
 
             employee.setTenure(rs.getString("tenure"));
+            int tenureDays = rs.getInt("tenure_days");
+            employee.setTenureDays(rs.wasNull() ? null : tenureDays);
 
             // Handle timestamps
             java.sql.Timestamp createdAt = rs.getTimestamp("created_at");
@@ -105,11 +109,19 @@ public class EmployeeRepository {
         LocalDateTime now = LocalDateTime.now();
         employee.setUpdatedAt(now);
 
+        // Tenure is stored with the row so reads never do date arithmetic
+        LocalDate today = now.toLocalDate();
+        employee.setTenure(employee.getStartDate() != null ? Employee.formatTenure(employee.getStartDate(), today)
+                : null);
+        employee.setTenureDays(employee.getStartDate() != null
+                ? (int) Math.max(0, ChronoUnit.DAYS.between(employee.getStartDate(), today))
+                : null);
+
         if (employee.getId() == null) {
             // Insert
-            String sql = "INSERT INTO employees (emp_id, name, project, agency, project_type, employee_role, billable_status, billing_type, start_date, tenure, created_at, updated_at) "
+            String sql = "INSERT INTO employees (emp_id, name, project, agency, project_type, employee_role, billable_status, billing_type, start_date, tenure, tenure_days, created_at, updated_at) "
                     +
-                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
             employee.setCreatedAt(now);
 
             jdbcTemplate.update(sql,
@@ -123,6 +135,7 @@ public class EmployeeRepository {
                     employee.getBillingType(),
                     employee.getStartDate() != null ? java.sql.Date.valueOf(employee.getStartDate()) : null,
                     employee.getTenure(),
+                    employee.getTenureDays(),
                     employee.getCreatedAt(),
                     employee.getUpdatedAt());
 
@@ -131,7 +144,7 @@ public class EmployeeRepository {
             employee.setId(id);
         } else {
             // Update
-            String sql = "UPDATE employees SET emp_id = ?, name = ?, project = ?, agency = ?, project_type = ?, employee_role = ?, billable_status = ?, billing_type = ?, start_date = ?, tenure = ?, updated_at = ? WHERE id = ?";
+            String sql = "UPDATE employees SET emp_id = ?, name = ?, project = ?, agency = ?, project_type = ?, employee_role = ?, billable_status = ?, billing_type = ?, start_date = ?, tenure = ?, tenure_days = ?, updated_at = ? WHERE id = ?";
             jdbcTemplate.update(sql,
                     employee.getEmpId(),
                     employee.getName(),
@@ -143,6 +156,7 @@ public class EmployeeRepository {
                     employee.getBillingType(),
                     employee.getStartDate() != null ? java.sql.Date.valueOf(employee.getStartDate()) : null,
                     employee.getTenure(),
+                    employee.getTenureDays(),
                     employee.getUpdatedAt(),
                     employee.getId());
         }
@@ -161,6 +175,38 @@ public class EmployeeRepository {
         return count != null ? count : 0;
     }
 
+    // Employees whose tenure falls in [minDays, maxDays], longest-serving first
+    public List<Employee> findByTenureDaysBetween(int minDays, int maxDays) {
+        String sql = "SELECT * FROM employees WHERE tenure_days BETWEEN ? AND ? ORDER BY tenure_days DESC, emp_id ASC";
+        return jdbcTemplate.query(sql, employeeRowMapper, minDays, maxDays);
+    }
+
+    /**
+     * Recompute tenure and tenure_days for every employee with a start date in a single
+     * UPDATE. The tenure text matches Employee.formatTenure ("1 year 2 months 3 days").
+     * updated_at is assigned to itself so ON UPDATE CURRENT_TIMESTAMP does not fire.
+     *
+     * @return Number of employees updated
+     */
+    public int materializeTenure() {
+        String months = "TIMESTAMPDIFF(MONTH, start_date, CURDATE())";
+        String years = "(" + months + " DIV 12)";
+        String remMonths = "(" + months + " % 12)";
+        String days = "DATEDIFF(CURDATE(), DATE_ADD(start_date, INTERVAL " + months + " MONTH))";
+        String sql = "UPDATE employees SET " +
+                "tenure_days = GREATEST(0, DATEDIFF(CURDATE(), start_date)), " +
+                "tenure = COALESCE(NULLIF(CONCAT_WS(' ', " +
+                "IF(" + years + " > 0, CONCAT(" + years + ", ' year', IF(" + years + " <> 1, 's', '')), NULL), " +
+                "IF(" + remMonths + " > 0, CONCAT(" + remMonths + ", ' month', IF(" + remMonths
+                + " <> 1, 's', '')), NULL), " +
+                "IF(" + months + " >= 0 AND " + days + " > 0, CONCAT(" + days + ", ' day', IF(" + days
+                + " <> 1, 's', '')), NULL)" +
+                "), ''), '0 days'), " +
+                "updated_at = updated_at " +
+                "WHERE start_date IS NOT NULL";
+        return jdbcTemplate.update(sql);
+    }
+
     /**
      * Update employee_role for all employees that have the old role name.
      * This is used when a role name is updated to automatically sync employee
@@ -20,6 +20,9 @@ public class FinanceRoleRepository {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private RbacVersionRepository rbacVersionRepository;
+
     private final @NonNull RowMapper<FinanceRole> roleRowMapper = new RowMapper<FinanceRole>() {
         @Override
         public FinanceRole mapRow(@NonNull ResultSet rs, int rowNum) throws SQLException {
@@ -104,6 +107,7 @@ public class FinanceRoleRepository {
         String idSql = "SELECT LAST_INSERT_ID()";
         Long id = jdbcTemplate.queryForObject(idSql, Long.class);
         role.setId(id);
+        rbacVersionRepository.bump();
 
         return role;
     }
@@ -145,6 +149,9 @@ public class FinanceRoleRepository {
         try {
             String sql = "UPDATE finance_roles SET is_active = false, updated_at = NOW() WHERE id = ?";
             int rowsAffected = jdbcTemplate.update(sql, roleId);
+            if (rowsAffected > 0) {
+                rbacVersionRepository.bump();
+            }
             return rowsAffected > 0;
         } catch (Exception e) {
             return false;
@@ -156,6 +163,9 @@ public class FinanceRoleRepository {
         try {
             String sql = "UPDATE finance_roles SET is_active = true, updated_at = NOW() WHERE id = ?";
             int rowsAffected = jdbcTemplate.update(sql, roleId);
+            if (rowsAffected > 0) {
+                rbacVersionRepository.bump();
+            }
             return rowsAffected > 0;
         } catch (Exception e) {
             return false;
@@ -9,8 +9,10 @@ import org.springframework.stereotype.Repository;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -159,6 +161,22 @@ public class PermissionRepository {
         }
     }
 
+    /**
+     * Active permission names for every role in one pass. Unlike the per-role lookups this
+     * does not swallow errors, so a failed policy reload keeps the previous policy.
+     */
+    public Map<Long, Set<String>> findPermissionNamesByRole() {
+        String sql = "SELECT rp.role_id, p.permission_name FROM role_permissions rp " +
+                "INNER JOIN permissions p ON p.id = rp.permission_id " +
+                "WHERE p.is_active = true";
+        Map<Long, Set<String>> namesByRole = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            namesByRole.computeIfAbsent(rs.getLong("role_id"), id -> new HashSet<>())
+                    .add(rs.getString("permission_name"));
+        });
+        return namesByRole;
+    }
+
     // Count permissions by resource
     public List<Object[]> countByResource() {
         try {
@@ -1,15 +1,24 @@
 package com.invoicingproject.spine.repository;
 
+import com.invoicingproject.spine.dto.ProjectResponse;
+import com.invoicingproject.spine.dto.ProjectSearchRequest;
+import com.invoicingproject.spine.dto.ProjectSummaryResponse;
 import com.invoicingproject.spine.entity.Project;
+import com.invoicingproject.spine.entity.ProjectCategory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 
@@ -64,6 +73,19 @@ public class ProjectRepository {
         }
     };
 
+    // Same as projectRowMapper but also fills the category from the joined category_name column
+    private final @NonNull RowMapper<Project> projectWithCategoryRowMapper = (rs, rowNum) -> {
+        Project project = projectRowMapper.mapRow(rs, rowNum);
+        String categoryName = rs.getString("category_name");
+        if (categoryName != null) {
+            ProjectCategory category = new ProjectCategory();
+            category.setId(project.getCategoryId());
+            category.setCategoryName(categoryName);
+            project.setCategory(category);
+        }
+        return project;
+    };
+
     public List<Project> findAll() {
         String sql = "SELECT * FROM projects ORDER BY created_at DESC";
         return jdbcTemplate.query(sql, projectRowMapper);
@@ -102,6 +124,36 @@ public class ProjectRepository {
         return projects.isEmpty() ? Optional.empty() : Optional.of(projects.get(0));
     }
 
+    /**
+     * Project, category name, active headcount, billable FTE and invoice totals in a
+     * single round-trip. Assignments count as active when end_date is unset or not past.
+     */
+    public Optional<ProjectSummaryResponse> findSummaryById(Long id) {
+        String sql = "SELECT p.*, pc.category_name, " +
+                "(SELECT COUNT(DISTINCT ep.employee_id) FROM employee_projects ep " +
+                "WHERE ep.project_id = p.id AND (ep.end_date IS NULL OR ep.end_date >= CURDATE())) AS headcount, " +
+                "(SELECT COALESCE(SUM(ep.allocation_percentage), 0) / 100 FROM employee_projects ep " +
+                "INNER JOIN employees e ON e.id = ep.employee_id " +
+                "WHERE ep.project_id = p.id AND e.billable_status = TRUE " +
+                "AND (ep.end_date IS NULL OR ep.end_date >= CURDATE())) AS billable_fte, " +
+                "(SELECT COUNT(*) FROM invoices i WHERE i.project_id = p.id) AS invoice_count, " +
+                "(SELECT COALESCE(SUM(i.total_amount), 0) FROM invoices i WHERE i.project_id = p.id) AS invoice_total " +
+                "FROM projects p LEFT JOIN project_category pc ON pc.id = p.category_id " +
+                "WHERE p.id = ?";
+        List<ProjectSummaryResponse> summaries = jdbcTemplate.query(sql, (rs, rowNum) -> {
+            ProjectSummaryResponse summary = new ProjectSummaryResponse();
+            summary.setProject(ProjectResponse.fromProject(projectWithCategoryRowMapper.mapRow(rs, rowNum)));
+            summary.setHeadcount(rs.getInt("headcount"));
+            BigDecimal billableFte = rs.getBigDecimal("billable_fte");
+            summary.setBillableFte(billableFte != null ? billableFte : BigDecimal.ZERO);
+            summary.setInvoiceCount(rs.getInt("invoice_count"));
+            BigDecimal invoiceTotal = rs.getBigDecimal("invoice_total");
+            summary.setInvoiceTotalAmount(invoiceTotal != null ? invoiceTotal : BigDecimal.ZERO);
+            return summary;
+        }, id);
+        return summaries.isEmpty() ? Optional.empty() : Optional.of(summaries.get(0));
+    }
+
     // Check if project exists by ID - optimized with LIMIT 1
     public boolean existsById(Long id) {
         String sql = "SELECT 1 FROM projects WHERE id = ? LIMIT 1";
@@ -181,6 +233,104 @@ public class ProjectRepository {
         return rowsAffected > 0;
     }
 
+    /**
+     * Filtered, keyset-paginated project listing ordered by (created_at, id).
+     * Fetches one row beyond the limit so the caller can tell whether another page exists.
+     */
+    public List<Project> search(ProjectSearchRequest request) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(
+                "SELECT p.*, pc.category_name FROM projects p " +
+                        "LEFT JOIN project_category pc ON pc.id = p.category_id");
+        appendFilters(sql, params, request);
+
+        if (request.getCursor() != null && !request.getCursor().isEmpty()) {
+            Object[] cursor = decodeCursor(request.getCursor());
+            String op = request.isAscending() ? ">" : "<";
+            sql.append(params.isEmpty() ? " WHERE " : " AND ");
+            sql.append("(p.created_at ").append(op).append(" ? OR (p.created_at = ? AND p.id ").append(op)
+                    .append(" ?))");
+            params.add(cursor[0]);
+            params.add(cursor[0]);
+            params.add(cursor[1]);
+        }
+
+        String direction = request.isAscending() ? "ASC" : "DESC";
+        sql.append(" ORDER BY p.created_at ").append(direction).append(", p.id ").append(direction);
+        sql.append(" LIMIT ?");
+        params.add(request.getEffectiveLimit() + 1);
+
+        return jdbcTemplate.query(sql.toString(), projectWithCategoryRowMapper, params.toArray());
+    }
+
+    // Count of projects matching the search filters (cursor and limit are ignored)
+    public long countMatching(ProjectSearchRequest request) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM projects p");
+        appendFilters(sql, params, request);
+        Long count = jdbcTemplate.queryForObject(sql.toString(), Long.class, params.toArray());
+        return count != null ? count : 0L;
+    }
+
+    private void appendFilters(StringBuilder sql, List<Object> params, ProjectSearchRequest request) {
+        List<String> conditions = new ArrayList<>();
+        if (request.getStatus() != null && !request.getStatus().isEmpty()) {
+            conditions.add("p.status = ?");
+            params.add(request.getStatus());
+        }
+        if (request.getProjectType() != null && !request.getProjectType().isEmpty()) {
+            conditions.add("p.project_type = ?");
+            params.add(request.getProjectType());
+        }
+        if (request.getDepartment() != null && !request.getDepartment().isEmpty()) {
+            conditions.add("p.department = ?");
+            params.add(request.getDepartment());
+        }
+        if (request.getCategoryId() != null) {
+            conditions.add("p.category_id = ?");
+            params.add(request.getCategoryId());
+        }
+        if (request.getStartDateFrom() != null) {
+            conditions.add("p.start_date >= ?");
+            params.add(java.sql.Date.valueOf(request.getStartDateFrom()));
+        }
+        if (request.getStartDateTo() != null) {
+            conditions.add("p.start_date <= ?");
+            params.add(java.sql.Date.valueOf(request.getStartDateTo()));
+        }
+        if (request.getEndDateFrom() != null) {
+            conditions.add("p.end_date >= ?");
+            params.add(java.sql.Date.valueOf(request.getEndDateFrom()));
+        }
+        if (request.getEndDateTo() != null) {
+            conditions.add("p.end_date <= ?");
+            params.add(java.sql.Date.valueOf(request.getEndDateTo()));
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+    }
+
+    // Cursor is "<created_at ISO-8601>,<id>" encoded as URL-safe base64. created_at is
+    // DATETIME(6), so it keeps the microseconds; a millisecond cursor would skip or repeat
+    // rows created within the same millisecond
+    public static String encodeCursor(Project project) {
+        String raw = project.getCreatedAt() + "," + project.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Object[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(',');
+            Timestamp createdAt = Timestamp.valueOf(LocalDateTime.parse(raw.substring(0, sep)));
+            Long id = Long.parseLong(raw.substring(sep + 1));
+            return new Object[] { createdAt, id };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
     public int countByStatus(String status) {
         String sql = "SELECT COUNT(*) FROM projects WHERE status = ?";
         Integer count = jdbcTemplate.queryForObject(sql, Integer.class, status);
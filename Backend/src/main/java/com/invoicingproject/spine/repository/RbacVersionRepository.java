@@ -0,0 +1,28 @@
+package com.invoicingproject.spine.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public class RbacVersionRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Primary-key read of the single counter row; 0 until the first change is recorded
+    public long currentVersion() {
+        String sql = "SELECT version FROM rbac_version WHERE id = 1";
+        List<Long> versions = jdbcTemplate.queryForList(sql, Long.class);
+        return versions.isEmpty() ? 0L : versions.get(0);
+    }
+
+    // Creates the row on first use, since ddl-auto creates the table without seeding it
+    public void bump() {
+        String sql = "INSERT INTO rbac_version (id, version, updated_at) VALUES (1, 1, NOW()) " +
+                "ON DUPLICATE KEY UPDATE version = version + 1, updated_at = NOW()";
+        jdbcTemplate.update(sql);
+    }
+}
@@ -0,0 +1,96 @@
+package com.invoicingproject.spine.repository;
+
+import com.invoicingproject.spine.entity.RefreshToken;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public class RefreshTokenRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final @NonNull RowMapper<RefreshToken> refreshTokenRowMapper = new RowMapper<RefreshToken>() {
+        @Override
+        public RefreshToken mapRow(@NonNull ResultSet rs, int rowNum) throws SQLException {
+            RefreshToken token = new RefreshToken();
+            token.setJti(rs.getString("jti"));
+            token.setFamilyId(rs.getString("family_id"));
+            token.setUsername(rs.getString("username"));
+            token.setExpiresAt(rs.getTimestamp("expires_at").toLocalDateTime());
+            Timestamp revokedAt = rs.getTimestamp("revoked_at");
+            token.setRevokedAt(revokedAt != null ? revokedAt.toLocalDateTime() : null);
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            token.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+            return token;
+        }
+    };
+
+    // Record a newly issued refresh token
+    public void save(RefreshToken token) {
+        token.setCreatedAt(LocalDateTime.now());
+        String sql = "INSERT INTO refresh_tokens (jti, family_id, username, expires_at, created_at) VALUES (?, ?, ?, ?, ?)";
+        jdbcTemplate.update(sql, token.getJti(), token.getFamilyId(), token.getUsername(), token.getExpiresAt(),
+                token.getCreatedAt());
+    }
+
+    /**
+     * Revoke a single token if it is still live.
+     *
+     * @return true if this call revoked it, false if it was unknown or already revoked
+     */
+    public boolean revoke(String jti) {
+        String sql = "UPDATE refresh_tokens SET revoked_at = ? WHERE jti = ? AND revoked_at IS NULL";
+        return jdbcTemplate.update(sql, LocalDateTime.now(), jti) > 0;
+    }
+
+    /**
+     * Revoke every live token in a family and return all of its unexpired tokens
+     */
+    public List<RefreshToken> revokeFamily(String familyId) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("UPDATE refresh_tokens SET revoked_at = ? WHERE family_id = ? AND revoked_at IS NULL",
+                now, familyId);
+        return jdbcTemplate.query("SELECT * FROM refresh_tokens WHERE family_id = ? AND expires_at > ?",
+                refreshTokenRowMapper, familyId, now);
+    }
+
+    /**
+     * Revoke every live token issued to a user and return the tokens revoked
+     */
+    public List<RefreshToken> revokeAllForUser(String username) {
+        LocalDateTime now = LocalDateTime.now();
+        List<RefreshToken> live = jdbcTemplate.query(
+                "SELECT * FROM refresh_tokens WHERE username = ? AND revoked_at IS NULL AND expires_at > ?",
+                refreshTokenRowMapper, username, now);
+        jdbcTemplate.update("UPDATE refresh_tokens SET revoked_at = ? WHERE username = ? AND revoked_at IS NULL",
+                now, username);
+        return live;
+    }
+
+    public List<RefreshToken> findByFamilyId(String familyId) {
+        String sql = "SELECT * FROM refresh_tokens WHERE family_id = ? ORDER BY created_at";
+        return jdbcTemplate.query(sql, refreshTokenRowMapper, familyId);
+    }
+
+    // Stream revoked tokens that have not expired yet (the only ones a revocation check can matter for)
+    public void forEachRevokedUnexpired(RowCallbackHandler handler) {
+        String sql = "SELECT jti, expires_at FROM refresh_tokens WHERE revoked_at IS NOT NULL AND expires_at > ?";
+        jdbcTemplate.query(sql, handler, LocalDateTime.now());
+    }
+
+    // Drop rows that can no longer be presented
+    public int deleteExpired() {
+        return jdbcTemplate.update("DELETE FROM refresh_tokens WHERE expires_at <= ?", LocalDateTime.now());
+    }
+}
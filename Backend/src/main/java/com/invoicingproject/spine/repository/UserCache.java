@@ -0,0 +1,186 @@
+package com.invoicingproject.spine.repository;
+
+import com.invoicingproject.spine.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Per-node cache of user rows keyed by username, used by UserRepository.findByUsername.
+ *
+ * Entries live for a short TTL and are dropped by every UserRepository write. A write
+ * inside a transaction is invalidated again after commit, so a reader that re-cached
+ * the pre-commit row in between does not keep it. Loads that race with an invalidation
+ * are not cached (checked with a global invalidation counter). Callers get copies, so
+ * mutating a returned User never changes the cached one.
+ */
+@Component
+public class UserCache {
+
+    @Value("${user.cache.ttl-ms:60000}")
+    private long ttlMs = 60000;
+
+    @Value("${user.cache.max-size:10000}")
+    private int maxSize = 10000;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong invalidationVersion = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private static final class Entry {
+        final User user;
+        final long expiresAt;
+
+        Entry(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public Optional<User> get(String username, Supplier<Optional<User>> loader) {
+        if (username == null) {
+            return loader.get();
+        }
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(username);
+        if (entry != null && entry.expiresAt > now) {
+            hits.increment();
+            return Optional.of(copyOf(entry.user));
+        }
+        misses.increment();
+
+        long version = invalidationVersion.get();
+        Optional<User> loaded = loader.get();
+        // Only cache if no write happened while loading; misses (unknown usernames) are not cached
+        if (loaded.isPresent() && invalidationVersion.get() == version) {
+            if (entries.size() >= maxSize) {
+                evict(now);
+            }
+            entries.put(username, new Entry(copyOf(loaded.get()), now + ttlMs));
+        }
+        return loaded;
+    }
+
+    public void invalidate(String username) {
+        runNowAndAfterCommit(() -> {
+            invalidationVersion.incrementAndGet();
+            if (username != null && entries.remove(username) != null) {
+                invalidations.increment();
+            }
+        });
+    }
+
+    // Id-based writes; scans the cache, which is fine for the rare admin write paths
+    public void invalidateIds(Collection<Long> ids) {
+        runNowAndAfterCommit(() -> {
+            invalidationVersion.incrementAndGet();
+            if (entries.values().removeIf(entry -> ids.contains(entry.user.getId()))) {
+                invalidations.increment();
+            }
+        });
+    }
+
+    public void clear() {
+        invalidationVersion.incrementAndGet();
+        entries.clear();
+    }
+
+    public CacheStats getStats() {
+        return new CacheStats(entries.size(), hits.sum(), misses.sum(), invalidations.sum(), evictions.sum());
+    }
+
+    // Drop expired entries; if still full, drop arbitrary entries down to 90% of max
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() >= maxSize * 9 / 10 && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private static void runNowAndAfterCommit(Runnable action) {
+        action.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    private static User copyOf(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setUsername(user.getUsername());
+        copy.setPassword(user.getPassword());
+        copy.setEmail(user.getEmail());
+        copy.setName(user.getName());
+        copy.setLocation(user.getLocation());
+        copy.setDepartment(user.getDepartment());
+        copy.setEmployeeNumber(user.getEmployeeNumber());
+        copy.setRoleId(user.getRoleId());
+        copy.setRole(user.getRole());
+        copy.setCreatedAt(user.getCreatedAt());
+        copy.setUpdatedAt(user.getUpdatedAt());
+        return copy;
+    }
+
+    public static class CacheStats {
+        private final int size;
+        private final long hits;
+        private final long misses;
+        private final long invalidations;
+        private final long evictions;
+
+        public CacheStats(int size, long hits, long misses, long invalidations, long evictions) {
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.invalidations = invalidations;
+            this.evictions = evictions;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getInvalidations() {
+            return invalidations;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
@@ -6,16 +6,24 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public class UserRepository {
@@ -25,6 +33,9 @@ public class UserRepository {
         @Autowired
         private JdbcTemplate jdbcTemplate;
 
+        @Autowired
+        private UserCache userCache;
+
         private final @NonNull RowMapper<User> userRowMapper = new RowMapper<User>() {
                 @Override
                 public User mapRow(@NonNull ResultSet rs, int rowNum) throws SQLException {
@@ -56,15 +67,17 @@ public class UserRepository {
                 }
         };
 
-        // Find user by username
+        // Find user by username (served from UserCache for up to its TTL; writes below invalidate it)
         public Optional<User> findByUsername(String username) {
-                try {
-                        String sql = "SELECT * FROM users WHERE username = ?";
-                        List<User> users = jdbcTemplate.query(sql, userRowMapper, username);
-                        return users.isEmpty() ? Optional.empty() : Optional.of(users.get(0));
-                } catch (Exception e) {
-                        return Optional.empty();
-                }
+                return userCache.get(username, () -> {
+                        try {
+                                String sql = "SELECT * FROM users WHERE username = ?";
+                                List<User> users = jdbcTemplate.query(sql, userRowMapper, username);
+                                return users.isEmpty() ? Optional.empty() : Optional.of(users.get(0));
+                        } catch (Exception e) {
+                                return Optional.empty();
+                        }
+                });
         }
 
         // Find user by email
@@ -119,6 +132,28 @@ public class UserRepository {
                 }
         }
 
+        /**
+         * Single round-trip uniqueness check for registration. Returns the columns among
+         * username, email and employee_number that already hold the given value; empty
+         * when none collide. employeeNumber may be null.
+         */
+        public Set<String> findConflictingKeys(String username, String email, String employeeNumber) {
+                String sql = "SELECT COALESCE(MAX(username = ?), 0) AS username_taken, " +
+                                "COALESCE(MAX(email = ?), 0) AS email_taken, " +
+                                "COALESCE(MAX(employee_number = ?), 0) AS employee_number_taken " +
+                                "FROM users WHERE username = ? OR email = ? OR employee_number = ?";
+                return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+                        Set<String> conflicts = new LinkedHashSet<>();
+                        if (rs.getInt("username_taken") > 0)
+                                conflicts.add("username");
+                        if (rs.getInt("email_taken") > 0)
+                                conflicts.add("email");
+                        if (rs.getInt("employee_number_taken") > 0)
+                                conflicts.add("employee_number");
+                        return conflicts;
+                }, username, email, employeeNumber, username, email, employeeNumber);
+        }
+
         // Find users by department
         public List<User> findByDepartment(String department) {
                 try {
@@ -176,7 +211,8 @@ public class UserRepository {
         // Find users by role
         public List<User> findByRole(String role) {
                 try {
-                        String sql = "SELECT * FROM users WHERE role = ? ORDER BY username";
+                        String sql = "SELECT u.* FROM users u JOIN finance_roles fr ON fr.id = u.role_id WHERE fr.role_name = ? "
+                                        + "ORDER BY u.username";
                         return jdbcTemplate.query(sql, userRowMapper, role);
                 } catch (Exception e) {
                         return List.of();
@@ -190,7 +226,8 @@ public class UserRepository {
                                 return List.of();
 
                         String placeholders = String.join(",", roles.stream().map(r -> "?").toList());
-                        String sql = "SELECT * FROM users WHERE role IN (" + placeholders + ") ORDER BY username";
+                        String sql = "SELECT u.* FROM users u JOIN finance_roles fr ON fr.id = u.role_id WHERE fr.role_name IN ("
+                                        + placeholders + ") ORDER BY u.username";
                         return jdbcTemplate.query(sql, userRowMapper, roles.toArray());
                 } catch (Exception e) {
                         return List.of();
@@ -200,7 +237,8 @@ public class UserRepository {
         // Find admin users
         public List<User> findAdminUsers() {
                 try {
-                        String sql = "SELECT * FROM users WHERE role = 'ADMIN' ORDER BY username";
+                        String sql = "SELECT u.* FROM users u JOIN finance_roles fr ON fr.id = u.role_id WHERE fr.role_name = 'ADMIN' "
+                                        + "ORDER BY u.username";
                         return jdbcTemplate.query(sql, userRowMapper);
                 } catch (Exception e) {
                         return List.of();
@@ -210,7 +248,8 @@ public class UserRepository {
         // Find regular users
         public List<User> findUserUsers() {
                 try {
-                        String sql = "SELECT * FROM users WHERE role = 'USER' ORDER BY username";
+                        String sql = "SELECT u.* FROM users u JOIN finance_roles fr ON fr.id = u.role_id WHERE fr.role_name = 'USER' "
+                                        + "ORDER BY u.username";
                         return jdbcTemplate.query(sql, userRowMapper);
                 } catch (Exception e) {
                         return List.of();
@@ -220,19 +259,23 @@ public class UserRepository {
         // Find users by department and role
         public List<User> findByDepartmentAndRole(String department, String role) {
                 try {
-                        String sql = "SELECT * FROM users WHERE department = ? AND role = ? ORDER BY username";
+                        String sql = "SELECT u.* FROM users u JOIN finance_roles fr ON fr.id = u.role_id WHERE u.department = ? "
+                                        + "AND fr.role_name = ? ORDER BY u.username";
                         return jdbcTemplate.query(sql, userRowMapper, department, role);
                 } catch (Exception e) {
                         return List.of();
                 }
         }
 
-        // Count users by role
+        // Count users by role; one indexed count per role, roles without users left out
         public List<Object[]> countUsersByRole() {
                 try {
-                        String sql = "SELECT role, COUNT(*) FROM users GROUP BY role";
+                        String sql = "SELECT fr.role_name, "
+                                        + "(SELECT COUNT(*) FROM users u WHERE u.role_id = fr.id) AS user_count "
+                                        + "FROM finance_roles fr ORDER BY fr.id";
                         return jdbcTemplate.queryForList(sql).stream()
-                                        .map(row -> new Object[] { row.get("role"), row.get("COUNT(*)") })
+                                        .filter(row -> ((Number) row.get("user_count")).longValue() > 0)
+                                        .map(row -> new Object[] { row.get("role_name"), row.get("user_count") })
                                         .toList();
                 } catch (Exception e) {
                         return List.of();
@@ -293,7 +336,7 @@ public class UserRepository {
                 }
         }
 
-        // Save (insert) user
+        // Save (insert) user; throws DuplicateKeyException when a unique key collides
         public User save(User user) {
                 String sql = "INSERT INTO users (username, password, email, name, location, department, employee_number, role_id, created_at, updated_at) "
                                 +
@@ -306,22 +349,25 @@ public class UserRepository {
                         user.setRoleId(1L); // Default to USER
                 }
 
-                jdbcTemplate.update(sql,
-                                user.getUsername(),
-                                user.getPassword(),
-                                user.getEmail(),
-                                user.getName(),
-                                user.getLocation(),
-                                user.getDepartment(),
-                                user.getEmployeeNumber(),
-                                user.getRoleId(),
-                                user.getCreatedAt(),
-                                user.getUpdatedAt());
-
-                // Get the generated ID
-                String idSql = "SELECT LAST_INSERT_ID()";
-                Long id = jdbcTemplate.queryForObject(idSql, Long.class);
-                user.setId(id);
+                // Generated ID comes back with the insert, no separate LAST_INSERT_ID() query
+                KeyHolder keyHolder = new GeneratedKeyHolder();
+                jdbcTemplate.update(connection -> {
+                        PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                        ps.setString(1, user.getUsername());
+                        ps.setString(2, user.getPassword());
+                        ps.setString(3, user.getEmail());
+                        ps.setString(4, user.getName());
+                        ps.setString(5, user.getLocation());
+                        ps.setString(6, user.getDepartment());
+                        ps.setString(7, user.getEmployeeNumber());
+                        ps.setLong(8, user.getRoleId());
+                        ps.setTimestamp(9, Timestamp.valueOf(user.getCreatedAt()));
+                        ps.setTimestamp(10, Timestamp.valueOf(user.getUpdatedAt()));
+                        return ps;
+                }, keyHolder);
+
+                Number key = keyHolder.getKey();
+                user.setId(key != null ? key.longValue() : null);
 
                 return user;
         }
@@ -330,18 +376,29 @@ public class UserRepository {
         public void updateUserPassword(String username, String password) {
                 String sql = "UPDATE users SET password = ?, updated_at = ? WHERE username = ?";
                 jdbcTemplate.update(sql, password, LocalDateTime.now(), username);
+                userCache.invalidate(username);
+        }
+
+        // Compare-and-set on the hash, so the read/verify/hash steps need no lock or open transaction
+        public boolean updateUserPasswordIfUnchanged(String username, String expectedPassword, String password) {
+                String sql = "UPDATE users SET password = ?, updated_at = ? WHERE username = ? AND password = ?";
+                int updated = jdbcTemplate.update(sql, password, LocalDateTime.now(), username, expectedPassword);
+                userCache.invalidate(username);
+                return updated > 0;
         }
 
         // Update user email
         public void updateUserEmail(String username, String email) {
                 String sql = "UPDATE users SET email = ?, updated_at = ? WHERE username = ?";
                 jdbcTemplate.update(sql, email, LocalDateTime.now(), username);
+                userCache.invalidate(username);
         }
 
-        // Update user role
+        // Update user role (stored as role_id)
         public void updateUserRole(String username, String role) {
-                String sql = "UPDATE users SET role = ?, updated_at = ? WHERE username = ?";
-                jdbcTemplate.update(sql, role, LocalDateTime.now(), username);
+                String sql = "UPDATE users SET role_id = ?, updated_at = ? WHERE username = ?";
+                jdbcTemplate.update(sql, roleIdForName(role), LocalDateTime.now(), username);
+                userCache.invalidate(username);
         }
 
         // Delete user by username
@@ -349,6 +406,7 @@ public class UserRepository {
                 try {
                         String sql = "DELETE FROM users WHERE username = ?";
                         int rowsAffected = jdbcTemplate.update(sql, username);
+                        userCache.invalidate(username);
                         return rowsAffected > 0;
                 } catch (Exception e) {
                         return false;
@@ -360,32 +418,30 @@ public class UserRepository {
                 try {
                         String sql = "DELETE FROM users WHERE id = ?";
                         int rowsAffected = jdbcTemplate.update(sql, id);
+                        userCache.invalidateIds(List.of(id));
                         return rowsAffected > 0;
                 } catch (Exception e) {
                         return false;
                 }
         }
 
-        // Update multiple user roles at once
+        // Update multiple user roles at once (stored as role_id), in one statement
         public int updateMultipleUserRoles(List<String> usernames, String newRole) {
                 try {
                         if (usernames.isEmpty())
                                 return 0;
 
                         String placeholders = String.join(",", usernames.stream().map(u -> "?").toList());
-                        String sql = "UPDATE users SET role = ?, updated_at = ? WHERE username IN (" + placeholders
+                        String sql = "UPDATE users SET role_id = ?, updated_at = ? WHERE username IN (" + placeholders
                                         + ")";
 
-                        LocalDateTime now = LocalDateTime.now();
-
-                        // JdbcTemplate doesn't support batch updates directly for this case, so we'll
-                        // do individual updates
-                        int totalUpdated = 0;
-                        for (String username : usernames) {
-                                int updated = jdbcTemplate.update(sql, newRole, now, username);
-                                totalUpdated += updated;
-                        }
-                        return totalUpdated;
+                        List<Object> params = new ArrayList<>(usernames.size() + 2);
+                        params.add(roleIdForName(newRole));
+                        params.add(LocalDateTime.now());
+                        params.addAll(usernames);
+                        int updated = jdbcTemplate.update(sql, params.toArray());
+                        usernames.forEach(userCache::invalidate);
+                        return updated;
                 } catch (Exception e) {
                         return 0;
                 }
@@ -408,41 +464,91 @@ public class UserRepository {
         // Update user role by ID using role name (direct ID mapping, no lookup needed)
         @Transactional
         public int updateUserRoleById(Long id, String roleName) {
-                // Direct role name to ID mapping (no database lookup needed)
-                // USER = 1, ADMIN = 2, MANAGER = 3, FINANCE = 4
-                Long roleId;
-                if (roleName == null) {
-                        roleId = 1L; // Default to USER
-                } else {
-                        switch (roleName.toUpperCase()) {
-                                case "ADMIN":
-                                        roleId = 2L;
-                                        break;
-                                case "MANAGER":
-                                        roleId = 3L;
-                                        break;
-                                case "FINANCE":
-                                        roleId = 4L;
-                                        break;
-                                case "USER":
-                                default:
-                                        roleId = 1L;
-                                        break;
-                        }
-                }
+                Long roleId = roleIdForName(roleName);
 
                 String sql = "UPDATE users SET role_id = ?, updated_at = ? WHERE id = ?";
                 int rowsAffected = jdbcTemplate.update(sql, roleId, LocalDateTime.now(), id);
+                userCache.invalidateIds(List.of(id));
                 logger.info("Updated role for user ID {} to {} (role_id={}). Rows affected: {}", id, roleName,
                                 roleId, rowsAffected);
                 return rowsAffected;
         }
 
+        // Direct role name to ID mapping (no database lookup needed)
+        // USER = 1, ADMIN = 2, MANAGER = 3, FINANCE = 4
+        public static Long roleIdForName(String roleName) {
+                if (roleName == null) {
+                        return 1L; // Default to USER
+                }
+                switch (roleName.toUpperCase()) {
+                        case "ADMIN":
+                                return 2L;
+                        case "MANAGER":
+                                return 3L;
+                        case "FINANCE":
+                                return 4L;
+                        case "USER":
+                        default:
+                                return 1L;
+                }
+        }
+
+        public static String roleNameForId(Long roleId) {
+                if (roleId == null)
+                        return "USER";
+                if (roleId == 2L)
+                        return "ADMIN";
+                if (roleId == 3L)
+                        return "MANAGER";
+                if (roleId == 4L)
+                        return "FINANCE";
+                return "USER";
+        }
+
+        // Current role of a user, without loading the rest of the row
+        public Optional<Long> findRoleIdByUsername(String username) {
+                String sql = "SELECT role_id FROM users WHERE username = ?";
+                List<Long> roleIds = jdbcTemplate.query(sql, (rs, rowNum) -> {
+                        long roleId = rs.getLong("role_id");
+                        return rs.wasNull() ? 1L : roleId;
+                }, username);
+                return roleIds.isEmpty() ? Optional.empty() : Optional.of(roleIds.get(0));
+        }
+
+        // Ids from the list that exist, locked until the surrounding transaction ends
+        public List<Long> lockExistingIds(List<Long> ids) {
+                if (ids.isEmpty())
+                        return List.of();
+
+                String placeholders = String.join(",", ids.stream().map(id -> "?").toList());
+                String sql = "SELECT id FROM users WHERE id IN (" + placeholders + ") FOR UPDATE";
+                return jdbcTemplate.queryForList(sql, Long.class, ids.toArray());
+        }
+
+        // Set role_id for every listed user in one statement; callers keep the list to a bounded size
+        public int updateRoleIdByIds(List<Long> ids, Long roleId) {
+                if (ids.isEmpty())
+                        return 0;
+
+                String placeholders = String.join(",", ids.stream().map(id -> "?").toList());
+                String sql = "UPDATE users SET role_id = ?, updated_at = ? WHERE id IN (" + placeholders + ")";
+                Object[] args = new Object[ids.size() + 2];
+                args[0] = roleId;
+                args[1] = LocalDateTime.now();
+                for (int i = 0; i < ids.size(); i++) {
+                        args[i + 2] = ids.get(i);
+                }
+                int rowsAffected = jdbcTemplate.update(sql, args);
+                userCache.invalidateIds(new HashSet<>(ids));
+                return rowsAffected;
+        }
+
         // Update user role by ID using role_id directly
         @Transactional
         public int updateUserRoleById(Long id, Long roleId) {
                 String sql = "UPDATE users SET role_id = ?, updated_at = ? WHERE id = ?";
                 int rowsAffected = jdbcTemplate.update(sql, roleId, LocalDateTime.now(), id);
+                userCache.invalidateIds(List.of(id));
                 logger.info("Updated role for user ID {} to role_id={}. Rows affected: {}", id, roleId, rowsAffected);
                 return rowsAffected;
         }
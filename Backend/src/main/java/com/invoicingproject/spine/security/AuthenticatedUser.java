@@ -0,0 +1,64 @@
+package com.invoicingproject.spine.security;
+
+import java.util.Set;
+
+/**
+ * Principal built from a verified access token. Everything needed for authorization
+ * travels in the token, so handling a request never has to load the user.
+ */
+public class AuthenticatedUser {
+
+    private final Long id;
+    private final String username;
+    private final String department;
+    private final Long roleId;
+    private final String roleName;
+    private final Set<String> permissions;
+
+    public AuthenticatedUser(Long id, String username, String department, Long roleId, String roleName,
+            Set<String> permissions) {
+        this.id = id;
+        this.username = username;
+        this.department = department;
+        this.roleId = roleId;
+        this.roleName = roleName;
+        this.permissions = permissions;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public Long getRoleId() {
+        return roleId;
+    }
+
+    public String getRoleName() {
+        return roleName;
+    }
+
+    public Set<String> getPermissions() {
+        return permissions;
+    }
+
+    public boolean isAdmin() {
+        return "ADMIN".equalsIgnoreCase(roleName);
+    }
+
+    public boolean hasPermission(String permissionName) {
+        return permissions.contains(permissionName);
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -0,0 +1,66 @@
+package com.invoicingproject.spine.security;
+
+import com.invoicingproject.spine.service.JwtService;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Verifies the Bearer access token once per request and, if valid, puts an
+ * AuthenticatedUser with ROLE_<role> and permission authorities into the
+ * SecurityContext. Requests without a valid token continue unauthenticated and are
+ * refused by SecurityConfig where authentication is required.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+
+    public JwtAuthenticationFilter(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String header = request.getHeader("Authorization");
+        if (header != null && header.startsWith(BEARER_PREFIX)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            try {
+                AuthenticatedUser user = jwtService.parseAccessToken(header.substring(BEARER_PREFIX.length()));
+                if (user != null) {
+                    List<GrantedAuthority> authorities = new ArrayList<>(user.getPermissions().size() + 1);
+                    authorities.add(new SimpleGrantedAuthority("ROLE_" + user.getRoleName()));
+                    for (String permission : user.getPermissions()) {
+                        authorities.add(new SimpleGrantedAuthority(permission));
+                    }
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            user, null, authorities);
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
+            } catch (JwtException | IllegalArgumentException e) {
+                logger.debug("Rejected access token for {}: {}", request.getRequestURI(), e.getMessage());
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,231 @@
+package com.invoicingproject.spine.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throttles login attempts per identifier (username/email/employee number) and per
+ * client IP before any database or BCrypt work is done.
+ *
+ * Each key has a sliding-window counter approximated from the current and previous
+ * fixed windows, packed into one AtomicLong and updated with CAS, so checks never
+ * block. Keys are spread over independent stripes, each capped in size; a full stripe
+ * drops keys whose windows have lapsed, and if it is still full of live windows the new
+ * key is rejected (fail closed) rather than evicting a key that is being throttled, so
+ * memory stays bounded under a flood of distinct identifiers without resetting anyone.
+ */
+@Component
+public class LoginRateLimiter {
+
+    public enum Decision {
+        ALLOWED, REJECTED_IP, REJECTED_IDENTIFIER
+    }
+
+    private static final int STRIPES = 16;
+
+    private final Limiter identifierLimiter;
+    private final Limiter ipLimiter;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedByIp = new LongAdder();
+    private final LongAdder rejectedByIdentifier = new LongAdder();
+
+    public LoginRateLimiter(
+            @Value("${login.rate-limit.identifier.max-attempts:10}") int identifierMax,
+            @Value("${login.rate-limit.identifier.window-ms:300000}") long identifierWindowMs,
+            @Value("${login.rate-limit.ip.max-attempts:100}") int ipMax,
+            @Value("${login.rate-limit.ip.window-ms:60000}") long ipWindowMs,
+            @Value("${login.rate-limit.max-keys:100000}") int maxKeys) {
+        this.identifierLimiter = new Limiter(identifierMax, identifierWindowMs, maxKeys);
+        this.ipLimiter = new Limiter(ipMax, ipWindowMs, maxKeys);
+    }
+
+    /**
+     * Count one login attempt. The IP is checked first so a spray over many usernames
+     * from one address is stopped without touching the identifier table.
+     */
+    public Decision tryAcquire(String identifier, String ip) {
+        long now = System.currentTimeMillis();
+        if (ip != null && !ipLimiter.tryAcquire(ip, now)) {
+            rejectedByIp.increment();
+            return Decision.REJECTED_IP;
+        }
+        if (identifier != null && !identifierLimiter.tryAcquire(normalize(identifier), now)) {
+            rejectedByIdentifier.increment();
+            return Decision.REJECTED_IDENTIFIER;
+        }
+        allowed.increment();
+        return Decision.ALLOWED;
+    }
+
+    // A successful login clears the identifier's failures; the IP budget is kept
+    public void recordSuccess(String identifier) {
+        if (identifier != null) {
+            identifierLimiter.reset(normalize(identifier));
+        }
+    }
+
+    // Seconds until the current window of the given limiter rolls over
+    public long retryAfterSeconds(Decision decision) {
+        Limiter limiter = decision == Decision.REJECTED_IP ? ipLimiter : identifierLimiter;
+        long now = System.currentTimeMillis();
+        return Math.max(1, (limiter.windowMs - now % limiter.windowMs + 999) / 1000);
+    }
+
+    public RateLimitStats getStats() {
+        return new RateLimitStats(allowed.sum(), rejectedByIp.sum(), rejectedByIdentifier.sum(),
+                identifierLimiter.size(), ipLimiter.size());
+    }
+
+    private static String normalize(String identifier) {
+        return identifier.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static final class Limiter {
+
+        final int maxAttempts;
+        final long windowMs;
+        private final int maxKeysPerStripe;
+        private final List<Stripe> stripes = new ArrayList<>(STRIPES);
+
+        Limiter(int maxAttempts, long windowMs, int maxKeys) {
+            this.maxAttempts = maxAttempts;
+            this.windowMs = windowMs;
+            this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+            for (int i = 0; i < STRIPES; i++) {
+                stripes.add(new Stripe());
+            }
+        }
+
+        boolean tryAcquire(String key, long now) {
+            Stripe stripe = stripe(key);
+            SlidingWindow window = stripe.windows.get(key);
+            if (window == null) {
+                if (stripe.windows.size() >= maxKeysPerStripe && !stripe.evictIdle(now / windowMs, maxKeysPerStripe)) {
+                    // Every tracked key is still live; dropping one would reset its budget
+                    return false;
+                }
+                window = stripe.windows.computeIfAbsent(key, k -> new SlidingWindow());
+            }
+            return window.tryAcquire(now, windowMs, maxAttempts);
+        }
+
+        void reset(String key) {
+            stripe(key).windows.remove(key);
+        }
+
+        int size() {
+            int size = 0;
+            for (Stripe stripe : stripes) {
+                size += stripe.windows.size();
+            }
+            return size;
+        }
+
+        private Stripe stripe(String key) {
+            return stripes.get((key.hashCode() & 0x7fffffff) % STRIPES);
+        }
+    }
+
+    static final class Stripe {
+
+        private final ConcurrentHashMap<String, SlidingWindow> windows = new ConcurrentHashMap<>();
+        // Window index of the last sweep; nothing new goes idle until the index moves on
+        private final AtomicLong sweptIndex = new AtomicLong(-1);
+
+        // Drops lapsed windows; true if that made room for another key
+        boolean evictIdle(long currentIndex, int maxKeys) {
+            long swept = sweptIndex.get();
+            if (swept != currentIndex && sweptIndex.compareAndSet(swept, currentIndex)) {
+                windows.values().removeIf(window -> window.isIdle(currentIndex));
+            }
+            return windows.size() < maxKeys;
+        }
+    }
+
+    /**
+     * Packed state: [window index: 32 bits][previous window count: 16 bits][current window count: 16 bits].
+     * The estimate weights the previous window by how much of it still overlaps the sliding window.
+     */
+    static final class SlidingWindow {
+
+        private static final long COUNT_MASK = 0xFFFFL;
+
+        private final AtomicLong state = new AtomicLong();
+
+        boolean tryAcquire(long now, long windowMs, int maxAttempts) {
+            long index = now / windowMs;
+            double elapsed = (double) (now % windowMs) / windowMs;
+            while (true) {
+                long current = state.get();
+                long stateIndex = current >>> 32;
+                long previousCount = (current >>> 16) & COUNT_MASK;
+                long currentCount = current & COUNT_MASK;
+                if (stateIndex != (index & 0xFFFFFFFFL)) {
+                    // Rolled into a new window; the old current becomes previous only if adjacent
+                    previousCount = stateIndex == ((index - 1) & 0xFFFFFFFFL) ? currentCount : 0;
+                    currentCount = 0;
+                }
+                double estimate = previousCount * (1.0 - elapsed) + currentCount;
+                if (estimate >= maxAttempts) {
+                    return false;
+                }
+                long next = ((index & 0xFFFFFFFFL) << 32) | (previousCount << 16)
+                        | Math.min(COUNT_MASK, currentCount + 1);
+                if (state.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        // Nothing in the current or previous window can affect a decision any more
+        boolean isIdle(long currentIndex) {
+            long stateIndex = state.get() >>> 32;
+            return stateIndex != (currentIndex & 0xFFFFFFFFL) && stateIndex != ((currentIndex - 1) & 0xFFFFFFFFL);
+        }
+    }
+
+    public static class RateLimitStats {
+        private final long allowed;
+        private final long rejectedByIp;
+        private final long rejectedByIdentifier;
+        private final int trackedIdentifiers;
+        private final int trackedIps;
+
+        public RateLimitStats(long allowed, long rejectedByIp, long rejectedByIdentifier, int trackedIdentifiers,
+                int trackedIps) {
+            this.allowed = allowed;
+            this.rejectedByIp = rejectedByIp;
+            this.rejectedByIdentifier = rejectedByIdentifier;
+            this.trackedIdentifiers = trackedIdentifiers;
+            this.trackedIps = trackedIps;
+        }
+
+        public long getAllowed() {
+            return allowed;
+        }
+
+        public long getRejectedByIp() {
+            return rejectedByIp;
+        }
+
+        public long getRejectedByIdentifier() {
+            return rejectedByIdentifier;
+        }
+
+        public int getTrackedIdentifiers() {
+            return trackedIdentifiers;
+        }
+
+        public int getTrackedIps() {
+            return trackedIps;
+        }
+    }
+}
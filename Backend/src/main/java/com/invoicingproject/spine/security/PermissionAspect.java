@@ -0,0 +1,58 @@
+package com.invoicingproject.spine.security;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Enforces @RequiresPermission before the annotated method runs. The caller's role comes
+ * from the AuthenticatedUser set by JwtAuthenticationFilter; the exceptions thrown here
+ * are turned into 401/403 by Spring Security's exception translation.
+ */
+@Aspect
+@Component
+public class PermissionAspect {
+
+    @Autowired
+    private PermissionPolicy permissionPolicy;
+
+    // Annotation lookup is reflective, so it is resolved once per method
+    private final Map<Method, PermissionPolicy.Rule> rules = new ConcurrentHashMap<>();
+
+    @Around("@annotation(com.invoicingproject.spine.security.RequiresPermission) || "
+            + "@within(com.invoicingproject.spine.security.RequiresPermission)")
+    public Object checkPermission(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        PermissionPolicy.Rule rule = rules.computeIfAbsent(method, PermissionAspect::resolveRule);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            throw new AuthenticationCredentialsNotFoundException("Authentication required");
+        }
+        if (!permissionPolicy.isAllowed(user.getRoleId(), rule)) {
+            throw new AccessDeniedException("Requires " + rule);
+        }
+        return joinPoint.proceed();
+    }
+
+    private static PermissionPolicy.Rule resolveRule(Method method) {
+        RequiresPermission annotation = AnnotatedElementUtils.findMergedAnnotation(method, RequiresPermission.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(),
+                    RequiresPermission.class);
+        }
+        return PermissionPolicy.Rule.of(annotation);
+    }
+}
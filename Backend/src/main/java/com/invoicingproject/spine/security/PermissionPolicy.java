@@ -0,0 +1,248 @@
+package com.invoicingproject.spine.security;
+
+import com.invoicingproject.spine.entity.Permission;
+import com.invoicingproject.spine.repository.PermissionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-memory copy of role_permissions compiled to one bitset per role.
+ *
+ * Every active permission gets a bit, reachable by its name (USER_READ) and by its
+ * resource:action key (users:read). A rule is compiled once per snapshot to a mask, so a
+ * check is a few word ANDs with no database access. The snapshot is immutable and swapped
+ * as a whole on reload, after which the reload listeners run (caches derived from the
+ * policy drop their entries). ADMIN passes every check, as it did in UserService.
+ */
+@Component
+public class PermissionPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(PermissionPolicy.class);
+
+    private static final Long ADMIN_ROLE_ID = 2L;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    private volatile Snapshot snapshot = Snapshot.compile(List.of(), Map.of());
+    private volatile boolean loaded;
+    private final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    // role_permissions is only edited in SQL, so a periodic reload is enough to pick changes up
+    @Scheduled(fixedDelayString = "${permission.policy.refresh-ms:300000}", initialDelay = 300000)
+    public void refresh() {
+        reload();
+    }
+
+    public void reload() {
+        try {
+            List<Permission> permissions = permissionRepository.findAllActive();
+            if (permissions.isEmpty() && !snapshot.bits.isEmpty()) {
+                // findAllActive returns an empty list on errors; don't revoke everything on a DB hiccup
+                logger.warn("No active permissions read; keeping the current permission policy");
+                return;
+            }
+            snapshot = Snapshot.compile(permissions, permissionRepository.findPermissionNamesByRole());
+            // An empty read may be a failure; until a real policy is in, nothing derived from it is cached
+            loaded = loaded || !permissions.isEmpty();
+            reloadListeners.forEach(Runnable::run);
+            logger.info("Compiled permission policy: {} permissions, {} roles", snapshot.permissionCount,
+                    snapshot.roleBits.size());
+        } catch (Exception e) {
+            logger.error("Error reloading permission policy; keeping the current one", e);
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void addReloadListener(Runnable listener) {
+        reloadListeners.add(listener);
+    }
+
+    public boolean isAllowed(Long roleId, Rule rule) {
+        if (roleId == null) {
+            return false;
+        }
+        return ADMIN_ROLE_ID.equals(roleId) || snapshot.allows(roleId, rule);
+    }
+
+    // Permission name or resource:action key
+    public boolean hasPermission(Long roleId, String permission) {
+        if (roleId == null) {
+            return false;
+        }
+        return ADMIN_ROLE_ID.equals(roleId) || snapshot.grants(roleId, permission);
+    }
+
+    public boolean hasAnyPermission(Long roleId, String... permissions) {
+        if (roleId == null) {
+            return false;
+        }
+        if (ADMIN_ROLE_ID.equals(roleId)) {
+            return true;
+        }
+        Snapshot current = snapshot;
+        for (String permission : permissions) {
+            if (current.grants(roleId, permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Active permission names granted to the role, as carried in its access tokens
+    public Set<String> permissionNamesFor(Long roleId) {
+        if (roleId == null) {
+            return Set.of();
+        }
+        return snapshot.namesFor(roleId);
+    }
+
+    /**
+     * A set of required permissions. Identity-keyed: PermissionAspect keeps one instance
+     * per annotated method, and each snapshot caches its compiled mask by that instance.
+     */
+    public static final class Rule {
+        private final String[] permissions;
+        private final boolean anyOf;
+
+        public Rule(String[] permissions, boolean anyOf) {
+            this.permissions = permissions.clone();
+            this.anyOf = anyOf;
+        }
+
+        public static Rule of(RequiresPermission annotation) {
+            return new Rule(annotation.value(), annotation.anyOf());
+        }
+
+        @Override
+        public String toString() {
+            return (anyOf ? "any of " : "all of ") + Arrays.toString(permissions);
+        }
+    }
+
+    static final class Snapshot {
+
+        private final Map<String, Integer> bits;
+        private final Map<Long, long[]> roleBits;
+        private final Map<Long, Set<String>> namesByRole;
+        private final int permissionCount;
+        private final long[] noPermissions;
+        private final Map<Rule, long[]> masks = new ConcurrentHashMap<>();
+
+        private Snapshot(Map<String, Integer> bits, Map<Long, long[]> roleBits,
+                         Map<Long, Set<String>> namesByRole, int permissionCount) {
+            this.bits = bits;
+            this.roleBits = roleBits;
+            this.namesByRole = namesByRole;
+            this.permissionCount = permissionCount;
+            this.noPermissions = new long[words(permissionCount)];
+        }
+
+        static Snapshot compile(List<Permission> permissions, Map<Long, Set<String>> namesByRole) {
+            Map<String, Integer> bits = new HashMap<>();
+            int next = 0;
+            for (Permission permission : permissions) {
+                String name = permission.getPermissionName();
+                if (name == null || bits.containsKey(name)) {
+                    continue;
+                }
+                int bit = next++;
+                bits.put(name, bit);
+                if (permission.getResource() != null && permission.getAction() != null) {
+                    bits.putIfAbsent(permission.getResource() + ":" + permission.getAction(), bit);
+                }
+            }
+
+            Map<Long, long[]> roleBits = new HashMap<>();
+            Map<Long, Set<String>> grantedNames = new HashMap<>();
+            for (Map.Entry<Long, Set<String>> entry : namesByRole.entrySet()) {
+                long[] granted = new long[words(next)];
+                Set<String> names = new HashSet<>();
+                for (String name : entry.getValue()) {
+                    Integer bit = bits.get(name);
+                    if (bit != null) {
+                        granted[bit >>> 6] |= 1L << bit;
+                        names.add(name);
+                    }
+                }
+                roleBits.put(entry.getKey(), granted);
+                grantedNames.put(entry.getKey(), Set.copyOf(names));
+            }
+            return new Snapshot(bits, roleBits, grantedNames, next);
+        }
+
+        boolean allows(Long roleId, Rule rule) {
+            long[] granted = roleBits.getOrDefault(roleId, noPermissions);
+            long[] mask = masks.computeIfAbsent(rule, this::compileMask);
+            if (rule.anyOf) {
+                for (int i = 0; i < mask.length; i++) {
+                    if ((granted[i] & mask[i]) != 0) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            for (int i = 0; i < mask.length; i++) {
+                if ((granted[i] & mask[i]) != mask[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean grants(Long roleId, String permission) {
+            Integer bit = bits.get(permission);
+            if (bit == null) {
+                return false;
+            }
+            long[] granted = roleBits.getOrDefault(roleId, noPermissions);
+            return (granted[bit >>> 6] & (1L << bit)) != 0;
+        }
+
+        Set<String> namesFor(Long roleId) {
+            return namesByRole.getOrDefault(roleId, Set.of());
+        }
+
+        // Unknown permissions map to a spare bit no role holds: they fail an all-of rule
+        // and are ignored by an any-of rule
+        private long[] compileMask(Rule rule) {
+            long[] mask = new long[words(permissionCount)];
+            for (String permission : rule.permissions) {
+                Integer bit = bits.get(permission);
+                if (bit == null) {
+                    logger.warn("Unknown permission '{}' in rule {}; no role is granted it", permission, rule);
+                    bit = permissionCount;
+                }
+                mask[bit >>> 6] |= 1L << bit;
+            }
+            return mask;
+        }
+
+        // One extra bit for unknown permissions
+        private static int words(int permissionCount) {
+            return (permissionCount + 64) >>> 6;
+        }
+    }
+}
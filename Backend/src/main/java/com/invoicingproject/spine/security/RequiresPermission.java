@@ -0,0 +1,24 @@
+package com.invoicingproject.spine.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the permissions needed to call a controller method (or every method of a
+ * class). Entries are permission names ("INVOICE_APPROVE") or resource:action keys
+ * ("invoices:approve"). Checked by PermissionAspect against the in-memory
+ * PermissionPolicy; a method-level annotation overrides a class-level one.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequiresPermission {
+
+    String[] value();
+
+    // false: every listed permission is needed; true: any one of them is enough
+    boolean anyOf() default false;
+}
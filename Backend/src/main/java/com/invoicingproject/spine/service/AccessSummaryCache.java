@@ -0,0 +1,115 @@
+package com.invoicingproject.spine.service;
+
+import com.invoicingproject.spine.repository.RbacVersionRepository;
+import com.invoicingproject.spine.security.PermissionPolicy;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Access summaries per role id. Entries are dropped whenever the permission policy
+ * reloads (on its own schedule or below) and when the rbac_version counter moves; the
+ * counter is bumped by triggers on finance_roles, permissions and role_permissions where
+ * V14 has been applied, and is a single-row primary-key read polled every few seconds.
+ * A change of the counter reloads the policy first, so rebuilt summaries see it.
+ *
+ * Where neither signal fires (e.g. a schema without the triggers) entries still expire
+ * after a short TTL. Nothing is cached until the policy has loaded once, so summaries
+ * built against the empty startup policy are never kept.
+ */
+@Component
+public class AccessSummaryCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessSummaryCache.class);
+
+    private static final long UNKNOWN_VERSION = -1L;
+
+    @Autowired
+    private RbacVersionRepository rbacVersionRepository;
+
+    @Autowired
+    private PermissionPolicy permissionPolicy;
+
+    @Value("${rbac.access-summary.ttl-ms:60000}")
+    private long ttlMs = 60000;
+
+    private final Map<Long, Entry> summaries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long seenVersion = UNKNOWN_VERSION;
+
+    private static final class Entry {
+        final UserService.AccessSummary summary;
+        final long expiresAt;
+
+        Entry(UserService.AccessSummary summary, long expiresAt) {
+            this.summary = summary;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    @PostConstruct
+    void listenForPolicyReloads() {
+        permissionPolicy.addReloadListener(this::invalidateAll);
+    }
+
+    public UserService.AccessSummary get(Long roleId, Supplier<UserService.AccessSummary> loader) {
+        if (roleId == null) {
+            return loader.get();
+        }
+        long now = System.currentTimeMillis();
+        Entry cached = summaries.get(roleId);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.summary;
+        }
+        long loadGeneration = generation.get();
+        UserService.AccessSummary loaded = loader.get();
+        // A change seen while loading may not be reflected in what was just read
+        if (generation.get() == loadGeneration && seenVersion != UNKNOWN_VERSION && permissionPolicy.isLoaded()) {
+            summaries.put(roleId, new Entry(loaded, now + ttlMs));
+        }
+        return loaded;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        summaries.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${rbac.version.poll-ms:5000}")
+    public void pollVersion() {
+        long version;
+        try {
+            version = rbacVersionRepository.currentVersion();
+        } catch (Exception e) {
+            // Can't tell whether anything changed, so stop serving cached summaries until we can
+            if (seenVersion != UNKNOWN_VERSION) {
+                logger.warn("Could not read rbac_version; access summaries uncached until it is readable: {}",
+                        e.getMessage());
+            }
+            seenVersion = UNKNOWN_VERSION;
+            invalidateAll();
+            return;
+        }
+        if (version != seenVersion) {
+            if (seenVersion != UNKNOWN_VERSION) {
+                logger.info("RBAC tables changed (version {} -> {}); reloading permissions", seenVersion, version);
+                permissionPolicy.reload();
+            }
+            seenVersion = version;
+            invalidateAll();
+        }
+    }
+
+    public int size() {
+        return summaries.size();
+    }
+}
@@ -0,0 +1,263 @@
+package com.invoicingproject.spine.service;
+
+import com.invoicingproject.spine.dto.AllocationReportResponse;
+import com.invoicingproject.spine.dto.AllocationReportResponse.EmployeeAllocation;
+import com.invoicingproject.spine.dto.AllocationReportResponse.ProjectAllocation;
+import com.invoicingproject.spine.repository.EmployeeProjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Utilization, bench and over-allocation analytics over employee_projects.
+ * Loads a primitive-array snapshot and computes per-project and per-employee
+ * metrics in parallel, bucketed by calendar month.
+ */
+@Service
+public class AllocationAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AllocationAnalyticsService.class);
+
+    // Upper bound on the requested range so a typo can't produce a multi-decade report
+    public static final int MAX_RANGE_MONTHS = 60;
+
+    private static final int FULL_ALLOCATION = 10000; // 100.00% in basis points
+
+    @Autowired
+    private EmployeeProjectRepository employeeProjectRepository;
+
+    public AllocationReportResponse analyze(LocalDate from, LocalDate to, boolean includeEmployees) {
+        validateRange(from, to);
+        long started = System.nanoTime();
+        AllocationSnapshot snapshot = loadSnapshot();
+        long loaded = System.nanoTime();
+        AllocationReportResponse report = compute(snapshot, from, to, includeEmployees);
+        logger.debug("Allocation analytics for {} employees / {} assignments: load {} ms, compute {} ms",
+                snapshot.getEmployeeCount(), snapshot.getAssignmentCount(),
+                (loaded - started) / 1_000_000, (System.nanoTime() - loaded) / 1_000_000);
+        return report;
+    }
+
+    private AllocationSnapshot loadSnapshot() {
+        AllocationSnapshot.Builder builder = AllocationSnapshot.builder();
+        employeeProjectRepository.streamAllocations(new EmployeeProjectRepository.AllocationRowHandler() {
+            @Override
+            public void employee(long employeeId, boolean billable) {
+                builder.addEmployee(employeeId, billable);
+            }
+
+            @Override
+            public void assignment(long employeeId, long projectId, BigDecimal allocationPercentage,
+                                   LocalDate startDate, LocalDate endDate, boolean primary) {
+                builder.addAssignment(employeeId, projectId, allocationPercentage, startDate, endDate, primary);
+            }
+        });
+        return builder.build();
+    }
+
+    public static void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both from and to dates are required");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("to must not be before from");
+        }
+        if (ChronoUnit.MONTHS.between(YearMonth.from(from), YearMonth.from(to)) >= MAX_RANGE_MONTHS) {
+            throw new IllegalArgumentException("Range must not exceed " + MAX_RANGE_MONTHS + " months");
+        }
+    }
+
+    /**
+     * Pure computation over a snapshot; no database access, safe to call from benchmarks.
+     */
+    public static AllocationReportResponse compute(AllocationSnapshot s, LocalDate from, LocalDate to,
+            boolean includeEmployees) {
+        int rangeStart = (int) from.toEpochDay();
+        int rangeEnd = (int) to.toEpochDay();
+
+        // Month buckets, first and last clipped to the range
+        List<String> months = new ArrayList<>();
+        List<int[]> bounds = new ArrayList<>();
+        for (YearMonth ym = YearMonth.from(from); !ym.isAfter(YearMonth.from(to)); ym = ym.plusMonths(1)) {
+            int start = Math.max(rangeStart, (int) ym.atDay(1).toEpochDay());
+            int end = Math.min(rangeEnd, (int) ym.atEndOfMonth().toEpochDay());
+            months.add(ym.toString());
+            bounds.add(new int[] { start, end });
+        }
+        int monthCount = months.size();
+        int[] monthStart = new int[monthCount];
+        int[] monthEnd = new int[monthCount];
+        for (int m = 0; m < monthCount; m++) {
+            monthStart[m] = bounds.get(m)[0];
+            monthEnd[m] = bounds.get(m)[1];
+        }
+
+        ProjectAllocation[] projectResults = new ProjectAllocation[s.getProjectCount()];
+        IntStream.range(0, s.getProjectCount()).parallel().forEach(p -> projectResults[p] = computeProject(s, p,
+                rangeStart, rangeEnd, monthStart, monthEnd));
+
+        AtomicIntegerArray bench = new AtomicIntegerArray(monthCount);
+        AtomicIntegerArray over = new AtomicIntegerArray(monthCount);
+        EmployeeAllocation[] employeeResults = new EmployeeAllocation[s.getEmployeeCount()];
+        IntStream.range(0, s.getEmployeeCount()).parallel().forEach(e -> employeeResults[e] = computeEmployee(s, e,
+                rangeEnd, monthStart, bench, over));
+
+        double[] totalFte = new double[monthCount];
+        double[] billableFte = new double[monthCount];
+        for (ProjectAllocation project : projectResults) {
+            for (int m = 0; m < monthCount; m++) {
+                totalFte[m] += project.getFte()[m];
+                billableFte[m] += project.getBillableFte()[m];
+            }
+        }
+        int[] benchHeadcount = new int[monthCount];
+        int[] overAllocatedHeadcount = new int[monthCount];
+        for (int m = 0; m < monthCount; m++) {
+            benchHeadcount[m] = bench.get(m);
+            overAllocatedHeadcount[m] = over.get(m);
+        }
+
+        AllocationReportResponse report = new AllocationReportResponse();
+        report.setFrom(from);
+        report.setTo(to);
+        report.setMonths(months);
+        report.setTotalFte(totalFte);
+        report.setBillableFte(billableFte);
+        report.setBenchHeadcount(benchHeadcount);
+        report.setOverAllocatedHeadcount(overAllocatedHeadcount);
+        report.setProjects(Arrays.asList(projectResults));
+        if (includeEmployees) {
+            report.setEmployees(Arrays.asList(employeeResults));
+        }
+        return report;
+    }
+
+    private static ProjectAllocation computeProject(AllocationSnapshot s, int p, int rangeStart, int rangeEnd,
+            int[] monthStart, int[] monthEnd) {
+        int monthCount = monthStart.length;
+        double[] fte = new double[monthCount];
+        double[] billableFte = new double[monthCount];
+        int[] headcount = new int[monthCount];
+        int[] primaryHeadcount = new int[monthCount];
+
+        for (int k = s.projectOffsets[p]; k < s.projectOffsets[p + 1]; k++) {
+            int a = s.projectAssignments[k];
+            int start = Math.max(s.assignmentStart[a], rangeStart);
+            int end = Math.min(s.assignmentEnd[a], rangeEnd);
+            if (start > end) {
+                continue;
+            }
+            double allocation = s.assignmentAllocation[a] / (double) FULL_ALLOCATION;
+            boolean billable = s.employeeBillable[s.assignmentEmployee[a]];
+            for (int m = monthIndexOf(monthStart, start); m < monthCount && monthStart[m] <= end; m++) {
+                int overlap = Math.min(end, monthEnd[m]) - Math.max(start, monthStart[m]) + 1;
+                double value = allocation * overlap / (monthEnd[m] - monthStart[m] + 1);
+                fte[m] += value;
+                if (billable) {
+                    billableFte[m] += value;
+                }
+                headcount[m]++;
+                if (s.assignmentPrimary[a]) {
+                    primaryHeadcount[m]++;
+                }
+            }
+        }
+        return new ProjectAllocation(s.projectIds[p], fte, billableFte, headcount, primaryHeadcount);
+    }
+
+    /**
+     * Sweeps the employee's timeline over segments where the set of active assignments is
+     * constant. Segment boundaries include month starts so each segment lies in one month.
+     */
+    private static EmployeeAllocation computeEmployee(AllocationSnapshot s, int e, int rangeEnd,
+            int[] monthStart, AtomicIntegerArray bench, AtomicIntegerArray over) {
+        int monthCount = monthStart.length;
+        int first = s.employeeOffsets[e];
+        int last = s.employeeOffsets[e + 1];
+
+        int[] boundaries = new int[monthCount + 2 * (last - first) + 1];
+        int n = 0;
+        for (int m = 0; m < monthCount; m++) {
+            boundaries[n++] = monthStart[m];
+        }
+        boundaries[n++] = rangeEnd + 1;
+        for (int k = first; k < last; k++) {
+            int a = s.employeeAssignments[k];
+            int start = Math.max(s.assignmentStart[a], monthStart[0]);
+            int end = Math.min(s.assignmentEnd[a], rangeEnd);
+            if (start <= end) {
+                boundaries[n++] = start;
+                boundaries[n++] = end + 1;
+            }
+        }
+        Arrays.sort(boundaries, 0, n);
+
+        boolean[] monthAllocated = new boolean[monthCount];
+        boolean[] monthOver = new boolean[monthCount];
+        long weighted = 0;
+        int totalDays = 0;
+        int peak = 0;
+        int overDays = 0;
+        int benchDays = 0;
+        int m = 0;
+        for (int i = 0; i + 1 < n; i++) {
+            int segStart = boundaries[i];
+            int length = boundaries[i + 1] - segStart;
+            if (length == 0) {
+                continue;
+            }
+            while (m + 1 < monthCount && monthStart[m + 1] <= segStart) {
+                m++;
+            }
+            int allocation = 0;
+            for (int k = first; k < last; k++) {
+                int a = s.employeeAssignments[k];
+                if (s.assignmentStart[a] <= segStart && s.assignmentEnd[a] >= segStart) {
+                    allocation += s.assignmentAllocation[a];
+                }
+            }
+            weighted += (long) allocation * length;
+            totalDays += length;
+            peak = Math.max(peak, allocation);
+            if (allocation > FULL_ALLOCATION) {
+                overDays += length;
+                monthOver[m] = true;
+            }
+            if (allocation == 0) {
+                benchDays += length;
+            } else {
+                monthAllocated[m] = true;
+            }
+        }
+
+        for (int month = 0; month < monthCount; month++) {
+            if (!monthAllocated[month]) {
+                bench.incrementAndGet(month);
+            }
+            if (monthOver[month]) {
+                over.incrementAndGet(month);
+            }
+        }
+
+        double utilization = totalDays > 0 ? weighted / (double) totalDays / 100.0 : 0.0;
+        return new EmployeeAllocation(s.employeeIds[e], s.employeeBillable[e], utilization, peak / 100.0,
+                overDays, benchDays);
+    }
+
+    // Index of the month bucket containing the given epoch day
+    private static int monthIndexOf(int[] monthStart, int day) {
+        int pos = Arrays.binarySearch(monthStart, day);
+        return pos >= 0 ? pos : Math.max(0, -pos - 2);
+    }
+}
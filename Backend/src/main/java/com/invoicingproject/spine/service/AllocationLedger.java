@@ -0,0 +1,271 @@
+package com.invoicingproject.spine.service;
+
+import com.invoicingproject.spine.entity.EmployeeProject;
+import com.invoicingproject.spine.repository.EmployeeProjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory ledger of each employee's assignments and their summed allocation over time,
+ * used to reject assignments that would take an employee above 100% on any day.
+ *
+ * An employee's ledger is loaded from employee_projects on first use and afterwards
+ * maintained from the write paths (replace/record/evict), so checks do not hit the
+ * database. The ledger is per node; writes made by another node are picked up once
+ * the entry is evicted here.
+ *
+ * An employee edit changes the current assignments only (see planReplacement); the ones
+ * that ended before today are history, which the analytics read, and stay as they are.
+ */
+@Component
+public class AllocationLedger {
+
+    public static final int FULL_ALLOCATION = 10000; // 100.00% in basis points
+
+    private final Map<Long, Entry> ledgers = new ConcurrentHashMap<>();
+
+    @Autowired
+    private EmployeeProjectRepository employeeProjectRepository;
+
+    /**
+     * Check whether assignments added on top of the employee's existing ones would push
+     * the employee above 100%.
+     *
+     * @param employeeId employee being assigned, or null for a new employee
+     * @param proposed   assignments about to be written
+     */
+    public boolean wouldOverAllocate(Long employeeId, List<EmployeeProject> proposed) {
+        AllocationTimeline timeline = employeeId == null ? new AllocationTimeline()
+                : entryFor(employeeId).timeline.copy();
+        for (EmployeeProject ep : proposed) {
+            timeline.add(ep);
+        }
+        return timeline.peak() > FULL_ALLOCATION;
+    }
+
+    /**
+     * Work out how an edit's project list changes the employee's stored assignments:
+     * a current assignment to a requested project is updated in place (keeping its start
+     * date), a current assignment left out is ended yesterday (or deleted if it had not
+     * started), and a requested project with no current assignment gets a new row with
+     * the requested row's start date. Ended assignments are kept unchanged. Nothing is
+     * written; the caller applies the plan and then records it with replace.
+     */
+    public Replacement planReplacement(Long employeeId, List<EmployeeProject> requested, LocalDate today) {
+        Map<Long, EmployeeProject> wanted = new LinkedHashMap<>();
+        for (EmployeeProject ep : requested) {
+            wanted.putIfAbsent(ep.getProjectId(), ep);
+        }
+        Date yesterday = Date.valueOf(today.minusDays(1));
+        Replacement replacement = new Replacement();
+        for (EmployeeProject stored : entryFor(employeeId).assignments) {
+            if (hasEnded(stored, today)) {
+                replacement.result.add(stored);
+                continue;
+            }
+            EmployeeProject match = wanted.remove(stored.getProjectId());
+            if (match != null) {
+                EmployeeProject updated = copyOf(stored);
+                updated.setAllocationPercentage(match.getAllocationPercentage());
+                updated.setIsPrimary(match.getIsPrimary());
+                replacement.updates.add(updated);
+                replacement.result.add(updated);
+            } else if (stored.getStartDate() == null || stored.getStartDate().toLocalDate().isBefore(today)) {
+                EmployeeProject ended = copyOf(stored);
+                ended.setEndDate(yesterday);
+                replacement.updates.add(ended);
+                replacement.result.add(ended);
+            } else {
+                replacement.deletes.add(stored);
+            }
+        }
+        replacement.inserts.addAll(wanted.values());
+        replacement.result.addAll(wanted.values());
+
+        AllocationTimeline timeline = new AllocationTimeline();
+        for (EmployeeProject ep : replacement.result) {
+            timeline.add(ep);
+        }
+        replacement.overAllocated = timeline.peak() > FULL_ALLOCATION;
+        return replacement;
+    }
+
+    public static boolean hasEnded(EmployeeProject ep, LocalDate today) {
+        return ep.getEndDate() != null && ep.getEndDate().toLocalDate().isBefore(today);
+    }
+
+    // Peak allocation (in percent) currently recorded for the employee
+    public BigDecimal peakAllocation(Long employeeId) {
+        return BigDecimal.valueOf(entryFor(employeeId).timeline.peak(), 2);
+    }
+
+    // Record the full set of assignments the employee has after a write
+    public void replace(Long employeeId, List<EmployeeProject> assignments) {
+        ledgers.put(employeeId, new Entry(assignments));
+    }
+
+    // Record one assignment added on top of the existing ones
+    public void record(EmployeeProject assignment) {
+        ledgers.computeIfPresent(assignment.getEmployeeId(), (id, entry) -> {
+            List<EmployeeProject> assignments = new ArrayList<>(entry.assignments);
+            assignments.add(assignment);
+            return new Entry(assignments);
+        });
+    }
+
+    public void evict(Long employeeId) {
+        ledgers.remove(employeeId);
+    }
+
+    // Used when a bulk change (e.g. project delete cascading to employee_projects) touches unknown employees
+    public void evictAll() {
+        ledgers.clear();
+    }
+
+    private Entry entryFor(Long employeeId) {
+        Entry entry = ledgers.get(employeeId);
+        if (entry != null) {
+            return entry;
+        }
+        // Load outside the map so the query does not run while holding a map bin lock
+        Entry loaded = new Entry(employeeProjectRepository.findByEmployeeId(employeeId));
+        Entry existing = ledgers.putIfAbsent(employeeId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    // Ledger rows are shared between threads, so a planned change edits a copy
+    private static EmployeeProject copyOf(EmployeeProject ep) {
+        EmployeeProject copy = new EmployeeProject();
+        copy.setId(ep.getId());
+        copy.setEmployeeId(ep.getEmployeeId());
+        copy.setProjectId(ep.getProjectId());
+        copy.setAllocationPercentage(ep.getAllocationPercentage());
+        copy.setStartDate(ep.getStartDate());
+        copy.setEndDate(ep.getEndDate());
+        copy.setIsPrimary(ep.getIsPrimary());
+        return copy;
+    }
+
+    /**
+     * The row changes an employee edit makes, and the assignments the employee has
+     * afterwards. Updated and deleted rows are identified by employee, project and start
+     * date, which is unique; rows inserted by this node carry no id.
+     */
+    public static final class Replacement {
+        private final List<EmployeeProject> inserts = new ArrayList<>();
+        private final List<EmployeeProject> updates = new ArrayList<>();
+        private final List<EmployeeProject> deletes = new ArrayList<>();
+        private final List<EmployeeProject> result = new ArrayList<>();
+        private boolean overAllocated;
+
+        public List<EmployeeProject> getInserts() {
+            return inserts;
+        }
+
+        public List<EmployeeProject> getUpdates() {
+            return updates;
+        }
+
+        public List<EmployeeProject> getDeletes() {
+            return deletes;
+        }
+
+        public List<EmployeeProject> getResult() {
+            return result;
+        }
+
+        public boolean isOverAllocated() {
+            return overAllocated;
+        }
+    }
+
+    // An employee's assignments with their summed timeline; never mutated once published
+    private static final class Entry {
+        private final List<EmployeeProject> assignments;
+        private final AllocationTimeline timeline = new AllocationTimeline();
+
+        Entry(List<EmployeeProject> assignments) {
+            this.assignments = List.copyOf(assignments);
+            for (EmployeeProject ep : this.assignments) {
+                timeline.add(ep);
+            }
+        }
+    }
+
+    /**
+     * Step function of summed allocation over epoch days: each key is the first day of a
+     * segment and maps to the total allocation (basis points) from that day until the next
+     * key. Adding a date range splits at its boundaries and adds to the covered segments,
+     * so the map stays O(assignments) in size and peak lookups are a scan of its values.
+     * Instances are only mutated before being published to the ledger map.
+     */
+    static final class AllocationTimeline {
+
+        private final NavigableMap<Integer, Integer> steps;
+
+        AllocationTimeline() {
+            this.steps = new TreeMap<>();
+            steps.put(Integer.MIN_VALUE, 0);
+        }
+
+        private AllocationTimeline(NavigableMap<Integer, Integer> steps) {
+            this.steps = new TreeMap<>(steps);
+        }
+
+        AllocationTimeline copy() {
+            return new AllocationTimeline(steps);
+        }
+
+        void add(EmployeeProject ep) {
+            int basisPoints = ep.getAllocationPercentage() != null
+                    ? ep.getAllocationPercentage().movePointRight(2).intValue()
+                    : FULL_ALLOCATION;
+            int start = ep.getStartDate() != null
+                    ? (int) ep.getStartDate().toLocalDate().toEpochDay()
+                    : Integer.MIN_VALUE;
+            int end = ep.getEndDate() != null
+                    ? (int) ep.getEndDate().toLocalDate().toEpochDay()
+                    : Integer.MAX_VALUE;
+            add(start, end, basisPoints);
+        }
+
+        void add(int start, int end, int basisPoints) {
+            if (start > end || basisPoints == 0) {
+                return;
+            }
+            split(start);
+            if (end != Integer.MAX_VALUE) {
+                split(end + 1);
+            }
+            NavigableMap<Integer, Integer> covered = end == Integer.MAX_VALUE
+                    ? steps.tailMap(start, true)
+                    : steps.subMap(start, true, end, true);
+            covered.replaceAll((day, total) -> total + basisPoints);
+        }
+
+        int peak() {
+            int peak = 0;
+            for (int total : steps.values()) {
+                peak = Math.max(peak, total);
+            }
+            return peak;
+        }
+
+        private void split(int day) {
+            if (!steps.containsKey(day)) {
+                steps.put(day, steps.floorEntry(day).getValue());
+            }
+        }
+    }
+}
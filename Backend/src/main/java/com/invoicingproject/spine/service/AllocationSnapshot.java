@@ -0,0 +1,179 @@
+package com.invoicingproject.spine.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Column-oriented, read-only copy of employees.billable_status and employee_projects,
+ * held in primitive arrays so the analytics pass does no boxing or entity allocation.
+ *
+ * Allocations are stored in basis points (100.00% = 10000) and dates as epoch days,
+ * with open-ended start/end dates mapped to Integer.MIN_VALUE / Integer.MAX_VALUE.
+ * Assignments are indexed twice (by employee and by project) in CSR form: the
+ * assignments of employee e are employeeAssignments[employeeOffsets[e] .. employeeOffsets[e + 1]).
+ */
+public final class AllocationSnapshot {
+
+    public static final int OPEN_START = Integer.MIN_VALUE;
+    public static final int OPEN_END = Integer.MAX_VALUE;
+
+    final long[] employeeIds; // sorted ascending
+    final boolean[] employeeBillable;
+    final long[] projectIds; // sorted ascending
+
+    final int[] assignmentEmployee; // index into employeeIds
+    final int[] assignmentProject; // index into projectIds
+    final int[] assignmentAllocation; // basis points
+    final int[] assignmentStart; // epoch day, inclusive
+    final int[] assignmentEnd; // epoch day, inclusive
+    final boolean[] assignmentPrimary;
+
+    final int[] employeeOffsets;
+    final int[] employeeAssignments;
+    final int[] projectOffsets;
+    final int[] projectAssignments;
+
+    private AllocationSnapshot(Builder b) {
+        this.employeeIds = Arrays.copyOf(b.employeeIds, b.employeeCount);
+        this.employeeBillable = Arrays.copyOf(b.employeeBillable, b.employeeCount);
+
+        int n = b.assignmentCount;
+        this.assignmentEmployee = Arrays.copyOf(b.assignmentEmployee, n);
+        this.assignmentAllocation = Arrays.copyOf(b.assignmentAllocation, n);
+        this.assignmentStart = Arrays.copyOf(b.assignmentStart, n);
+        this.assignmentEnd = Arrays.copyOf(b.assignmentEnd, n);
+        this.assignmentPrimary = Arrays.copyOf(b.assignmentPrimary, n);
+
+        // Dense project index over the distinct project ids that have assignments
+        long[] distinct = Arrays.copyOf(b.assignmentProjectId, n);
+        Arrays.sort(distinct);
+        int unique = 0;
+        for (int i = 0; i < n; i++) {
+            if (unique == 0 || distinct[unique - 1] != distinct[i]) {
+                distinct[unique++] = distinct[i];
+            }
+        }
+        this.projectIds = Arrays.copyOf(distinct, unique);
+        this.assignmentProject = new int[n];
+        for (int i = 0; i < n; i++) {
+            assignmentProject[i] = Arrays.binarySearch(projectIds, b.assignmentProjectId[i]);
+        }
+
+        this.employeeOffsets = new int[employeeIds.length + 1];
+        this.employeeAssignments = new int[n];
+        groupBy(assignmentEmployee, employeeOffsets, employeeAssignments);
+
+        this.projectOffsets = new int[projectIds.length + 1];
+        this.projectAssignments = new int[n];
+        groupBy(assignmentProject, projectOffsets, projectAssignments);
+    }
+
+    // Counting sort of assignment indexes by key into CSR offsets/members
+    private static void groupBy(int[] keys, int[] offsets, int[] members) {
+        for (int key : keys) {
+            offsets[key + 1]++;
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+        int[] next = Arrays.copyOf(offsets, offsets.length - 1);
+        for (int i = 0; i < keys.length; i++) {
+            members[next[keys[i]]++] = i;
+        }
+    }
+
+    public int getEmployeeCount() {
+        return employeeIds.length;
+    }
+
+    public int getProjectCount() {
+        return projectIds.length;
+    }
+
+    public int getAssignmentCount() {
+        return assignmentEmployee.length;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Accumulates rows into growable primitive arrays. Employees must be added in
+     * ascending id order before any assignment that references them; assignments for
+     * unknown employees are ignored.
+     */
+    public static final class Builder {
+
+        private long[] employeeIds = new long[1024];
+        private boolean[] employeeBillable = new boolean[1024];
+        private int employeeCount;
+
+        private int[] assignmentEmployee = new int[1024];
+        private long[] assignmentProjectId = new long[1024];
+        private int[] assignmentAllocation = new int[1024];
+        private int[] assignmentStart = new int[1024];
+        private int[] assignmentEnd = new int[1024];
+        private boolean[] assignmentPrimary = new boolean[1024];
+        private int assignmentCount;
+
+        private Builder() {
+        }
+
+        public Builder addEmployee(long employeeId, boolean billable) {
+            if (employeeCount > 0 && employeeIds[employeeCount - 1] >= employeeId) {
+                throw new IllegalArgumentException("Employees must be added in ascending id order");
+            }
+            if (employeeCount == employeeIds.length) {
+                int size = employeeCount * 2;
+                employeeIds = Arrays.copyOf(employeeIds, size);
+                employeeBillable = Arrays.copyOf(employeeBillable, size);
+            }
+            employeeIds[employeeCount] = employeeId;
+            employeeBillable[employeeCount] = billable;
+            employeeCount++;
+            return this;
+        }
+
+        public Builder addAssignment(long employeeId, long projectId, BigDecimal allocationPercentage,
+                LocalDate startDate, LocalDate endDate, boolean primary) {
+            int basisPoints = allocationPercentage != null
+                    ? allocationPercentage.movePointRight(2).intValue()
+                    : 10000;
+            return addAssignment(employeeId, projectId, basisPoints,
+                    startDate != null ? (int) startDate.toEpochDay() : OPEN_START,
+                    endDate != null ? (int) endDate.toEpochDay() : OPEN_END,
+                    primary);
+        }
+
+        public Builder addAssignment(long employeeId, long projectId, int allocationBasisPoints,
+                int startEpochDay, int endEpochDay, boolean primary) {
+            int employeeIndex = Arrays.binarySearch(employeeIds, 0, employeeCount, employeeId);
+            if (employeeIndex < 0) {
+                return this;
+            }
+            if (assignmentCount == assignmentEmployee.length) {
+                int size = assignmentCount * 2;
+                assignmentEmployee = Arrays.copyOf(assignmentEmployee, size);
+                assignmentProjectId = Arrays.copyOf(assignmentProjectId, size);
+                assignmentAllocation = Arrays.copyOf(assignmentAllocation, size);
+                assignmentStart = Arrays.copyOf(assignmentStart, size);
+                assignmentEnd = Arrays.copyOf(assignmentEnd, size);
+                assignmentPrimary = Arrays.copyOf(assignmentPrimary, size);
+            }
+            assignmentEmployee[assignmentCount] = employeeIndex;
+            assignmentProjectId[assignmentCount] = projectId;
+            assignmentAllocation[assignmentCount] = allocationBasisPoints;
+            assignmentStart[assignmentCount] = startEpochDay;
+            assignmentEnd[assignmentCount] = endEpochDay;
+            assignmentPrimary[assignmentCount] = primary;
+            assignmentCount++;
+            return this;
+        }
+
+        public AllocationSnapshot build() {
+            return new AllocationSnapshot(this);
+        }
+    }
+}
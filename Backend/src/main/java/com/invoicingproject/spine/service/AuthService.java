@@ -2,18 +2,34 @@ package com.invoicingproject.spine.service;
 
 import com.invoicingproject.spine.entity.User;
 import com.invoicingproject.spine.repository.UserRepository;
+import com.invoicingproject.spine.security.AuthenticatedUser;
+import com.invoicingproject.spine.security.PermissionPolicy;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Registration, login and account maintenance.
+ *
+ * Deliberately not @Transactional: a transaction pins a pooled connection from its first
+ * statement to commit, and these flows spend most of their time in BCrypt (~100 ms per
+ * hash). Lookups run as single auto-committed statements, hashing happens with no
+ * connection held, and the few multi-statement writes run in a short TransactionTemplate
+ * block after the hash is ready.
+ */
 @Service
-@Transactional
 public class AuthService {
 
     @Autowired
@@ -25,6 +41,18 @@ public class AuthService {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private RefreshTokenStore refreshTokenStore;
+
+    @Autowired
+    private PermissionService permissionService;
+
+    @Autowired
+    private PermissionPolicy permissionPolicy;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     // Constants for valid departments
     public static final String FINANCE_DEPARTMENT = "Finance";
     public static final String OPERATIONS_DEPARTMENT = "Operations";
@@ -100,25 +128,15 @@ public class AuthService {
             role = USER_ROLE; // Default to USER role
         }
 
-        // Check if username already exists
-        if (userRepository.existsByUsername(username)) {
-            response.put("success", false);
-            response.put("message", "Username already exists");
-            return response;
-        }
-
-        // Check if email already exists
-        if (userRepository.existsByEmail(email)) {
-            response.put("success", false);
-            response.put("message", "Email already exists");
-            return response;
+        if (employeeNumber != null && employeeNumber.trim().isEmpty()) {
+            employeeNumber = null;
         }
 
-        // Check if employee number already exists (if provided)
-        if (employeeNumber != null && !employeeNumber.trim().isEmpty() &&
-                userRepository.existsByEmployeeNumber(employeeNumber)) {
+        // One probe for all three unique keys so the common collision case skips password hashing
+        Set<String> conflicts = userRepository.findConflictingKeys(username, email, employeeNumber);
+        if (!conflicts.isEmpty()) {
             response.put("success", false);
-            response.put("message", "Employee number already exists");
+            response.put("message", conflictMessage(conflicts.iterator().next()));
             return response;
         }
 
@@ -126,16 +144,25 @@ public class AuthService {
             // Encode password
             String encodedPassword = passwordEncoder.encode(password);
 
-            // Create new user with validated role
+            // Create new user with validated role; role_id is written by the insert itself
             User user = new User(username, encodedPassword, email, name, location,
                     department, employeeNumber, role);
 
-            // Save user
-            User savedUser = userRepository.save(user);
+            // Save user. The unique constraints are authoritative: a concurrent registration
+            // that slipped past the probe is reported here as the same conflict message.
+            User savedUser;
+            try {
+                savedUser = userRepository.save(user);
+            } catch (DuplicateKeyException e) {
+                response.put("success", false);
+                response.put("message", conflictMessage(conflictingKeyOf(e)));
+                return response;
+            }
 
             // Generate tokens
-            String accessToken = jwtService.generateToken(username, department);
-            String refreshToken = jwtService.generateRefreshToken(username);
+            String accessToken = issueAccessToken(savedUser.getId(), username, department, savedUser.getRoleId());
+            String refreshToken = issueRefreshToken(savedUser.getId(), username, department,
+                    UUID.randomUUID().toString());
 
             // Prepare response
             response.put("success", true);
@@ -225,8 +252,10 @@ public class AuthService {
             }
 
             // Generate tokens
-            String accessToken = jwtService.generateToken(user.getUsername(), user.getDepartment());
-            String refreshToken = jwtService.generateRefreshToken(user.getUsername());
+            String accessToken = issueAccessToken(user.getId(), user.getUsername(), user.getDepartment(),
+                    user.getRoleId());
+            String refreshToken = issueRefreshToken(user.getId(), user.getUsername(), user.getDepartment(),
+                    UUID.randomUUID().toString());
 
             // Get user permissions
             Map<String, Boolean> permissions = jwtService.getUserPermissions(user.getDepartment());
@@ -270,14 +299,13 @@ public class AuthService {
     /**
      * Admin: Create user with specific role
      */
-    public Map<String, Object> createUserWithRole(String adminUsername, String username, String password,
+    public Map<String, Object> createUserWithRole(AuthenticatedUser admin, String username, String password,
             String email, String name, String location,
             String department, String employeeNumber, String role) {
         Map<String, Object> response = new HashMap<>();
 
-        // Check if admin has permission
-        Optional<User> adminUserOptional = userRepository.findByUsername(adminUsername);
-        if (adminUserOptional.isEmpty() || !adminUserOptional.get().isAdmin()) {
+        // Check if admin has permission (role comes from the verified token, no lookup)
+        if (admin == null || !admin.isAdmin()) {
             response.put("success", false);
             response.put("message", "Unauthorized: Admin privileges required");
             return response;
@@ -296,23 +324,12 @@ public class AuthService {
                 employeeNumber, role);
 
         if ((Boolean) userResponse.get("success")) {
-            // Update user role
-            userRepository.updateUserRole(username, role);
-            User createdUser = userRepository.findByUsername(username).get();
-
+            // Role was already written by the insert in registerUser
             userResponse.put("message", "User created successfully with role: " + role);
 
-            Map<String, Object> userMap = new HashMap<>();
-            userMap.put("id", createdUser.getId());
-            userMap.put("username", createdUser.getUsername());
-            userMap.put("email", createdUser.getEmail());
-            userMap.put("name", createdUser.getName());
-            userMap.put("location", createdUser.getLocation());
-            userMap.put("department", createdUser.getDepartment());
-            userMap.put("employeeNumber", createdUser.getEmployeeNumber());
-            userMap.put("role", createdUser.getRole());
-            userMap.put("isAdmin", createdUser.isAdmin());
-            userResponse.put("user", userMap);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> userMap = (Map<String, Object>) userResponse.get("user");
+            userMap.put("isAdmin", ADMIN_ROLE.equalsIgnoreCase(role));
         }
 
         return userResponse;
@@ -321,12 +338,11 @@ public class AuthService {
     /**
      * Admin: Get all users
      */
-    public Map<String, Object> getAllUsers(String adminUsername) {
+    public Map<String, Object> getAllUsers(AuthenticatedUser admin) {
         Map<String, Object> response = new HashMap<>();
 
-        // Check if admin has permission
-        Optional<User> adminUserOptional = userRepository.findByUsername(adminUsername);
-        if (adminUserOptional.isEmpty() || !adminUserOptional.get().isAdmin()) {
+        // Check if admin has permission (role comes from the verified token, no lookup)
+        if (admin == null || !admin.isAdmin()) {
             response.put("success", false);
             response.put("message", "Unauthorized: Admin privileges required");
             return response;
@@ -365,12 +381,11 @@ public class AuthService {
     /**
      * Admin: Update user role
      */
-    public Map<String, Object> updateUserRole(String adminUsername, String targetUsername, String newRole) {
+    public Map<String, Object> updateUserRole(AuthenticatedUser admin, String targetUsername, String newRole) {
         Map<String, Object> response = new HashMap<>();
 
-        // Check if admin has permission
-        Optional<User> adminUserOptional = userRepository.findByUsername(adminUsername);
-        if (adminUserOptional.isEmpty() || !adminUserOptional.get().isAdmin()) {
+        // Check if admin has permission (role comes from the verified token, no lookup)
+        if (admin == null || !admin.isAdmin()) {
             response.put("success", false);
             response.put("message", "Unauthorized: Admin privileges required");
             return response;
@@ -393,8 +408,8 @@ public class AuthService {
                 return response;
             }
 
-            // Update role
-            userRepository.updateUserRole(targetUsername, newRole);
+            // Update role (role_id; the legacy role column no longer exists)
+            userRepository.updateUserRoleById(targetUserOptional.get().getId(), newRole);
 
             response.put("success", true);
             response.put("message", "User role updated successfully");
@@ -467,31 +482,56 @@ public class AuthService {
         }
 
         try {
-            // Validate refresh token
-            if (!jwtService.isRefreshToken(refreshToken) || !jwtService.validateToken(refreshToken)) {
+            // Validate signature, expiry and type in one parse
+            Claims claims;
+            try {
+                claims = jwtService.parseRefreshToken(refreshToken);
+            } catch (JwtException | IllegalArgumentException e) {
                 response.put("success", false);
                 response.put("message", "Invalid or expired refresh token");
                 return response;
             }
 
-            // Get username from token
-            String username = jwtService.getUsernameFromToken(refreshToken);
+            String jti = claims.getId();
+            String family = claims.get("fam", String.class);
+            String department = claims.get("department", String.class);
+            if (jti == null || family == null || department == null) {
+                // Issued before token rotation; the user has to log in again
+                response.put("success", false);
+                response.put("message", "Invalid or expired refresh token");
+                return response;
+            }
 
-            // Find user
-            Optional<User> userOptional = userRepository.findByUsername(username);
-            if (userOptional.isEmpty()) {
+            // Single-use: consuming the token revokes it, replaying it revokes the whole family
+            boolean replayed = refreshTokenStore.isRevoked(jti);
+            if (replayed) {
+                refreshTokenStore.revokeFamily(family);
+            }
+            if (replayed || refreshTokenStore.rotate(jti, family,
+                    claims.getExpiration()) != RefreshTokenStore.RotationResult.ROTATED) {
                 response.put("success", false);
-                response.put("message", "User not found");
+                response.put("message", "Refresh token has been revoked");
                 return response;
             }
 
-            // Generate new access token
-            String newAccessToken = jwtService.generateToken(username, userOptional.get().getDepartment());
+            // Role is re-read so role changes and deleted users take effect at the next refresh
+            String username = claims.getSubject();
+            Long userId = claims.get("userId", Long.class);
+            Optional<Long> roleId = userRepository.findRoleIdByUsername(username);
+            if (userId == null || roleId.isEmpty()) {
+                refreshTokenStore.revokeFamily(family);
+                response.put("success", false);
+                response.put("message", "User not found");
+                return response;
+            }
+            String newAccessToken = issueAccessToken(userId, username, department, roleId.get());
+            String newRefreshToken = issueRefreshToken(userId, username, department, family);
 
             // Prepare response
             response.put("success", true);
             response.put("message", "Token refreshed successfully");
             response.put("accessToken", newAccessToken);
+            response.put("refreshToken", newRefreshToken);
             response.put("tokenType", "Bearer");
 
         } catch (Exception e) {
@@ -502,6 +542,52 @@ public class AuthService {
         return response;
     }
 
+    /**
+     * Logout: revoke the presented refresh token's family so none of its rotations can be used
+     */
+    public Map<String, Object> logout(String refreshToken) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            Claims claims = jwtService.parseRefreshToken(refreshToken);
+            String family = claims.get("fam", String.class);
+            if (family != null) {
+                refreshTokenStore.revokeFamily(family);
+            }
+            response.put("success", true);
+            response.put("message", "Logged out");
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid or expired tokens are already unusable
+            response.put("success", true);
+            response.put("message", "Logged out");
+        }
+
+        return response;
+    }
+
+    /**
+     * Issue an access token carrying the role and its permissions, so requests are
+     * authorized from the token alone. The permissions come from the compiled policy;
+     * the database is only read before the policy has loaded.
+     */
+    private String issueAccessToken(Long userId, String username, String department, Long roleId) {
+        Set<String> permissions = permissionPolicy.isLoaded()
+                ? permissionPolicy.permissionNamesFor(roleId)
+                : permissionService.getPermissionNamesByRoleId(roleId);
+        return jwtService.generateToken(userId, username, department, roleId,
+                UserRepository.roleNameForId(roleId), permissions);
+    }
+
+    /**
+     * Issue a refresh token in the given family and record it in the store
+     */
+    private String issueRefreshToken(Long userId, String username, String department, String family) {
+        String jti = UUID.randomUUID().toString();
+        Date expiresAt = jwtService.newRefreshTokenExpiry();
+        refreshTokenStore.register(jti, family, username, expiresAt);
+        return jwtService.generateRefreshToken(userId, username, department, jti, family, expiresAt);
+    }
+
     /**
      * Change user password
      */
@@ -557,11 +643,24 @@ public class AuthService {
                 return response;
             }
 
-            // Encode new password
+            // Encode new password (no connection held)
             String encodedNewPassword = passwordEncoder.encode(newPassword);
 
-            // Update password using JPQL to avoid overwriting other fields
-            userRepository.updateUserPassword(username, encodedNewPassword);
+            // Short write transaction: swap the hash only if it is still the one verified above,
+            // and revoke sessions started with the old password so they can no longer refresh
+            boolean changed = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (!userRepository.updateUserPasswordIfUnchanged(username, user.getPassword(),
+                        encodedNewPassword)) {
+                    return false;
+                }
+                refreshTokenStore.revokeAllForUser(username);
+                return true;
+            }));
+            if (!changed) {
+                response.put("success", false);
+                response.put("message", "Password was changed by another request; please try again");
+                return response;
+            }
 
             response.put("success", true);
             response.put("message", "Password changed successfully");
@@ -637,6 +736,48 @@ public class AuthService {
         return response;
     }
 
+    /**
+     * User-facing message for a unique key collision on the users table
+     */
+    static String conflictMessage(String key) {
+        if (key == null) {
+            return "Username, email or employee number already exists";
+        }
+        switch (key) {
+            case "username":
+                return "Username already exists";
+            case "email":
+                return "Email already exists";
+            case "employee_number":
+                return "Employee number already exists";
+            default:
+                return "Username, email or employee number already exists";
+        }
+    }
+
+    /**
+     * Column behind a MySQL duplicate-key error ("Duplicate entry 'x' for key 'users.email'"),
+     * or null when the key name can't be matched
+     */
+    static String conflictingKeyOf(DuplicateKeyException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        if (message == null) {
+            return null;
+        }
+        int keyAt = message.lastIndexOf("for key '");
+        String keyName = keyAt >= 0 ? message.substring(keyAt).toLowerCase() : "";
+        if (keyName.contains("employee_number")) {
+            return "employee_number";
+        }
+        if (keyName.contains("username")) {
+            return "username";
+        }
+        if (keyName.contains("email")) {
+            return "email";
+        }
+        return null;
+    }
+
     /**
      * Validate if department is valid
      */
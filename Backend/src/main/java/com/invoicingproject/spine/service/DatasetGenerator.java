@@ -0,0 +1,586 @@
+package com.invoicingproject.spine.service;
+
+import com.invoicingproject.spine.entity.Employee;
+import com.invoicingproject.spine.repository.UserCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates production-sized synthetic data for load tests and query-plan work. Only
+ * available under the "dev" profile.
+ *
+ * Every generated row carries a GEN- prefix in its business key (project_code, emp_id,
+ * username, invoice_number), so purge() removes exactly what was generated. Rows are
+ * written as multi-row INSERTs of up to 1000 rows, one statement per chunk.
+ *
+ * The distributions are skewed like the live data:
+ * - a few large accounts take most assignments and invoices;
+ * - most employees are on one or two projects;
+ * - hiring is weighted towards recent years;
+ * - most users hold the USER role.
+ * The same seed produces the same dataset.
+ */
+@Service
+@Profile("dev")
+public class DatasetGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    static final String PROJECT_PREFIX = "GEN-P";
+    static final String EMPLOYEE_PREFIX = "GEN-E";
+    static final String USER_PREFIX = "GEN-U";
+    static final String INVOICE_PREFIX = "GEN-INV-";
+
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+    private static final int MAX_PARAMETERS_PER_STATEMENT = 60000; // MySQL's limit is 65535
+    private static final int PAGE_SIZE = 5000;
+    private static final int MAX_PROJECTS_PER_EMPLOYEE = 5;
+
+    private static final String[] CATEGORIES = { "Infrastructure", "Development", "Research", "Operations", "Training" };
+    private static final String[] AGENCIES = { "Apex Staffing", "BlueLine Partners", "Crescent Talent", "Delta Workforce",
+            "Everest Consulting", "Fusion Resources", "Granite HR", "Horizon Staffing", "Ivy Associates",
+            "Juniper Labs", "Keystone Services", "Lumen Contractors" };
+    private static final String[] EMPLOYEE_ROLES = { "Developer", "Senior Developer", "QA Engineer", "Business Analyst",
+            "Team Lead", "Project Manager", "Trainee" };
+    private static final String[] BILLING_TYPES = { "Monthly", "Hourly", "Quarterly", "Yearly" };
+    private static final String[] DEPARTMENTS = { "Operations", "Finance", "Trace Sheets" };
+    private static final String[] LOCATIONS = { "Remote", "New York", "Chicago", "Boston", "Los Angeles", "Pune" };
+    private static final String[] PROCESSES = { "Billing", "Collections", "Coding", "Claims", "Audit", "Support" };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AllocationLedger allocationLedger;
+
+    @Autowired
+    private UserCache userCache;
+
+    /**
+     * Generate a dataset. Fails if generated rows already exist; purge them first.
+     *
+     * @return rows inserted per table
+     */
+    public Result generate(Spec spec) {
+        spec.validate();
+        if (countGenerated() > 0) {
+            throw new IllegalStateException("Generated data already present; purge it before generating again");
+        }
+        long begin = System.nanoTime();
+        Random random = new Random(spec.getSeed());
+        LocalDate today = LocalDate.now();
+        Result result = new Result();
+
+        long[] categoryIds = ensureCategories();
+        Plan plan = plan(spec, random, today);
+        long[] projectIds = insertProjects(plan, categoryIds, random, today, result);
+        long[] employeeIds = insertEmployees(plan, random, today, result);
+        insertAssignments(plan, employeeIds, projectIds, result);
+        long[] financeUserIds = insertUsers(spec, random, result);
+        insertInvoices(spec, plan, employeeIds, projectIds, financeUserIds, random, today, result);
+        if (spec.getItemsPerInvoice() > 0) {
+            if (tableExists("invoice_items")) {
+                insertInvoiceItems(spec, random, result);
+            } else {
+                logger.warn("invoice_items table not found; skipping invoice items");
+            }
+        }
+
+        result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+        logger.info("Generated dataset in {} ms: {}", result.getElapsedMillis(), result.getRows());
+        return result;
+    }
+
+    /**
+     * Delete every generated row, in pages so no statement holds locks for long.
+     *
+     * @return rows deleted per table
+     */
+    public Result purge() {
+        long begin = System.nanoTime();
+        Result result = new Result();
+        boolean hasItems = tableExists("invoice_items");
+        long lastId = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM invoices WHERE id > ? AND invoice_number LIKE '"
+                    + INVOICE_PREFIX + "%' ORDER BY id LIMIT " + PAGE_SIZE, Long.class, lastId);
+            if (ids.isEmpty()) {
+                break;
+            }
+            String in = placeholders(ids.size());
+            if (hasItems) {
+                result.add("invoice_items", jdbcTemplate.update(
+                        "DELETE FROM invoice_items WHERE invoice_id IN " + in, ids.toArray()));
+            }
+            result.add("invoices", jdbcTemplate.update("DELETE FROM invoices WHERE id IN " + in, ids.toArray()));
+            lastId = ids.get(ids.size() - 1);
+        }
+        result.add("employee_projects", deleteInPages("DELETE FROM employee_projects WHERE employee_id IN "
+                + "(SELECT id FROM employees WHERE emp_id LIKE '" + EMPLOYEE_PREFIX + "%')"));
+        result.add("employees", deleteInPages("DELETE FROM employees WHERE emp_id LIKE '" + EMPLOYEE_PREFIX + "%'"));
+        result.add("projects", deleteInPages("DELETE FROM projects WHERE project_code LIKE '" + PROJECT_PREFIX + "%'"));
+        if (tableExists("refresh_tokens")) {
+            result.add("refresh_tokens",
+                    deleteInPages("DELETE FROM refresh_tokens WHERE username LIKE '" + USER_PREFIX + "%'"));
+        }
+        result.add("users", deleteInPages("DELETE FROM users WHERE username LIKE '" + USER_PREFIX + "%'"));
+
+        // Generated employees and users may have been loaded into the per-node caches
+        allocationLedger.evictAll();
+        userCache.clear();
+        result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+        logger.info("Purged generated dataset in {} ms: {}", result.getElapsedMillis(), result.getRows());
+        return result;
+    }
+
+    private int countGenerated() {
+        Integer employees = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM employees WHERE emp_id LIKE '" + EMPLOYEE_PREFIX + "%'", Integer.class);
+        Integer projects = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM projects WHERE project_code LIKE '" + PROJECT_PREFIX + "%'", Integer.class);
+        Integer users = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE username LIKE '" + USER_PREFIX + "%'", Integer.class);
+        return (employees == null ? 0 : employees) + (projects == null ? 0 : projects) + (users == null ? 0 : users);
+    }
+
+    private long[] ensureCategories() {
+        for (String name : CATEGORIES) {
+            jdbcTemplate.update("INSERT INTO project_category (category_name, category_description, is_active, "
+                    + "created_at, updated_at) SELECT ?, ?, true, NOW(), NOW() FROM DUAL WHERE NOT EXISTS "
+                    + "(SELECT 1 FROM project_category WHERE category_name = ?)", name, name + " projects", name);
+        }
+        return ids("SELECT id FROM project_category ORDER BY id");
+    }
+
+    /**
+     * Decide every employee's assignments up front: the employee row carries its primary
+     * project's name, and invoices are drawn from the assignments.
+     */
+    private Plan plan(Spec spec, Random random, LocalDate today) {
+        Plan plan = new Plan(spec.getEmployees(), spec.getProjects());
+        int perEmployeeCap = Math.min(MAX_PROJECTS_PER_EMPLOYEE, spec.getProjects());
+        int[] counts = new int[spec.getEmployees()];
+        int assignments = (int) Math.min(spec.getAssignments(), (long) perEmployeeCap * spec.getEmployees());
+        for (int a = 0; a < assignments; a++) {
+            // Everyone gets one assignment first (while there are enough), the rest land randomly
+            int e = a < counts.length ? a : random.nextInt(counts.length);
+            while (counts[e] >= perEmployeeCap) {
+                e = (e + 1) % counts.length;
+            }
+            counts[e]++;
+        }
+
+        plan.assignmentStart = new int[counts.length + 1];
+        for (int e = 0; e < counts.length; e++) {
+            plan.assignmentStart[e + 1] = plan.assignmentStart[e] + counts[e];
+        }
+        plan.assignmentProject = new int[assignments];
+        plan.assignmentAllocation = new short[assignments];
+        for (int e = 0; e < counts.length; e++) {
+            int start = plan.assignmentStart[e];
+            for (int k = 0; k < counts[e]; k++) {
+                int project;
+                do {
+                    project = skewed(random, spec.getProjects());
+                } while (contains(plan.assignmentProject, start, start + k, project));
+                plan.assignmentProject[start + k] = project;
+            }
+            allocate(plan.assignmentAllocation, start, counts[e], random);
+
+            plan.employeeStart[e] = today.minusDays((long) (Math.pow(random.nextDouble(), 2) * 6 * 365));
+            plan.employeeAgency[e] = (byte) skewed(random, AGENCIES.length);
+            plan.employeeBillingType[e] = (byte) pick(random, 70, 20, 7, 3);
+        }
+        return plan;
+    }
+
+    private long[] insertProjects(Plan plan, long[] categoryIds, Random random, LocalDate today, Result result) {
+        MultiRowInsert insert = new MultiRowInsert("projects", "project_name", "project_description", "project_code",
+                "category_id", "project_type", "status", "start_date", "end_date", "budget", "location", "department",
+                "created_by", "created_at", "updated_at");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int p = 0; p < plan.projectNames.length; p++) {
+            LocalDate start = today.minusDays(random.nextInt(8 * 365));
+            String status = new String[] { "ACTIVE", "COMPLETED", "ON_HOLD" }[pick(random, 80, 12, 8)];
+            LocalDate end = "COMPLETED".equals(status) ? start.plusDays(90 + random.nextInt(720)) : null;
+            BigDecimal budget = BigDecimal.valueOf(Math.round(Math.exp(11.5 + random.nextGaussian()) * 100), 2);
+            insert.add(plan.projectNames[p], "Generated " + CATEGORIES[p % CATEGORIES.length].toLowerCase()
+                    + " engagement", PROJECT_PREFIX + String.format("%06d", p), categoryIds[p % categoryIds.length],
+                    random.nextInt(10) < 6 ? "FTE" : "Contingency", status, Date.valueOf(start),
+                    end != null ? Date.valueOf(end) : null, budget.min(new BigDecimal("9999999999999.99")),
+                    LOCATIONS[skewed(random, LOCATIONS.length)], DEPARTMENTS[skewed(random, DEPARTMENTS.length)],
+                    null, Timestamp.valueOf(start.atTime(9, 0)), now);
+        }
+        result.add("projects", insert.finish());
+        return ids("SELECT id FROM projects WHERE project_code LIKE '" + PROJECT_PREFIX + "%' ORDER BY project_code");
+    }
+
+    private long[] insertEmployees(Plan plan, Random random, LocalDate today, Result result) {
+        MultiRowInsert insert = new MultiRowInsert("employees", "emp_id", "name", "project", "agency", "project_type",
+                "employee_role", "billable_status", "billing_type", "start_date", "tenure", "tenure_days",
+                "created_at", "updated_at");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int e = 0; e < plan.employeeStart.length; e++) {
+            LocalDate start = plan.employeeStart[e];
+            boolean assigned = plan.assignmentStart[e + 1] > plan.assignmentStart[e];
+            String primaryProject = assigned ? plan.projectNames[plan.assignmentProject[plan.assignmentStart[e]]] : null;
+            insert.add(EMPLOYEE_PREFIX + String.format("%07d", e), employeeName(e), primaryProject,
+                    AGENCIES[plan.employeeAgency[e]], random.nextInt(10) < 6 ? "FTE" : "Contingency",
+                    EMPLOYEE_ROLES[pick(random, 40, 20, 12, 8, 8, 4, 8)], assigned && random.nextInt(100) < 85,
+                    BILLING_TYPES[plan.employeeBillingType[e]], Date.valueOf(start), Employee.formatTenure(start, today),
+                    (int) ChronoUnit.DAYS.between(start, today), Timestamp.valueOf(start.atTime(9, 0)), now);
+        }
+        result.add("employees", insert.finish());
+        return ids("SELECT id FROM employees WHERE emp_id LIKE '" + EMPLOYEE_PREFIX + "%' ORDER BY emp_id");
+    }
+
+    private void insertAssignments(Plan plan, long[] employeeIds, long[] projectIds, Result result) {
+        MultiRowInsert insert = new MultiRowInsert("employee_projects", "employee_id", "project_id",
+                "allocation_percentage", "start_date", "end_date", "is_primary", "created_at", "updated_at");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int e = 0; e < employeeIds.length; e++) {
+            for (int a = plan.assignmentStart[e]; a < plan.assignmentStart[e + 1]; a++) {
+                insert.add(employeeIds[e], projectIds[plan.assignmentProject[a]],
+                        BigDecimal.valueOf(plan.assignmentAllocation[a], 2), Date.valueOf(plan.employeeStart[e]), null,
+                        a == plan.assignmentStart[e], now, now);
+            }
+        }
+        result.add("employee_projects", insert.finish());
+    }
+
+    // All generated users share one password, so load tests can log in as any of them
+    private long[] insertUsers(Spec spec, Random random, Result result) {
+        Map<String, Long> roleIds = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT id, role_name FROM finance_roles ORDER BY id",
+                rs -> { roleIds.put(rs.getString("role_name"), rs.getLong("id")); });
+        List<Long> roles = new ArrayList<>(roleIds.values());
+        int[] roleWeights = new int[roles.size()];
+        List<String> names = new ArrayList<>(roleIds.keySet());
+        for (int r = 0; r < roles.size(); r++) {
+            switch (names.get(r)) {
+                case "USER" -> roleWeights[r] = 78;
+                case "FINANCE" -> roleWeights[r] = 12;
+                case "MANAGER" -> roleWeights[r] = 7;
+                case "ADMIN" -> roleWeights[r] = 1;
+                default -> roleWeights[r] = 2;
+            }
+        }
+
+        String passwordHash = passwordEncoder.encode(spec.getUserPassword());
+        MultiRowInsert insert = new MultiRowInsert("users", "username", "password", "email", "name", "location",
+                "department", "employee_number", "role_id", "created_at", "updated_at");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int u = 0; u < spec.getUsers(); u++) {
+            String username = USER_PREFIX + String.format("%06d", u);
+            Long roleId = roles.isEmpty() ? 1L : roles.get(pick(random, roleWeights));
+            insert.add(username, passwordHash, username.toLowerCase() + "@generated.example.com",
+                    "Generated User " + u, LOCATIONS[skewed(random, LOCATIONS.length)],
+                    DEPARTMENTS[pick(random, 45, 40, 15)], username, roleId, now, now);
+        }
+        result.add("users", insert.finish());
+        Long financeRole = roleIds.get("FINANCE");
+        return financeRole == null ? new long[0] : ids("SELECT id FROM users WHERE username LIKE '" + USER_PREFIX
+                + "%' AND role_id = " + financeRole + " ORDER BY id");
+    }
+
+    private void insertInvoices(Spec spec, Plan plan, long[] employeeIds, long[] projectIds, long[] financeUserIds,
+            Random random, LocalDate today, Result result) {
+        int assignments = plan.assignmentProject.length;
+        if (assignments == 0 || spec.getInvoices() == 0) {
+            result.add("invoices", 0);
+            return;
+        }
+        int[] assignmentEmployee = new int[assignments];
+        for (int e = 0; e < employeeIds.length; e++) {
+            Arrays.fill(assignmentEmployee, plan.assignmentStart[e], plan.assignmentStart[e + 1], e);
+        }
+        String[] statuses = { "PAID", "PENDING", "DRAFT", "OVERDUE" };
+        LocalDate firstMonth = today.withDayOfMonth(1);
+        MultiRowInsert insert = new MultiRowInsert("invoices", "invoice_number", "project_id", "project_name",
+                "employee_id", "employee_name", "employee_agency", "billing_type", "billing_start_date",
+                "billing_end_date", "tenure", "rate_per_fte", "number_of_ftes", "total_amount", "discount", "notes",
+                "status", "created_by", "created_at", "updated_at");
+        for (long i = 0; i < spec.getInvoices(); i++) {
+            // Assignments are already skewed towards large projects; recent months are busier
+            int a = random.nextInt(assignments);
+            int e = assignmentEmployee[a];
+            LocalDate start = firstMonth.minusMonths((long) (Math.pow(random.nextDouble(), 1.5) * 24));
+            LocalDate end = start.plusMonths(1).minusDays(1);
+            BigDecimal rate = BigDecimal.valueOf(Math.round(Math.exp(8.3 + 0.5 * random.nextGaussian()) * 100), 2);
+            BigDecimal ftes = BigDecimal.valueOf(plan.assignmentAllocation[a], 4).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal gross = rate.multiply(ftes).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal discount = random.nextInt(100) < 15
+                    ? gross.multiply(BigDecimal.valueOf(1 + random.nextInt(10), 2)).setScale(2, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO;
+            Timestamp created = Timestamp.valueOf(end.plusDays(1 + random.nextInt(5)).atTime(10, 0));
+            insert.add(INVOICE_PREFIX + String.format("%09d", i), projectIds[plan.assignmentProject[a]],
+                    plan.projectNames[plan.assignmentProject[a]], employeeIds[e], employeeName(e),
+                    AGENCIES[plan.employeeAgency[e]], BILLING_TYPES[plan.employeeBillingType[e]], Date.valueOf(start),
+                    Date.valueOf(end), (int) ChronoUnit.MONTHS.between(plan.employeeStart[e], start), rate, ftes,
+                    gross.subtract(discount), discount, null, statuses[pick(random, 55, 25, 10, 10)],
+                    financeUserIds.length == 0 ? null : financeUserIds[random.nextInt(financeUserIds.length)],
+                    created, created);
+        }
+        result.add("invoices", insert.finish());
+    }
+
+    // Items are added after the invoices exist, paging through generated invoice ids
+    private void insertInvoiceItems(Spec spec, Random random, Result result) {
+        MultiRowInsert insert = new MultiRowInsert("invoice_items", "invoice_id", "resource_name", "employee_role",
+                "agency_name", "fte", "process", "remarks", "created_at");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int maxItems = 2 * spec.getItemsPerInvoice() - 1;
+        long lastId = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM invoices WHERE id > ? AND invoice_number LIKE '"
+                    + INVOICE_PREFIX + "%' ORDER BY id LIMIT " + PAGE_SIZE, Long.class, lastId);
+            if (ids.isEmpty()) {
+                break;
+            }
+            for (Long invoiceId : ids) {
+                int items = 1 + random.nextInt(maxItems);
+                for (int k = 0; k < items; k++) {
+                    insert.add(invoiceId, "Resource " + (1 + random.nextInt(9999)),
+                            EMPLOYEE_ROLES[pick(random, 40, 20, 12, 8, 8, 4, 8)],
+                            AGENCIES[skewed(random, AGENCIES.length)],
+                            BigDecimal.valueOf(25 * (1 + random.nextInt(4)), 2),
+                            PROCESSES[skewed(random, PROCESSES.length)], null, now);
+                }
+            }
+            lastId = ids.get(ids.size() - 1);
+        }
+        result.add("invoice_items", insert.finish());
+    }
+
+    private int deleteInPages(String deleteSql) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(deleteSql + " LIMIT " + PAGE_SIZE);
+            total += deleted;
+        } while (deleted > 0);
+        return total;
+    }
+
+    private boolean tableExists(String table) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.tables "
+                + "WHERE table_schema = DATABASE() AND table_name = ?", Integer.class, table);
+        return count != null && count > 0;
+    }
+
+    private long[] ids(String sql) {
+        return jdbcTemplate.queryForList(sql, Long.class).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static String employeeName(int index) {
+        return "Generated Employee " + index;
+    }
+
+    private static String placeholders(int count) {
+        return "(" + String.join(", ", Collections.nCopies(count, "?")) + ")";
+    }
+
+    // Index in [0, size), heavily weighted towards the low end: a few large accounts, a long tail
+    static int skewed(Random random, int size) {
+        double u = random.nextDouble();
+        return (int) (u * u * u * size);
+    }
+
+    // Index chosen in proportion to the given weights
+    static int pick(Random random, int... weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int r = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            r -= weights[i];
+            if (r < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static boolean contains(int[] values, int from, int to, int value) {
+        for (int i = from; i < to; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Allocations in basis points summing to at most 100%: the primary project takes the largest share
+    private static void allocate(short[] allocations, int start, int count, Random random) {
+        if (count == 0) {
+            return;
+        }
+        if (count == 1) {
+            allocations[start] = 10000;
+            return;
+        }
+        int primary = 4000 + 1000 * random.nextInt(5);
+        allocations[start] = (short) primary;
+        int share = (10000 - primary) / (count - 1) / 100 * 100;
+        for (int k = 1; k < count; k++) {
+            allocations[start + k] = (short) share;
+        }
+    }
+
+    /**
+     * Accumulates rows and writes them as INSERT ... VALUES (...), (...), ... statements.
+     */
+    private final class MultiRowInsert {
+        private final String table;
+        private final String prefix;
+        private final String row;
+        private final int rowsPerStatement;
+        private final String fullStatement;
+        private final List<Object> args;
+        private int rows;
+        private long total;
+
+        MultiRowInsert(String table, String... columns) {
+            this.table = table;
+            this.prefix = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ";
+            this.row = placeholders(columns.length);
+            this.rowsPerStatement = Math.min(MAX_ROWS_PER_STATEMENT, MAX_PARAMETERS_PER_STATEMENT / columns.length);
+            this.fullStatement = statement(rowsPerStatement);
+            this.args = new ArrayList<>(rowsPerStatement * columns.length);
+        }
+
+        void add(Object... values) {
+            Collections.addAll(args, values);
+            if (++rows == rowsPerStatement) {
+                flush();
+            }
+        }
+
+        long finish() {
+            flush();
+            return total;
+        }
+
+        private void flush() {
+            if (rows == 0) {
+                return;
+            }
+            jdbcTemplate.update(rows == rowsPerStatement ? fullStatement : statement(rows), args.toArray());
+            total += rows;
+            if (total % 100000 < rows) {
+                logger.info("Generated {} rows into {}", total, table);
+            }
+            rows = 0;
+            args.clear();
+        }
+
+        private String statement(int rowCount) {
+            return prefix + String.join(", ", Collections.nCopies(rowCount, row));
+        }
+    }
+
+    // Per-entity attributes decided before anything is written
+    private static final class Plan {
+        private final String[] projectNames;
+        private final LocalDate[] employeeStart;
+        private final byte[] employeeAgency;
+        private final byte[] employeeBillingType;
+        private int[] assignmentStart;
+        private int[] assignmentProject;
+        private short[] assignmentAllocation;
+
+        Plan(int employees, int projects) {
+            projectNames = new String[projects];
+            for (int p = 0; p < projects; p++) {
+                projectNames[p] = "Generated Account " + p;
+            }
+            employeeStart = new LocalDate[employees];
+            employeeAgency = new byte[employees];
+            employeeBillingType = new byte[employees];
+        }
+    }
+
+    /**
+     * Volumes to generate. The defaults are the production sizes load tests should run at.
+     */
+    public static class Spec {
+        private int employees = 100_000;
+        private int projects = 10_000;
+        private int assignments = 300_000;
+        private long invoices = 2_000_000;
+        private int itemsPerInvoice = 3;
+        private int users = 5_000;
+        private long seed = 42;
+        private String userPassword = "Generated#2024";
+
+        void validate() {
+            if (employees < 0 || projects < 0 || assignments < 0 || invoices < 0 || itemsPerInvoice < 0 || users < 0) {
+                throw new IllegalArgumentException("Volumes must not be negative");
+            }
+            if (assignments > 0 && (employees == 0 || projects == 0)) {
+                throw new IllegalArgumentException("Assignments need at least one employee and one project");
+            }
+            if (userPassword == null || userPassword.length() < 8) {
+                throw new IllegalArgumentException("userPassword must be at least 8 characters");
+            }
+        }
+
+        public int getEmployees() { return employees; }
+        public void setEmployees(int employees) { this.employees = employees; }
+        public int getProjects() { return projects; }
+        public void setProjects(int projects) { this.projects = projects; }
+        public int getAssignments() { return assignments; }
+        public void setAssignments(int assignments) { this.assignments = assignments; }
+        public long getInvoices() { return invoices; }
+        public void setInvoices(long invoices) { this.invoices = invoices; }
+        public int getItemsPerInvoice() { return itemsPerInvoice; }
+        public void setItemsPerInvoice(int itemsPerInvoice) { this.itemsPerInvoice = itemsPerInvoice; }
+        public int getUsers() { return users; }
+        public void setUsers(int users) { this.users = users; }
+        public long getSeed() { return seed; }
+        public void setSeed(long seed) { this.seed = seed; }
+        public String getUserPassword() { return userPassword; }
+        public void setUserPassword(String userPassword) { this.userPassword = userPassword; }
+    }
+
+    /**
+     * Rows written (or deleted) per table, in order, and the time taken.
+     */
+    public static class Result {
+        private final Map<String, Long> rows = new LinkedHashMap<>();
+        private long elapsedMillis;
+
+        void add(String table, long count) {
+            rows.merge(table, count, Long::sum);
+        }
+
+        public Map<String, Long> getRows() { return rows; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+    }
+}
@@ -0,0 +1,63 @@
+package com.invoicingproject.spine.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command-line entry to DatasetGenerator. Volumes come from dataset.* properties; the
+ * application exits when the run finishes.
+ *
+ *   java -jar spine.jar --spring.profiles.active=dev --generate-dataset \
+ *       --dataset.employees=10000 --dataset.invoices=200000
+ *   java -jar spine.jar --spring.profiles.active=dev --purge-dataset
+ */
+@Component
+@Profile("dev")
+public class DatasetGeneratorRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGeneratorRunner.class);
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        boolean purge = args.containsOption("purge-dataset");
+        boolean generate = args.containsOption("generate-dataset");
+        if (!purge && !generate) {
+            return;
+        }
+        int exitCode = 0;
+        try {
+            if (purge) {
+                datasetGenerator.purge();
+            }
+            if (generate) {
+                DatasetGenerator.Spec spec = Binder.get(environment)
+                        .bind("dataset", DatasetGenerator.Spec.class)
+                        .orElseGet(DatasetGenerator.Spec::new);
+                datasetGenerator.generate(spec);
+            }
+        } catch (Exception e) {
+            logger.error("Dataset run failed", e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
@@ -1,14 +1,21 @@
 package com.invoicingproject.spine.service;
 
+import com.invoicingproject.spine.metrics.JwtEvent;
+import com.invoicingproject.spine.security.AuthenticatedUser;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 
 @Service
@@ -24,35 +31,62 @@ public class JwtService {
     private Long refreshTokenExpirationInMs;
     
     /**
-     * Generate JWT token with user claims
+     * Generate JWT access token carrying everything request authorization needs:
+     * user id, role and the role's permission names
      */
-    public String generateToken(String username, String department) {
+    public String generateToken(Long userId, String username, String department, Long roleId, String roleName,
+            Set<String> permissions) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("department", department);
         claims.put("roles", getUserRoles(department));
+        claims.put("userId", userId);
+        claims.put("roleId", roleId);
+        claims.put("role", roleName);
+        claims.put("perms", new ArrayList<>(permissions));
         return createToken(claims, username);
     }
     
     /**
-     * Generate refresh token
+     * Generate refresh token. jti identifies this token, family the login it was rotated from;
+     * user id and department are carried so a refresh can mint an access token without reading the user.
      */
-    public String generateRefreshToken(String username) {
+    public String generateRefreshToken(Long userId, String username, String department, String jti,
+            String family, Date expiresAt) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("type", "refresh");
-        return createToken(claims, username);
+        claims.put("userId", userId);
+        claims.put("department", department);
+        claims.put("fam", family);
+        claims.put(Claims.ID, jti);
+        return createToken(claims, username, expiresAt);
+    }
+    
+    /**
+     * Expiry for a refresh token issued now
+     */
+    public Date newRefreshTokenExpiry() {
+        return new Date(System.currentTimeMillis() + refreshTokenExpirationInMs);
     }
     
     /**
      * Create token with claims and subject
      */
     private String createToken(Map<String, Object> claims, String subject) {
-        return Jwts.builder()
+        return createToken(claims, subject, new Date(System.currentTimeMillis() + jwtExpirationInMs));
+    }
+    
+    private String createToken(Map<String, Object> claims, String subject, Date expiresAt) {
+        JwtEvent event = new JwtEvent();
+        event.begin();
+        String token = Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationInMs))
+                .setExpiration(expiresAt)
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
+        commit(event, JwtEvent.SIGN, true);
+        return token;
     }
     
     /**
@@ -101,15 +135,77 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
     
+    /**
+     * Verify and parse a refresh token in one pass.
+     *
+     * @throws JwtException if the signature is invalid, the token has expired or is not a refresh token
+     */
+    public Claims parseRefreshToken(String token) {
+        Claims claims = getAllClaimsFromToken(token);
+        if (!"refresh".equals(claims.get("type"))) {
+            throw new JwtException("Not a refresh token");
+        }
+        return claims;
+    }
+    
+    /**
+     * Verify an access token and build the request principal from its claims.
+     *
+     * @return the principal, or null for tokens issued before role claims were added
+     * @throws JwtException if the signature is invalid, the token has expired or is a refresh token
+     */
+    public AuthenticatedUser parseAccessToken(String token) {
+        Claims claims = getAllClaimsFromToken(token);
+        if ("refresh".equals(claims.get("type"))) {
+            throw new JwtException("Refresh token used as access token");
+        }
+        Number userId = claims.get("userId", Number.class);
+        Number roleId = claims.get("roleId", Number.class);
+        String roleName = claims.get("role", String.class);
+        if (userId == null || roleId == null || roleName == null) {
+            return null;
+        }
+        List<?> perms = claims.get("perms", List.class);
+        Set<String> permissions = new HashSet<>();
+        if (perms != null) {
+            for (Object perm : perms) {
+                permissions.add(String.valueOf(perm));
+            }
+        }
+        return new AuthenticatedUser(userId.longValue(), claims.getSubject(), claims.get("department", String.class),
+                roleId.longValue(), roleName, Collections.unmodifiableSet(permissions));
+    }
+    
     /**
      * Get all claims from token
      */
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        JwtEvent event = new JwtEvent();
+        event.begin();
+        boolean succeeded = false;
+        try {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey())
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+            succeeded = true;
+            return claims;
+        } finally {
+            commit(event, JwtEvent.PARSE, succeeded);
+        }
+    }
+    
+    /**
+     * Record a sign/parse as a spine.Jwt flight recorder event if it crossed the threshold
+     */
+    private static void commit(JwtEvent event, String operation, boolean succeeded) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.succeeded = succeeded;
+            event.commit();
+        }
     }
     
     /**
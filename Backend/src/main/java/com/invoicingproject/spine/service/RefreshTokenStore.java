@@ -0,0 +1,139 @@
+package com.invoicingproject.spine.service;
+
+import com.invoicingproject.spine.entity.RefreshToken;
+import com.invoicingproject.spine.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issued refresh tokens (jti -> family, expiry) and their revocations.
+ *
+ * Revoked jtis are kept in memory as a Bloom filter in front of an exact map, so the
+ * check on every refresh is a few bit probes and, only on a filter hit, a hash lookup.
+ * The refresh_tokens table is the durable copy: revocations are written through and the
+ * in-memory state is reloaded from it on startup. Rotation also does a conditional
+ * UPDATE, so a token rotated on another node is still refused here.
+ */
+@Service
+public class RefreshTokenStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenStore.class);
+
+    public enum RotationResult {
+        // Token was live and is now revoked; issue its successor
+        ROTATED,
+        // Token had already been rotated or revoked; its family is now revoked
+        REUSED
+    }
+
+    @Value("${jwt.refresh.revocation.expected:100000}")
+    private int expectedRevocations;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    // jti -> expiry (epoch millis); entries are dropped once the token could no longer be presented
+    private final Map<String, Long> revokedJtis = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter revokedFilter = new BloomFilter(1, 0.01);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            revokedFilter = new BloomFilter(expectedRevocations, 0.01);
+            refreshTokenRepository.forEachRevokedUnexpired(rs -> {
+                markRevoked(rs.getString("jti"), rs.getTimestamp("expires_at").getTime());
+            });
+            logger.info("Loaded {} revoked refresh tokens", revokedJtis.size());
+        } catch (Exception e) {
+            logger.error("Error loading revoked refresh tokens", e);
+        }
+    }
+
+    // Record a freshly issued token
+    public void register(String jti, String familyId, String username, Date expiresAt) {
+        refreshTokenRepository.save(new RefreshToken(jti, familyId, username,
+                LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault())));
+    }
+
+    public boolean isRevoked(String jti) {
+        return revokedFilter.mightContain(jti) && revokedJtis.containsKey(jti);
+    }
+
+    /**
+     * Consume a refresh token. Exactly one caller can rotate a given jti; presenting it
+     * again (a replay, or the legitimate client after theft) revokes the whole family.
+     */
+    public RotationResult rotate(String jti, String familyId, Date expiresAt) {
+        if (revokedJtis.putIfAbsent(jti, expiresAt.getTime()) != null) {
+            logger.warn("Refresh token {} reused; revoking family {}", jti, familyId);
+            revokeFamily(familyId);
+            return RotationResult.REUSED;
+        }
+        revokedFilter.put(jti);
+        if (!refreshTokenRepository.revoke(jti)) {
+            // Already revoked by another node, or never issued by this store
+            logger.warn("Refresh token {} not live in store; revoking family {}", jti, familyId);
+            revokeFamily(familyId);
+            return RotationResult.REUSED;
+        }
+        return RotationResult.ROTATED;
+    }
+
+    public void revokeFamily(String familyId) {
+        for (RefreshToken token : refreshTokenRepository.revokeFamily(familyId)) {
+            markRevoked(token.getJti(), toEpochMillis(token.getExpiresAt()));
+        }
+    }
+
+    // Used on logout everywhere / password change
+    public void revokeAllForUser(String username) {
+        for (RefreshToken token : refreshTokenRepository.revokeAllForUser(username)) {
+            markRevoked(token.getJti(), toEpochMillis(token.getExpiresAt()));
+        }
+    }
+
+    /**
+     * Drop expired entries and rebuild the filter, which can't delete, so its
+     * false-positive rate stays near the configured one.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh.revocation.purge-ms:3600000}", initialDelay = 3600000)
+    public void purgeExpired() {
+        try {
+            long now = System.currentTimeMillis();
+            revokedJtis.values().removeIf(expiry -> expiry <= now);
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revokedJtis.size() * 2), 0.01);
+            revokedJtis.keySet().forEach(rebuilt::put);
+            revokedFilter = rebuilt;
+            // Second pass catches revocations that landed in the old filter during the rebuild
+            revokedJtis.keySet().forEach(rebuilt::put);
+            int deleted = refreshTokenRepository.deleteExpired();
+            logger.debug("Purged expired refresh tokens: {} rows deleted, {} revocations held", deleted,
+                    revokedJtis.size());
+        } catch (Exception e) {
+            logger.error("Error purging expired refresh tokens", e);
+        }
+    }
+
+    private void markRevoked(String jti, long expiresAtMillis) {
+        // Map first, then filter: a filter hit always finds the exact entry
+        revokedJtis.merge(jti, expiresAtMillis, Math::min);
+        revokedFilter.put(jti);
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,42 @@
+package com.invoicingproject.spine.service;
+
+import com.invoicingproject.spine.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps employees.tenure and employees.tenure_days current. Tenure changes once a day,
+ * so it is refreshed in one set-based UPDATE at startup and shortly after midnight
+ * rather than recomputed on every read.
+ */
+@Service
+public class TenureMaterializationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenureMaterializationService.class);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        refresh();
+    }
+
+    @Scheduled(cron = "${tenure.materialize.cron:0 5 0 * * *}")
+    public void refresh() {
+        try {
+            long started = System.nanoTime();
+            int updated = employeeRepository.materializeTenure();
+            logger.info("Materialized tenure for {} employees in {} ms", updated,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            // Stored values stay as of the last run; Employee.getTenure() still falls back when empty
+            logger.error("Error materializing employee tenure", e);
+        }
+    }
+}
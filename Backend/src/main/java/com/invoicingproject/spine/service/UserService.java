@@ -4,11 +4,15 @@ import com.invoicingproject.spine.entity.FinanceRole;
 import com.invoicingproject.spine.entity.User;
 import com.invoicingproject.spine.repository.FinanceRoleRepository;
 import com.invoicingproject.spine.repository.UserRepository;
+import com.invoicingproject.spine.security.PermissionPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +32,12 @@ public class UserService {
     @Autowired
     private PermissionService permissionService;
 
+    @Autowired
+    private PermissionPolicy permissionPolicy;
+
+    @Autowired
+    private AccessSummaryCache accessSummaryCache;
+
     // Get all users
     public List<User> getAllUsers() {
         return userRepository.findAll();
@@ -55,41 +65,42 @@ public class UserService {
         }
     }
 
-    // Update multiple user roles
-    public boolean updateMultipleUserRoles(List<Long> userIds, String newRole) {
-        try {
-            if (userIds.isEmpty()) {
-                logger.warn("Empty user IDs list provided for bulk role update");
-                return false;
-            }
+    // Ids per UPDATE ... WHERE id IN (...); keeps statements well under max_allowed_packet
+    public static final int ROLE_UPDATE_CHUNK_SIZE = 500;
 
-            logger.info("Starting bulk role update for {} users to role {}", userIds.size(), newRole);
-
-            int updatedCount = 0;
-            int failedCount = 0;
-            for (Long userId : userIds) {
-                try {
-                    int rowsAffected = userRepository.updateUserRoleById(userId, newRole.toUpperCase());
-                    if (rowsAffected > 0) {
-                        updatedCount++;
-                        logger.debug("Successfully updated role for user ID {}", userId);
-                    } else {
-                        failedCount++;
-                        logger.warn("No rows affected for user ID {}", userId);
-                    }
-                } catch (Exception e) {
-                    failedCount++;
-                    logger.error("Failed to update role for user ID {}: {}", userId, e.getMessage());
+    /**
+     * Update the role of many users in one transaction, one UPDATE per chunk of ids.
+     * Either every existing user gets the new role or, on a database error, none do.
+     * Ids that don't exist are skipped and reported back.
+     */
+    @Transactional
+    public BulkRoleUpdateResult updateMultipleUserRoles(List<Long> userIds, String newRole) {
+        List<Long> distinctIds = userIds.stream().distinct().toList();
+        Long roleId = UserRepository.roleIdForName(newRole);
+        logger.info("Starting bulk role update for {} users to role {}", distinctIds.size(), newRole);
+
+        int updatedCount = 0;
+        List<Long> unmatchedIds = new ArrayList<>();
+        for (int from = 0; from < distinctIds.size(); from += ROLE_UPDATE_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + ROLE_UPDATE_CHUNK_SIZE, distinctIds.size()));
+            Set<Long> existing = new HashSet<>(userRepository.lockExistingIds(chunk));
+            for (Long id : chunk) {
+                if (!existing.contains(id)) {
+                    unmatchedIds.add(id);
                 }
             }
+            if (!existing.isEmpty()) {
+                userRepository.updateRoleIdByIds(new ArrayList<>(existing), roleId);
+                updatedCount += existing.size();
+            }
+        }
 
-            logger.info("Bulk role update completed. Requested: {}, Successful: {}, Failed: {}",
-                    userIds.size(), updatedCount, failedCount);
-            return updatedCount == userIds.size();
-        } catch (Exception e) {
-            logger.error("Critical error in bulk role update: {}", e.getMessage(), e);
-            return false;
+        if (!unmatchedIds.isEmpty()) {
+            logger.warn("Bulk role update skipped {} unknown user IDs: {}", unmatchedIds.size(), unmatchedIds);
         }
+        logger.info("Bulk role update completed. Requested: {}, Updated: {}, Unmatched: {}",
+                distinctIds.size(), updatedCount, unmatchedIds.size());
+        return new BulkRoleUpdateResult(updatedCount, unmatchedIds);
     }
 
     // Get users with basic info for display (name, employee ID, role)
@@ -186,57 +197,54 @@ public class UserService {
      * Check if user can access finance dashboard
      */
     public boolean canAccessFinanceDashboard(Long roleId) {
-        return permissionService.hasPermission(roleId, "FINANCE_DASHBOARD_ACCESS") ||
-                permissionService.hasPermission(roleId, "dashboard", "finance_access") ||
-                roleId == 2L; // ADMIN always has access
+        return permissionPolicy.hasAnyPermission(roleId, "FINANCE_DASHBOARD_ACCESS", "dashboard:finance_access");
     }
 
     /**
      * Check if user can access operations dashboard
      */
     public boolean canAccessOperationsDashboard(Long roleId) {
-        return permissionService.hasPermission(roleId, "OPERATIONS_DASHBOARD_ACCESS") ||
-                permissionService.hasPermission(roleId, "dashboard", "operations_access") ||
-                roleId == 2L; // ADMIN always has access
+        return permissionPolicy.hasAnyPermission(roleId, "OPERATIONS_DASHBOARD_ACCESS",
+                "dashboard:operations_access");
     }
 
     /**
      * Check if user can manage users (CRUD operations)
      */
     public boolean canManageUsers(Long roleId) {
-        return permissionService.userHasAnyPermission(roleId,
-                "USER_CREATE", "USER_UPDATE", "USER_DELETE", "USER_ASSIGN_ROLE") ||
-                roleId == 2L; // ADMIN always has access
+        return permissionPolicy.hasAnyPermission(roleId,
+                "USER_CREATE", "USER_UPDATE", "USER_DELETE", "USER_ASSIGN_ROLE");
     }
 
     /**
      * Check if user can view audit logs
      */
     public boolean canViewAuditLogs(Long roleId) {
-        return permissionService.hasPermission(roleId, "AUDIT_LOGS_VIEW") ||
-                roleId == 2L; // ADMIN always has access
+        return permissionPolicy.hasPermission(roleId, "AUDIT_LOGS_VIEW");
     }
 
     /**
      * Check if user can approve invoices
      */
     public boolean canApproveInvoices(Long roleId) {
-        return permissionService.hasPermission(roleId, "INVOICE_APPROVE") ||
-                roleId == 2L; // ADMIN always has access
+        return permissionPolicy.hasPermission(roleId, "INVOICE_APPROVE");
     }
 
     /**
      * Check if user can export finance reports
      */
     public boolean canExportFinanceReports(Long roleId) {
-        return permissionService.hasPermission(roleId, "FINANCE_REPORTS_EXPORT") ||
-                roleId == 2L; // ADMIN always has access
+        return permissionPolicy.hasPermission(roleId, "FINANCE_REPORTS_EXPORT");
     }
 
     /**
-     * Get role-based access summary for a user
+     * Get role-based access summary for a user (cached per role until the RBAC tables change)
      */
     public AccessSummary getUserAccessSummary(Long roleId) {
+        return accessSummaryCache.get(roleId, () -> buildAccessSummary(roleId));
+    }
+
+    private AccessSummary buildAccessSummary(Long roleId) {
         Set<String> permissions = getUserPermissions(roleId);
         Set<String> resources = new HashSet<>();
 
@@ -249,8 +257,8 @@ public class UserService {
         return new AccessSummary(
                 roleId,
                 getRoleNameById(roleId),
-                permissions,
-                resources,
+                Collections.unmodifiableSet(permissions),
+                Collections.unmodifiableSet(resources),
                 canAccessFinanceDashboard(roleId),
                 canAccessOperationsDashboard(roleId),
                 canManageUsers(roleId));
@@ -343,8 +351,28 @@ public class UserService {
         }
     }
 
+    public static class BulkRoleUpdateResult {
+        private int updatedCount;
+        private List<Long> unmatchedIds;
+
+        public BulkRoleUpdateResult(int updatedCount, List<Long> unmatchedIds) {
+            this.updatedCount = updatedCount;
+            this.unmatchedIds = unmatchedIds;
+        }
+
+        // Getters
+        public int getUpdatedCount() {
+            return updatedCount;
+        }
+
+        public List<Long> getUnmatchedIds() {
+            return unmatchedIds;
+        }
+    }
+
     /**
-     * Inner class for user access summary
+     * Inner class for user access summary. Instances are shared by AccessSummaryCache,
+     * so the sets are read-only.
      */
     public static class AccessSummary {
         private Long roleId;
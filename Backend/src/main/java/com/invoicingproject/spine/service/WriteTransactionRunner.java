@@ -0,0 +1,75 @@
+package com.invoicingproject.spine.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs one endpoint's writes as a single transaction (one commit, one redo-log flush)
+ * and retries it when InnoDB picks it as a deadlock victim or a lock wait times out.
+ * The employee_projects update/insert/delete batches take gap locks, so concurrent
+ * edits touching neighbouring rows can deadlock; the whole unit is rolled back by the
+ * server and is safe to rerun.
+ *
+ * The callback may run more than once, so it must only touch the database; in-memory
+ * state (caches, ledgers) should be updated by the caller after execute returns.
+ */
+@Component
+public class WriteTransactionRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteTransactionRunner.class);
+
+    @Value("${write.transaction.max-attempts:3}")
+    private int maxAttempts = 3;
+
+    @Value("${write.transaction.backoff-ms:20}")
+    private long backoffMs = 20;
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public WriteTransactionRunner(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T execute(String operation, TransactionCallback<T> action) {
+        // Inside an outer transaction the whole outer unit was rolled back; only its owner can retry
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transactionTemplate.execute(action);
+        }
+        for (int attempt = 1;; attempt++) {
+            try {
+                return transactionTemplate.execute(action);
+            } catch (PessimisticLockingFailureException e) {
+                meterRegistry.counter("spine.write.lock_failures", "operation", operation,
+                        "outcome", attempt < maxAttempts ? "retried" : "gave_up").increment();
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                logger.warn("{}: lock conflict on attempt {}/{}, retrying: {}", operation, attempt, maxAttempts,
+                        e.getMessage());
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    // Linear backoff with jitter so the two sides of a deadlock don't collide again
+    private void backOff(int attempt, RuntimeException cause) {
+        try {
+            Thread.sleep(backoffMs * attempt + ThreadLocalRandom.current().nextLong(backoffMs + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+-- Flyway Migration V10: Composite indexes for the project search endpoint
+-- Database: spine
+-- GET /api/projects/search filters on one column and pages on (created_at, id),
+-- so each index ends with the keyset columns to avoid a filesort.
+
+CREATE INDEX idx_project_created_keyset ON projects (created_at, id);
+
+CREATE INDEX idx_project_status_created ON projects (status, created_at, id);
+
+CREATE INDEX idx_project_type_created ON projects (project_type, created_at, id);
+
+CREATE INDEX idx_project_department_created ON projects (department, created_at, id);
+
+CREATE INDEX idx_project_category_created ON projects (category_id, created_at, id);
+
+-- Dashboard's most common combination: FTE vs Contingency within a status
+CREATE INDEX idx_project_type_status_created ON projects (project_type, status, created_at, id);
@@ -0,0 +1,15 @@
+-- Flyway Migration V11: Materialized tenure in days for sorting and range filters
+-- Database: spine
+
+-- Days since start_date, refreshed nightly together with the tenure text
+ALTER TABLE employees ADD COLUMN IF NOT EXISTS tenure_days INT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_tenure_days ON employees (tenure_days);
+
+-- Backfill; subsequent refreshes are done by the application
+UPDATE employees
+SET
+    tenure_days = GREATEST(0, DATEDIFF(CURDATE(), start_date)),
+    updated_at = updated_at
+WHERE
+    start_date IS NOT NULL;
@@ -0,0 +1,11 @@
+-- Flyway Migration V12: Enforce unique employee numbers on users
+-- Database: spine
+
+-- Registration relies on the insert failing with a duplicate key for any of
+-- username, email or employee_number. Blank employee numbers are stored as NULL
+-- (MySQL allows any number of NULLs in a unique index).
+UPDATE users SET employee_number = NULL WHERE employee_number = '';
+
+ALTER TABLE users DROP INDEX idx_employee_number;
+
+ALTER TABLE users ADD UNIQUE KEY uk_users_employee_number (employee_number);
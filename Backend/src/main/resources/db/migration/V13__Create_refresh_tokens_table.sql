@@ -0,0 +1,14 @@
+-- Flyway Migration V13: Refresh token store for rotation and revocation
+-- Database: spine
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    jti VARCHAR(36) PRIMARY KEY,
+    family_id VARCHAR(36) NOT NULL,
+    username VARCHAR(50) NOT NULL,
+    expires_at DATETIME NOT NULL,
+    revoked_at DATETIME NULL,
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_refresh_tokens_family (family_id),
+    INDEX idx_refresh_tokens_username (username),
+    INDEX idx_refresh_tokens_revoked_expires (revoked_at, expires_at)
+);
@@ -0,0 +1,40 @@
+-- Flyway Migration V14: Version counter for RBAC tables
+-- Database: spine
+
+-- Single-row counter bumped on every change to finance_roles, permissions or
+-- role_permissions. Nodes poll it to invalidate their cached access summaries
+-- and permission policy instead of re-reading the RBAC tables on every request.
+CREATE TABLE IF NOT EXISTS rbac_version (
+    id INT PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+INSERT IGNORE INTO rbac_version (id, version) VALUES (1, 0);
+
+CREATE TRIGGER trg_finance_roles_ai AFTER INSERT ON finance_roles
+FOR EACH ROW UPDATE rbac_version SET version = version + 1 WHERE id = 1;
+
+CREATE TRIGGER trg_finance_roles_au AFTER UPDATE ON finance_roles
+FOR EACH ROW UPDATE rbac_version SET version = version + 1 WHERE id = 1;
+
+CREATE TRIGGER trg_finance_roles_ad AFTER DELETE ON finance_roles
+FOR EACH ROW UPDATE rbac_version SET version = version + 1 WHERE id = 1;
+
+CREATE TRIGGER trg_permissions_ai AFTER INSERT ON permissions
+FOR EACH ROW UPDATE rbac_version SET version = version + 1 WHERE id = 1;
+
+CREATE TRIGGER trg_permissions_au AFTER UPDATE ON permissions
+FOR EACH ROW UPDATE rbac_version SET version = version + 1 WHERE id = 1;
+
+CREATE TRIGGER trg_permissions_ad AFTER DELETE ON permissions
+FOR EACH ROW UPDATE rbac_version SET version = version + 1 WHERE id = 1;
+
+CREATE TRIGGER trg_role_permissions_ai AFTER INSERT ON role_permissions
+FOR EACH ROW UPDATE rbac_version SET version = version + 1 WHERE id = 1;
+
+CREATE TRIGGER trg_role_permissions_au AFTER UPDATE ON role_permissions
+FOR EACH ROW UPDATE rbac_version SET version = version + 1 WHERE id = 1;
+
+CREATE TRIGGER trg_role_permissions_ad AFTER DELETE ON role_permissions
+FOR EACH ROW UPDATE rbac_version SET version = version + 1 WHERE id = 1;
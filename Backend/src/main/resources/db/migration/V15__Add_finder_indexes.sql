@@ -0,0 +1,46 @@
+-- Flyway Migration V15: Indexes matching the repositories' WHERE / ORDER BY clauses
+-- Database: spine
+-- Each finder filters on leading columns and sorts on the rest, so MySQL reads
+-- rows in index order instead of scanning and filesorting. Single-column indexes
+-- made redundant by a composite (or by a UNIQUE key on the same column) are dropped.
+-- The same indexes are declared on the entities for schemas built by ddl-auto.
+
+-- users: finders by department or location, ordered by username
+CREATE INDEX idx_users_department_username ON users (department, username);
+
+CREATE INDEX idx_users_location_username ON users (location, username);
+
+-- username and email are UNIQUE; employee_number has uk_users_employee_number (V12)
+ALTER TABLE users DROP INDEX idx_username, DROP INDEX idx_email, DROP INDEX idx_department;
+
+-- employees: by project / role ordered by emp_id, and the tenure range ordered
+-- by tenure_days DESC, emp_id ASC (a descending key part needs MySQL 8)
+CREATE INDEX idx_employees_project_emp_id ON employees (project, emp_id);
+
+CREATE INDEX idx_employees_role_emp_id ON employees (employee_role, emp_id);
+
+CREATE INDEX idx_employees_tenure_days_emp_id ON employees (tenure_days DESC, emp_id);
+
+-- emp_id is UNIQUE
+ALTER TABLE employees DROP INDEX idx_emp_id, DROP INDEX idx_project, DROP INDEX idx_employee_role,
+    DROP INDEX idx_tenure_days;
+
+-- projects: exact lookup by name (by code is UNIQUE; status, category and department
+-- ordered by created_at are covered by V10)
+CREATE INDEX idx_project_name ON projects (project_name);
+
+-- employee_projects: an employee's assignments, primary first
+CREATE INDEX idx_ep_employee_primary ON employee_projects (employee_id, is_primary DESC, id);
+
+-- A project's assignments; covers the headcount and billable FTE subqueries of the
+-- project summary, which filter on end_date and read employee_id and the allocation
+CREATE INDEX idx_ep_project_active ON employee_projects (project_id, end_date, employee_id, allocation_percentage);
+
+-- invoices: invoice count and total per project read only the index
+CREATE INDEX idx_invoices_project_total ON invoices (project_id, total_amount);
+
+-- fk_invoice_project is served by the new index
+ALTER TABLE invoices DROP INDEX idx_project_id;
+
+-- refresh_tokens: the expiry purge
+CREATE INDEX idx_refresh_tokens_expires ON refresh_tokens (expires_at);
@@ -0,0 +1,10 @@
+-- Flyway Migration V16: Index for the role finders
+-- Database: spine
+-- The role finders join finance_roles on role_id and sort by username; with role_name
+-- unique the role is a single row, so users are read in index order without a filesort.
+-- The per-role user count reads only the index.
+
+CREATE INDEX idx_users_role_username ON users (role_id, username);
+
+-- Served by the new index
+ALTER TABLE users DROP INDEX idx_role_id;
@@ -0,0 +1,24 @@
+-- Flyway Migration V17: Permissions checked by @RequiresPermission on the project,
+-- employee and analytics endpoints
+-- Database: spine
+-- ADMIN passes every check without grants. MANAGER edits projects and employees,
+-- FINANCE edits projects (the finance manager dashboard) and both read the allocation
+-- analytics; USER gets none of them.
+
+INSERT IGNORE INTO permissions (permission_name, permission_description, resource, action, is_active, created_at, updated_at)
+VALUES
+    ('PROJECT_WRITE', 'Create, edit and delete projects', 'projects', 'write', TRUE, NOW(), NOW()),
+    ('EMPLOYEE_WRITE', 'Create, edit and delete employees and their assignments', 'employees', 'write', TRUE, NOW(), NOW()),
+    ('ANALYTICS_READ', 'View allocation analytics', 'analytics', 'read', TRUE, NOW(), NOW());
+
+INSERT IGNORE INTO role_permissions (role_id, permission_id)
+SELECT fr.id, p.id
+FROM finance_roles fr, permissions p
+WHERE fr.role_name = 'MANAGER'
+    AND p.permission_name IN ('PROJECT_WRITE', 'EMPLOYEE_WRITE', 'ANALYTICS_READ');
+
+INSERT IGNORE INTO role_permissions (role_id, permission_id)
+SELECT fr.id, p.id
+FROM finance_roles fr, permissions p
+WHERE fr.role_name = 'FINANCE'
+    AND p.permission_name IN ('PROJECT_WRITE', 'ANALYTICS_READ');
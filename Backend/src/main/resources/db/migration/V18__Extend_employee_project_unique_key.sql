@@ -0,0 +1,9 @@
+-- Flyway Migration V18: Let an employee rejoin a project they left
+-- Database: spine
+-- An employee edit ends the assignments it drops instead of deleting them, and they stay
+-- as history. Rejoining the same project later adds a new row with a later start date,
+-- so the unique key includes start_date. Edits match rows on this key.
+
+ALTER TABLE employee_projects
+    ADD UNIQUE KEY unique_employee_project_start (employee_id, project_id, start_date),
+    DROP INDEX unique_employee_project;
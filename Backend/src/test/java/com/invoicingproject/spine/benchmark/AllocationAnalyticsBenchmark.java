@@ -0,0 +1,88 @@
+package com.invoicingproject.spine.benchmark;
+
+import com.invoicingproject.spine.dto.AllocationReportResponse;
+import com.invoicingproject.spine.service.AllocationAnalyticsService;
+import com.invoicingproject.spine.service.AllocationSnapshot;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation analytics over a synthetic 50k-assignment snapshot.
+ *
+ * Run with:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.invoicingproject.spine.benchmark.AllocationAnalyticsBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AllocationAnalyticsBenchmark {
+
+    @Param({ "50000" })
+    public int assignments;
+
+    private AllocationSnapshot snapshot;
+    private final LocalDate from = LocalDate.of(2026, 1, 1);
+    private final LocalDate to = LocalDate.of(2026, 12, 31);
+
+    @Setup
+    public void setUp() {
+        snapshot = syntheticSnapshot(assignments, new Random(42));
+    }
+
+    @Benchmark
+    public AllocationReportResponse projectAndSummaryMetrics() {
+        return AllocationAnalyticsService.compute(snapshot, from, to, false);
+    }
+
+    @Benchmark
+    public AllocationReportResponse withEmployeeDetail() {
+        return AllocationAnalyticsService.compute(snapshot, from, to, true);
+    }
+
+    @Benchmark
+    public AllocationSnapshot buildSnapshot() {
+        return syntheticSnapshot(assignments, new Random(42));
+    }
+
+    /**
+     * Roughly two assignments per employee, project sizes skewed towards a few large
+     * accounts, allocations in 25% steps so some employees end up above 100%.
+     */
+    static AllocationSnapshot syntheticSnapshot(int assignmentCount, Random random) {
+        int employees = assignmentCount / 2;
+        int projects = Math.max(1, assignmentCount / 25);
+        AllocationSnapshot.Builder builder = AllocationSnapshot.builder();
+        for (int e = 1; e <= employees; e++) {
+            builder.addEmployee(e, random.nextInt(10) < 7);
+        }
+        int base = (int) LocalDate.of(2025, 1, 1).toEpochDay();
+        for (int i = 0; i < assignmentCount; i++) {
+            long employeeId = 1 + random.nextInt(employees);
+            double skew = random.nextDouble();
+            long projectId = 1 + (long) (skew * skew * projects);
+            int allocation = (1 + random.nextInt(4)) * 2500;
+            int start = base + random.nextInt(730);
+            int end = random.nextInt(5) == 0 ? AllocationSnapshot.OPEN_END : start + 30 + random.nextInt(365);
+            builder.addAssignment(employeeId, projectId, allocation, start, end, random.nextBoolean());
+        }
+        return builder.build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(AllocationAnalyticsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
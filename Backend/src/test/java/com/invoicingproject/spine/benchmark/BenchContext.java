@@ -0,0 +1,77 @@
+package com.invoicingproject.spine.benchmark;
+
+import com.invoicingproject.spine.SpineApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starts the application for the load benchmarks against a scratch MySQL schema, taken
+ * from -Dbench.db.url, -Dbench.db.user and -Dbench.db.password (default
+ * jdbc:mysql://localhost:3306/spine_bench as root/root). SQL and application logging is
+ * turned down to WARN so it doesn't compete with the load.
+ *
+ * The benchmarks create and delete their own rows in that schema. Never point this at a
+ * real database.
+ *
+ *   ConfigurableApplicationContext context = BenchContext.start(WebApplicationType.NONE,
+ *           "spring.datasource.hikari.maximum-pool-size=10");
+ */
+final class BenchContext {
+
+    private BenchContext() {
+    }
+
+    /**
+     * Starts the application with the given extra properties, which override the defaults.
+     * A servlet application listens on a random port with the management port disabled;
+     * read it back with baseUrl. Refuses to run if the datasource did not resolve to the
+     * bench schema.
+     */
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... properties) {
+        String url = System.getProperty("bench.db.url", "jdbc:mysql://localhost:3306/spine_bench");
+        Map<String, String> settings = new LinkedHashMap<>();
+        settings.put("spring.datasource.url", url);
+        settings.put("spring.datasource.username", System.getProperty("bench.db.user", "root"));
+        settings.put("spring.datasource.password", System.getProperty("bench.db.password", "root"));
+        settings.put("spring.jpa.show-sql", "false");
+        settings.put("logging.level.com.invoicingproject.spine", "WARN");
+        settings.put("logging.level.org.hibernate.SQL", "WARN");
+        settings.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        if (webApplicationType == WebApplicationType.SERVLET) {
+            settings.put("server.port", "0");
+            settings.put("management.server.port", "-1");
+        }
+        for (String property : properties) {
+            int equals = property.indexOf('=');
+            settings.put(property.substring(0, equals), property.substring(equals + 1));
+        }
+        // A repeated --key would be joined into a list, so each key is passed once
+        List<String> args = new ArrayList<>();
+        settings.forEach((key, value) -> args.add("--" + key + "=" + value));
+        // Command-line arguments outrank application.properties; properties(...) would not.
+        // The URL is checked once the environment is resolved, before anything connects.
+        return new SpringApplicationBuilder(SpineApplication.class)
+                .web(webApplicationType)
+                .listeners(event -> {
+                    if (event instanceof ApplicationEnvironmentPreparedEvent prepared) {
+                        String resolved = prepared.getEnvironment().getProperty("spring.datasource.url");
+                        if (!url.equals(resolved)) {
+                            throw new IllegalStateException(
+                                    "Datasource resolved to " + resolved + ", not bench.db.url " + url);
+                        }
+                    }
+                })
+                .run(args.toArray(new String[0]));
+    }
+
+    static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+}
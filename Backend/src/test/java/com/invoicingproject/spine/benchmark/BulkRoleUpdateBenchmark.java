@@ -0,0 +1,118 @@
+package com.invoicingproject.spine.benchmark;
+
+import com.invoicingproject.spine.repository.UserCache;
+import com.invoicingproject.spine.repository.UserRepository;
+import com.invoicingproject.spine.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk role reassignment: one UPDATE per user (the old loop) against chunked
+ * UPDATE ... WHERE id IN (...) inside one transaction.
+ *
+ * Needs a scratch MySQL schema; the users table is created there if missing and
+ * seeded with the requested number of rows. Never point this at a real database.
+ *
+ * Run with:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.invoicingproject.spine.benchmark.BulkRoleUpdateBenchmark
+ * -Dbench.db.url=jdbc:mysql://localhost:3306/spine_bench -Dbench.db.user=root -Dbench.db.password=root
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkRoleUpdateBenchmark {
+
+    @Param({ "100", "2000" })
+    public int users;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private UserRepository userRepository;
+    private UserService userService;
+    private List<Long> userIds;
+    private boolean toggle;
+
+    @Setup
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("bench.db.url", "jdbc:mysql://localhost:3306/spine_bench"),
+                System.getProperty("bench.db.user", "root"),
+                System.getProperty("bench.db.password", "root"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS users (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "username VARCHAR(50) NOT NULL UNIQUE, role_id BIGINT DEFAULT 1, updated_at TIMESTAMP NULL)");
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE 'bench-role-%'");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            rows.add(new Object[] { "bench-role-" + i });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (username) VALUES (?)", rows);
+        userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE username LIKE 'bench-role-%'", Long.class);
+
+        userRepository = new UserRepository();
+        ReflectionTestUtils.setField(userRepository, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(userRepository, "userCache", new UserCache());
+        userService = new UserService();
+        ReflectionTestUtils.setField(userService, "userRepository", userRepository);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE 'bench-role-%'");
+    }
+
+    // Alternate roles so every invocation actually changes the rows
+    private String nextRole() {
+        toggle = !toggle;
+        return toggle ? "MANAGER" : "FINANCE";
+    }
+
+    @Benchmark
+    public int perRowUpdates() {
+        String role = nextRole();
+        int updated = 0;
+        for (Long id : userIds) {
+            updated += userRepository.updateUserRoleById(id, role);
+        }
+        return updated;
+    }
+
+    @Benchmark
+    public UserService.BulkRoleUpdateResult chunkedInListTransaction() {
+        String role = nextRole();
+        return transactionTemplate.execute(status -> userService.updateMultipleUserRoles(userIds, role));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        // exec:java sets -D options in-process, so hand them to the forked JVM explicitly
+        List<String> jvmArgs = new ArrayList<>();
+        for (String key : List.of("bench.db.url", "bench.db.user", "bench.db.password")) {
+            if (System.getProperty(key) != null) {
+                jvmArgs.add("-D" + key + "=" + System.getProperty(key));
+            }
+        }
+        Options options = new OptionsBuilder()
+                .include(BulkRoleUpdateBenchmark.class.getSimpleName())
+                .jvmArgsAppend(jvmArgs.toArray(new String[0]))
+                .build();
+        new Runner(options).run();
+    }
+}
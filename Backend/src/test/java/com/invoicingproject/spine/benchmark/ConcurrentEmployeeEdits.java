@@ -0,0 +1,145 @@
+package com.invoicingproject.spine.benchmark;
+
+import com.invoicingproject.spine.controller.EmployeeController;
+import com.invoicingproject.spine.dto.EmployeeRequest;
+import com.invoicingproject.spine.security.AuthenticatedUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent employee edits through EmployeeController.updateEmployee, each replacing the
+ * employee's current project assignments (junction rows updated, ended or inserted).
+ * Reports edits/sec, p50/p99 latency, InnoDB redo-log fsyncs per edit, and lock-conflict
+ * retries.
+ *
+ * Starts the application context (no web server) through BenchContext and creates
+ * bench-edit-* employees and projects in the scratch schema.
+ *
+ * Run with:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.invoicingproject.spine.benchmark.ConcurrentEmployeeEdits
+ * -Dbench.db.url=jdbc:mysql://localhost:3306/spine_bench -Dbench.db.user=root -Dbench.db.password=root
+ */
+public class ConcurrentEmployeeEdits {
+
+    private static final int EMPLOYEES = 200;
+    private static final int PROJECTS = 20;
+    private static final int THREADS = 32;
+    private static final int EDITS_PER_THREAD = 200;
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context = BenchContext.start(WebApplicationType.NONE,
+                "spring.datasource.hikari.maximum-pool-size=" + THREADS,
+                "spring.datasource.hikari.data-source-properties.rewriteBatchedStatements=true");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        try {
+            EmployeeController controller = context.getBean(EmployeeController.class);
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            List<Long> employeeIds = new ArrayList<>();
+            List<Long> projectIds = new ArrayList<>();
+            seed(jdbcTemplate, employeeIds, projectIds);
+            // updateEmployee requires employees:write; every worker thread acts as an admin
+            SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    new AuthenticatedUser(0L, "bench-edit", "Bench", 2L, "ADMIN", Set.of()), null, List.of()));
+
+            long fsyncsBefore = innodbStatus(jdbcTemplate, "Innodb_os_log_fsyncs");
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            List<Future<long[]>> results = new ArrayList<>();
+            long begin = System.nanoTime();
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(() -> runEdits(controller, employeeIds, projectIds)));
+            }
+            long[] latencies = new long[THREADS * EDITS_PER_THREAD];
+            int n = 0;
+            for (Future<long[]> result : results) {
+                for (long latency : result.get()) {
+                    latencies[n++] = latency;
+                }
+            }
+            double seconds = (System.nanoTime() - begin) / 1e9;
+            executor.shutdown();
+            long fsyncs = innodbStatus(jdbcTemplate, "Innodb_os_log_fsyncs") - fsyncsBefore;
+
+            Arrays.sort(latencies);
+            double retries = meterRegistry.find("spine.write.lock_failures").counters().stream()
+                    .mapToDouble(Counter::count).sum();
+            System.out.printf("%d edits in %.1f s: %.0f edits/s | p50 %.1f ms p99 %.1f ms | "
+                    + "%.2f log fsyncs/edit | %.0f lock conflicts%n",
+                    latencies.length, seconds, latencies.length / seconds,
+                    latencies[latencies.length / 2] / 1e6, latencies[(int) (latencies.length * 0.99)] / 1e6,
+                    (double) fsyncs / latencies.length, retries);
+        } finally {
+            jdbcTemplate.update("DELETE FROM employee_projects WHERE employee_id IN "
+                    + "(SELECT id FROM employees WHERE emp_id LIKE 'bench-edit-%')");
+            jdbcTemplate.update("DELETE FROM employees WHERE emp_id LIKE 'bench-edit-%'");
+            jdbcTemplate.update("DELETE FROM projects WHERE project_code LIKE 'bench-edit-%'");
+            context.close();
+        }
+    }
+
+    // Few projects shared by many employees, so edits contend on the same index ranges
+    private static long[] runEdits(EmployeeController controller, List<Long> employeeIds, List<Long> projectIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] latencies = new long[EDITS_PER_THREAD];
+        for (int i = 0; i < EDITS_PER_THREAD; i++) {
+            int employee = random.nextInt(EMPLOYEES);
+            EmployeeRequest request = new EmployeeRequest();
+            request.setEmpId("bench-edit-" + employee);
+            request.setName("Bench Employee " + employee);
+            request.setBillableStatus(true);
+            request.setStartDate(LocalDate.of(2024, 1, 1));
+            request.setProjectIds(List.of(projectIds.get(random.nextInt(PROJECTS)),
+                    projectIds.get(random.nextInt(PROJECTS))));
+            request.setAllocationPercentages(List.of(new BigDecimal("50.00"), new BigDecimal("50.00")));
+
+            long begin = System.nanoTime();
+            ResponseEntity<?> response = controller.updateEmployee(employeeIds.get(employee), request);
+            latencies[i] = System.nanoTime() - begin;
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                throw new IllegalStateException("Edit failed with " + response.getStatusCode());
+            }
+        }
+        return latencies;
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, List<Long> employeeIds, List<Long> projectIds) {
+        jdbcTemplate.update("DELETE FROM employees WHERE emp_id LIKE 'bench-edit-%'");
+        jdbcTemplate.update("DELETE FROM projects WHERE project_code LIKE 'bench-edit-%'");
+        for (int i = 0; i < PROJECTS; i++) {
+            jdbcTemplate.update("INSERT INTO projects (project_name, project_code, project_type, status, created_at, "
+                    + "updated_at) VALUES (?, ?, 'FTE', 'ACTIVE', NOW(), NOW())", "Bench Edit " + i, "bench-edit-" + i);
+        }
+        for (int i = 0; i < EMPLOYEES; i++) {
+            jdbcTemplate.update("INSERT INTO employees (emp_id, name, billable_status, created_at, updated_at) "
+                    + "VALUES (?, ?, true, NOW(), NOW())", "bench-edit-" + i, "Bench Employee " + i);
+        }
+        projectIds.addAll(jdbcTemplate.queryForList(
+                "SELECT id FROM projects WHERE project_code LIKE 'bench-edit-%' ORDER BY id", Long.class));
+        employeeIds.addAll(jdbcTemplate.queryForList(
+                "SELECT id FROM employees WHERE emp_id LIKE 'bench-edit-%' ORDER BY CAST(SUBSTRING(emp_id, 12) AS UNSIGNED)",
+                Long.class));
+    }
+
+    private static long innodbStatus(JdbcTemplate jdbcTemplate, String variable) {
+        return jdbcTemplate.query("SHOW GLOBAL STATUS LIKE ?", rs -> rs.next() ? rs.getLong("Value") : 0L, variable);
+    }
+}
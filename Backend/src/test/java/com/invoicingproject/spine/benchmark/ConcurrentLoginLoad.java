@@ -0,0 +1,132 @@
+package com.invoicingproject.spine.benchmark;
+
+import com.invoicingproject.spine.entity.User;
+import com.invoicingproject.spine.repository.UserRepository;
+import com.invoicingproject.spine.service.AuthService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 200 concurrent logins against a 10-connection pool, reporting login latency and
+ * Hikari's connection acquire time (hikaricp.connections.acquire). Each round is run
+ * twice: as AuthService runs now, and wrapped in a transaction per login, which is what
+ * the old class-level @Transactional did (connection held across the BCrypt check).
+ *
+ * Starts the application context (no web server) through BenchContext and creates
+ * bench-login-* users in the scratch schema.
+ *
+ * Run with:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.invoicingproject.spine.benchmark.ConcurrentLoginLoad
+ * -Dbench.db.url=jdbc:mysql://localhost:3306/spine_bench -Dbench.db.user=root -Dbench.db.password=root
+ */
+public class ConcurrentLoginLoad {
+
+    private static final int LOGINS = 200;
+    private static final int POOL_SIZE = 10;
+    private static final String PASSWORD = "bench-password";
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context = BenchContext.start(WebApplicationType.NONE,
+                "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE);
+        try {
+            AuthService authService = context.getBean(AuthService.class);
+            TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            seedUsers(context);
+
+            // Warm up BCrypt, the JIT and the pool before measuring
+            runRound("warmup", meterRegistry, i -> authService.loginUser(username(i), PASSWORD, null));
+
+            runRound("short statements (current)", meterRegistry,
+                    i -> authService.loginUser(username(i), PASSWORD, null));
+            runRound("transaction per login (old)", meterRegistry,
+                    i -> transactionTemplate.execute(status -> authService.loginUser(username(i), PASSWORD, null)));
+        } finally {
+            context.getBean(JdbcTemplate.class).update("DELETE FROM users WHERE username LIKE 'bench-login-%'");
+            context.close();
+        }
+    }
+
+    private static void seedUsers(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        jdbcTemplate.update("INSERT IGNORE INTO finance_roles (id, role_name, is_active) VALUES (1, 'USER', true)");
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE 'bench-login-%'");
+        // One hash for everyone; verifying it still costs a full BCrypt round per login
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        for (int i = 0; i < LOGINS; i++) {
+            userRepository.save(new User(username(i), hash, username(i) + "@example.com", "Bench " + i,
+                    "Bench", "Finance", null, "USER"));
+        }
+    }
+
+    private static void runRound(String label, MeterRegistry meterRegistry, LoginCall call) throws Exception {
+        Timer acquire = meterRegistry.get("hikaricp.connections.acquire").timer();
+        long acquireCountBefore = acquire.count();
+        double acquireNanosBefore = acquire.totalTime(TimeUnit.NANOSECONDS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(LOGINS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < LOGINS; i++) {
+            int user = i;
+            results.add(executor.submit(() -> {
+                start.await();
+                long begin = System.nanoTime();
+                Map<String, Object> response = call.login(user);
+                if (!Boolean.TRUE.equals(response.get("success"))) {
+                    throw new IllegalStateException("Login failed: " + response.get("message"));
+                }
+                return System.nanoTime() - begin;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        long[] latencies = new long[LOGINS];
+        for (int i = 0; i < LOGINS; i++) {
+            latencies[i] = results.get(i).get();
+        }
+        long wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+        executor.shutdown();
+
+        long acquires = acquire.count() - acquireCountBefore;
+        double acquireMillis = (acquire.totalTime(TimeUnit.NANOSECONDS) - acquireNanosBefore) / 1_000_000.0;
+        Arrays.sort(latencies);
+        System.out.printf("%-30s wall %5d ms | login p50 %5d ms p99 %5d ms | pool acquires %4d, mean wait %7.2f ms%n",
+                label, wallMillis, millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.99)),
+                acquires, acquires == 0 ? 0.0 : acquireMillis / acquires);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static String username(int i) {
+        return "bench-login-" + i;
+    }
+
+    @FunctionalInterface
+    private interface LoginCall {
+        Map<String, Object> login(int user);
+    }
+}
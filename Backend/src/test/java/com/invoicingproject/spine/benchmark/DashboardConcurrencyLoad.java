@@ -0,0 +1,156 @@
+package com.invoicingproject.spine.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput of the dashboard's read endpoints with 2,000 concurrent closed-loop users,
+ * once on Tomcat's platform-thread pool and once with spring.threads.virtual.enabled.
+ * Each user issues its next request as soon as the previous one completes.
+ *
+ * Starts the application (random port) through BenchContext; the virtual round is
+ * skipped on a JVM older than 21. Use a schema seeded with realistic data. The requests
+ * carry the token of a bench-dashboard-admin user, created for the run and removed after,
+ * since the allocation analytics need analytics:read.
+ *
+ * Run with:
+ * mvn -q -Pjava21 test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.invoicingproject.spine.benchmark.DashboardConcurrencyLoad
+ * -Dbench.db.url=jdbc:mysql://localhost:3306/spine_bench -Dbench.db.user=root -Dbench.db.password=root
+ */
+public class DashboardConcurrencyLoad {
+
+    private static final int USERS = 2000;
+    private static final String ADMIN = "bench-dashboard-admin";
+    private static final String PASSWORD = "bench-password";
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(30);
+    private static final String[] DASHBOARD_PATHS = {
+            "/api/employees", "/api/projects", "/api/analytics/allocation?from=2026-01-01&to=2026-06-30"
+    };
+
+    public static void main(String[] args) throws Exception {
+        runMode(false);
+        if (Runtime.version().feature() >= 21) {
+            runMode(true);
+        } else {
+            System.out.println("Skipping virtual threads: Java " + Runtime.version().feature());
+        }
+    }
+
+    private static void runMode(boolean virtualThreads) throws Exception {
+        ConfigurableApplicationContext context = BenchContext.start(WebApplicationType.SERVLET,
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "server.tomcat.max-connections=10000");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        try {
+            seedAdmin(jdbcTemplate, context.getBean(PasswordEncoder.class));
+            String base = BenchContext.baseUrl(context);
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+            String token = login(client, base);
+            HttpRequest[] requests = new HttpRequest[DASHBOARD_PATHS.length];
+            for (int i = 0; i < requests.length; i++) {
+                requests[i] = HttpRequest.newBuilder(URI.create(base + DASHBOARD_PATHS[i]))
+                        .header("Authorization", "Bearer " + token)
+                        .timeout(Duration.ofSeconds(60)).GET().build();
+            }
+
+            run(client, requests, WARMUP);
+            Result result = run(client, requests, MEASUREMENT);
+            Histogram histogram = result.recorder.getIntervalHistogram();
+            System.out.printf("%-16s %6.0f req/s | p50 %8.2f ms p99 %8.2f ms | %d errors%n",
+                    virtualThreads ? "virtual threads" : "platform threads",
+                    histogram.getTotalCount() / (double) MEASUREMENT.toSeconds(),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                    result.errors.sum());
+        } finally {
+            jdbcTemplate.update("DELETE FROM refresh_tokens WHERE username = ?", ADMIN);
+            jdbcTemplate.update("DELETE FROM users WHERE username = ?", ADMIN);
+            context.close();
+        }
+    }
+
+    private static void seedAdmin(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
+        jdbcTemplate.update("INSERT IGNORE INTO finance_roles (id, role_name, is_active) VALUES (2, 'ADMIN', true)");
+        jdbcTemplate.update("DELETE FROM users WHERE username = ?", ADMIN);
+        jdbcTemplate.update("INSERT INTO users (username, password, email, name, location, department, role_id, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, 'Bench', 'Finance', 2, NOW(), NOW())",
+                ADMIN, passwordEncoder.encode(PASSWORD), ADMIN + "@example.com", ADMIN);
+    }
+
+    private static String login(HttpClient client, String base) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + ADMIN + "\",\"password\":\""
+                        + PASSWORD + "\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        JsonNode token = new ObjectMapper().readTree(response.body()).get("accessToken");
+        if (response.statusCode() != 200 || token == null) {
+            throw new IllegalStateException("Login as " + ADMIN + " failed with " + response.statusCode());
+        }
+        return token.asText();
+    }
+
+    private static Result run(HttpClient client, HttpRequest[] requests, Duration duration)
+            throws InterruptedException {
+        Result result = new Result();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch stopped = new CountDownLatch(USERS);
+        for (int user = 0; user < USERS; user++) {
+            next(client, requests, user, running, stopped, result);
+        }
+        Thread.sleep(duration.toMillis());
+        running.set(false);
+        stopped.await(2, TimeUnit.MINUTES);
+        return result;
+    }
+
+    // Closed loop: each completion schedules that user's next request
+    private static void next(HttpClient client, HttpRequest[] requests, int user, AtomicBoolean running,
+            CountDownLatch stopped, Result result) {
+        if (!running.get()) {
+            stopped.countDown();
+            return;
+        }
+        long start = System.nanoTime();
+        client.sendAsync(requests[user % requests.length], HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error != null || response.statusCode() >= 400) {
+                        result.errors.increment();
+                    } else if (running.get()) {
+                        result.record(System.nanoTime() - start);
+                    }
+                    next(client, requests, user, running, stopped, result);
+                });
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class Result {
+        // Microseconds, 3 significant digits; auto-resizes, so no upper bound to guess
+        private final Recorder recorder = new Recorder(3);
+        private final LongAdder errors = new LongAdder();
+
+        void record(long nanos) {
+            recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.invoicingproject.spine.benchmark;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Default Connector/J settings against the driver properties in application-prod.properties:
+ * a point lookup (statement cache, server-side prepare) and a 100-row JDBC batch
+ * (rewriteBatchedStatements). Runs with 8 threads sharing one pool, like request threads.
+ *
+ * Needs a scratch MySQL schema; never point this at a real database.
+ *
+ * Run with:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.invoicingproject.spine.benchmark.DriverSettingsBenchmark
+ * -Dbench.db.url=jdbc:mysql://localhost:3306/spine_bench -Dbench.db.user=root -Dbench.db.password=root
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class DriverSettingsBenchmark {
+
+    private static final int ROWS = 10000;
+
+    @Param({ "default", "prod" })
+    public String settings;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(System.getProperty("bench.db.url", "jdbc:mysql://localhost:3306/spine_bench"));
+        config.setUsername(System.getProperty("bench.db.user", "root"));
+        config.setPassword(System.getProperty("bench.db.password", "root"));
+        config.setMaximumPoolSize(8);
+        if ("prod".equals(settings)) {
+            config.addDataSourceProperty("cachePrepStmts", "true");
+            config.addDataSourceProperty("prepStmtCacheSize", "250");
+            config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+            config.addDataSourceProperty("useServerPrepStmts", "true");
+            config.addDataSourceProperty("rewriteBatchedStatements", "true");
+            config.addDataSourceProperty("cacheResultSetMetadata", "true");
+            config.addDataSourceProperty("cacheServerConfiguration", "true");
+            config.addDataSourceProperty("useLocalSessionState", "true");
+            config.addDataSourceProperty("elideSetAutoCommits", "true");
+            config.addDataSourceProperty("maintainTimeStats", "false");
+        }
+        dataSource = new HikariDataSource(config);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS bench_driver_users (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "username VARCHAR(50) NOT NULL UNIQUE, email VARCHAR(100), role_id BIGINT DEFAULT 1)");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS bench_driver_log (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "message VARCHAR(100))");
+        jdbcTemplate.update("DELETE FROM bench_driver_users");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[] { "bench-driver-" + i, "bench-driver-" + i + "@example.com" });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bench_driver_users (username, email) VALUES (?, ?)", rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_driver_users");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_driver_log");
+        dataSource.close();
+    }
+
+    @Benchmark
+    public Object pointLookup() {
+        String username = "bench-driver-" + ThreadLocalRandom.current().nextInt(ROWS);
+        return jdbcTemplate.queryForMap("SELECT id, username, email, role_id FROM bench_driver_users WHERE username = ?",
+                username);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public int[] batchInsert() {
+        List<Object[]> rows = new ArrayList<>(100);
+        for (int i = 0; i < 100; i++) {
+            rows.add(new Object[] { "batch row " + i });
+        }
+        return jdbcTemplate.batchUpdate("INSERT INTO bench_driver_log (message) VALUES (?)", rows);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        // exec:java sets -D options in-process, so hand them to the forked JVM explicitly
+        List<String> jvmArgs = new ArrayList<>();
+        for (String key : List.of("bench.db.url", "bench.db.user", "bench.db.password")) {
+            if (System.getProperty(key) != null) {
+                jvmArgs.add("-D" + key + "=" + System.getProperty(key));
+            }
+        }
+        Options options = new OptionsBuilder()
+                .include(DriverSettingsBenchmark.class.getSimpleName())
+                .jvmArgsAppend(jvmArgs.toArray(new String[0]))
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,100 @@
+package com.invoicingproject.spine.benchmark;
+
+import com.invoicingproject.spine.controller.EmployeeController;
+import com.invoicingproject.spine.dto.EmployeeResponse;
+import com.invoicingproject.spine.entity.Employee;
+import com.invoicingproject.spine.repository.EmployeeProjectRepository;
+import com.invoicingproject.spine.repository.EmployeeRepository;
+import com.invoicingproject.spine.repository.ProjectRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Employee response assembly: Employee.getTenure with and without a materialized value,
+ * and EmployeeController.getAllEmployees, whose convertToResponse reads each employee's
+ * assignments and then each assigned project (1 + 3 queries per employee here, answered
+ * by SyntheticJdbc). The list benchmark is reported per employee.
+ *
+ * Run with:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.invoicingproject.spine.benchmark.EmployeeResponseBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeResponseBenchmark {
+
+    private static final int EMPLOYEES = 200;
+    private static final int PROJECTS_PER_EMPLOYEE = 2;
+
+    private EmployeeController controller;
+    private Employee computedTenure;
+    private Employee storedTenure;
+
+    @Setup
+    public void setUp() {
+        JdbcTemplate jdbcTemplate = new SyntheticJdbc()
+                .table("FROM employee_projects", SyntheticJdbc.employeeProjects(PROJECTS_PER_EMPLOYEE))
+                .table("FROM projects", SyntheticJdbc.projects(1))
+                .table("FROM employees", SyntheticJdbc.employees(EMPLOYEES))
+                .jdbcTemplate();
+        EmployeeRepository employeeRepository = new EmployeeRepository();
+        EmployeeProjectRepository employeeProjectRepository = new EmployeeProjectRepository();
+        ProjectRepository projectRepository = new ProjectRepository();
+        ReflectionTestUtils.setField(employeeRepository, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(employeeProjectRepository, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(projectRepository, "jdbcTemplate", jdbcTemplate);
+        controller = new EmployeeController();
+        ReflectionTestUtils.setField(controller, "employeeRepository", employeeRepository);
+        ReflectionTestUtils.setField(controller, "employeeProjectRepository", employeeProjectRepository);
+        ReflectionTestUtils.setField(controller, "projectRepository", projectRepository);
+
+        computedTenure = new Employee();
+        computedTenure.setStartDate(LocalDate.of(2022, 4, 17));
+        storedTenure = new Employee();
+        storedTenure.setStartDate(LocalDate.of(2022, 4, 17));
+        storedTenure.setTenure(Employee.formatTenure(storedTenure.getStartDate(), LocalDate.now()));
+
+        List<EmployeeResponse> responses = allEmployees().getBody();
+        if (responses == null || responses.size() != EMPLOYEES
+                || responses.get(0).getProjectIds().size() != PROJECTS_PER_EMPLOYEE) {
+            throw new IllegalStateException("Synthetic employees did not assemble");
+        }
+    }
+
+    @Benchmark
+    public String tenureComputed() {
+        return computedTenure.getTenure();
+    }
+
+    @Benchmark
+    public String tenureStored() {
+        return storedTenure.getTenure();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EMPLOYEES)
+    public ResponseEntity<List<EmployeeResponse>> allEmployees() {
+        return controller.getAllEmployees();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(EmployeeResponseBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,242 @@
+package com.invoicingproject.spine.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * Open-model HTTP load against login, the employee and project lists and project creation,
+ * reporting throughput and p50/p99/p99.9 per endpoint.
+ *
+ * Each endpoint has its own arrival rate and a dispatcher that sends on a fixed schedule
+ * whether or not earlier requests have finished. Latency is measured from the scheduled
+ * send time, so a stalled server shows up as queueing in the percentiles (no coordinated
+ * omission). Latencies go into HdrHistogram recorders; the full distributions are written
+ * to target/load/<endpoint>.hgrm for plotting.
+ *
+ * There is no invoice creation endpoint yet; project creation is the write path measured.
+ *
+ * Starts the application (random port) through BenchContext against a scratch schema,
+ * ideally filled by DatasetGenerator, and creates bench-load-* users and LOAD-* projects
+ * there, removed at the end. Projects are created as the bench-load-admin user, since
+ * project writes need projects:write. Login throttling is raised so it doesn't reject the
+ * load.
+ *
+ * Run with:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.invoicingproject.spine.benchmark.HttpEndpointLoad
+ * -Dbench.db.url=jdbc:mysql://localhost:3306/spine_bench -Dbench.db.user=root -Dbench.db.password=root
+ * Optional: -Dload.seconds=60 -Dload.warmup.seconds=15 and a rate per endpoint in requests
+ * per second, e.g. -Dload.rate.login=20 -Dload.rate.employees=50 -Dload.rate.projects=50
+ * -Dload.rate.createProject=10 (0 disables an endpoint).
+ */
+public class HttpEndpointLoad {
+
+    private static final int USERS = 200;
+    private static final String ADMIN = "bench-load-admin";
+    private static final String PASSWORD = "bench-password";
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    public static void main(String[] args) throws Exception {
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup.seconds", 15));
+        Duration measurement = Duration.ofSeconds(Long.getLong("load.seconds", 60));
+
+        ConfigurableApplicationContext context = BenchContext.start(WebApplicationType.SERVLET,
+                "login.rate-limit.identifier.max-attempts=1000000",
+                "login.rate-limit.ip.max-attempts=1000000");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        try {
+            seedUsers(jdbcTemplate, context.getBean(PasswordEncoder.class));
+            String base = BenchContext.baseUrl(context);
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+            String adminToken = login(client, base, ADMIN);
+
+            AtomicLong sequence = new AtomicLong();
+            List<Endpoint> endpoints = new ArrayList<>();
+            addEndpoint(endpoints, "login", 20, n -> HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + username((int) (n % USERS))
+                            + "\",\"password\":\"" + PASSWORD + "\"}")));
+            addEndpoint(endpoints, "employees", 50,
+                    n -> HttpRequest.newBuilder(URI.create(base + "/api/employees")).GET());
+            addEndpoint(endpoints, "projects", 50,
+                    n -> HttpRequest.newBuilder(URI.create(base + "/api/projects")).GET());
+            addEndpoint(endpoints, "createProject", 10,
+                    n -> {
+                        long id = sequence.incrementAndGet();
+                        return HttpRequest.newBuilder(URI.create(base + "/api/projects"))
+                                .header("Content-Type", "application/json")
+                                .header("Authorization", "Bearer " + adminToken)
+                                .POST(HttpRequest.BodyPublishers.ofString("{\"projectName\":\"Load Project " + id
+                                        + "\",\"projectCode\":\"LOAD-" + id
+                                        + "\",\"projectType\":\"FTE\",\"department\":\"Operations\"}"));
+                    });
+
+            run(client, endpoints, warmup);
+            for (Endpoint endpoint : endpoints) {
+                endpoint.reset();
+            }
+            run(client, endpoints, measurement);
+            report(endpoints, measurement);
+        } finally {
+            jdbcTemplate.update("DELETE FROM projects WHERE project_code LIKE 'LOAD-%'");
+            jdbcTemplate.update("DELETE FROM refresh_tokens WHERE username LIKE 'bench-load-%'");
+            jdbcTemplate.update("DELETE FROM users WHERE username LIKE 'bench-load-%'");
+            context.close();
+        }
+    }
+
+    private static void addEndpoint(List<Endpoint> endpoints, String name, int defaultRate,
+            LongFunction<HttpRequest.Builder> request) {
+        int rate = Integer.getInteger("load.rate." + name, defaultRate);
+        if (rate > 0) {
+            endpoints.add(new Endpoint(name, rate, request));
+        }
+    }
+
+    private static void seedUsers(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
+        jdbcTemplate.update("INSERT IGNORE INTO finance_roles (id, role_name, is_active) VALUES (1, 'USER', true)");
+        jdbcTemplate.update("INSERT IGNORE INTO finance_roles (id, role_name, is_active) VALUES (2, 'ADMIN', true)");
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE 'bench-load-%'");
+        String hash = passwordEncoder.encode(PASSWORD);
+        for (int i = 0; i < USERS; i++) {
+            insertUser(jdbcTemplate, username(i), hash, 1);
+        }
+        insertUser(jdbcTemplate, ADMIN, hash, 2);
+    }
+
+    private static void insertUser(JdbcTemplate jdbcTemplate, String username, String hash, long roleId) {
+        jdbcTemplate.update("INSERT INTO users (username, password, email, name, location, department, role_id, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, 'Bench', 'Finance', ?, NOW(), NOW())",
+                username, hash, username + "@example.com", username, roleId);
+    }
+
+    private static String login(HttpClient client, String base, String username) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + username + "\",\"password\":\""
+                        + PASSWORD + "\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        JsonNode token = new ObjectMapper().readTree(response.body()).get("accessToken");
+        if (response.statusCode() != 200 || token == null) {
+            throw new IllegalStateException("Login as " + username + " failed with " + response.statusCode());
+        }
+        return token.asText();
+    }
+
+    // One dispatcher thread per endpoint; waits until every sent request has completed
+    private static void run(HttpClient client, List<Endpoint> endpoints, Duration duration)
+            throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> dispatchers = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            Thread thread = new Thread(() -> endpoint.dispatch(client, running), "load-" + endpoint.name);
+            thread.setDaemon(true);
+            thread.start();
+            dispatchers.add(thread);
+        }
+        Thread.sleep(duration.toMillis());
+        running.set(false);
+        for (Thread thread : dispatchers) {
+            thread.join();
+        }
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        for (Endpoint endpoint : endpoints) {
+            while (endpoint.inFlight.sum() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    private static void report(List<Endpoint> endpoints, Duration measurement) throws Exception {
+        File directory = new File("target/load");
+        directory.mkdirs();
+        System.out.printf("%-14s %8s %9s %9s %9s %9s %9s %7s%n",
+                "endpoint", "target/s", "achieved/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        for (Endpoint endpoint : endpoints) {
+            Histogram histogram = endpoint.recorder.getIntervalHistogram();
+            System.out.printf("%-14s %8d %9.1f %9.2f %9.2f %9.2f %9.2f %7d%n", endpoint.name, endpoint.rate,
+                    histogram.getTotalCount() / (double) measurement.toSeconds(),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()),
+                    endpoint.errors.sum());
+            try (PrintStream out = new PrintStream(new File(directory, endpoint.name + ".hgrm"))) {
+                // Values are recorded in microseconds; scale the output to milliseconds
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static String username(int i) {
+        return "bench-load-" + i;
+    }
+
+    private static final class Endpoint {
+        private final String name;
+        private final int rate;
+        private final LongFunction<HttpRequest.Builder> request;
+        // Microseconds, 3 significant digits; auto-resizes, so no upper bound to guess
+        private final Recorder recorder = new Recorder(3);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder inFlight = new LongAdder();
+
+        Endpoint(String name, int rate, LongFunction<HttpRequest.Builder> request) {
+            this.name = name;
+            this.rate = rate;
+            this.request = request;
+        }
+
+        void reset() {
+            recorder.reset();
+            errors.reset();
+        }
+
+        // The n-th request is due at start + n / rate, regardless of how earlier ones fared
+        void dispatch(HttpClient client, AtomicBoolean running) {
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+            long start = System.nanoTime();
+            for (long n = 0; running.get(); n++) {
+                long due = start + n * intervalNanos;
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                inFlight.increment();
+                client.sendAsync(request.apply(n).timeout(TIMEOUT).build(), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> {
+                            if (error != null || response.statusCode() >= 400) {
+                                errors.increment();
+                            } else {
+                                recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due));
+                            }
+                            inFlight.decrement();
+                        });
+            }
+        }
+    }
+}
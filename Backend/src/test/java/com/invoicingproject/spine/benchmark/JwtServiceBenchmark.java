@@ -0,0 +1,68 @@
+package com.invoicingproject.spine.benchmark;
+
+import com.invoicingproject.spine.security.AuthenticatedUser;
+import com.invoicingproject.spine.service.JwtService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token signing and verification, as done on every login and every authenticated
+ * request. The token carries a typical role's 20 permissions.
+ *
+ * Run with:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.invoicingproject.spine.benchmark.JwtServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private Set<String> permissions;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", "benchmarkSecretKey0123456789012345678901234567890");
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationInMs", 86400000L);
+        ReflectionTestUtils.setField(jwtService, "refreshTokenExpirationInMs", 604800000L);
+        permissions = new LinkedHashSet<>();
+        for (int i = 0; i < 20; i++) {
+            permissions.add("PERMISSION_" + i);
+        }
+        token = createToken();
+        if (parseToken() == null) {
+            throw new IllegalStateException("Token did not parse");
+        }
+    }
+
+    @Benchmark
+    public String createToken() {
+        return jwtService.generateToken(42L, "bench.user", "Finance", 4L, "FINANCE", permissions);
+    }
+
+    @Benchmark
+    public AuthenticatedUser parseToken() {
+        return jwtService.parseAccessToken(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,111 @@
+package com.invoicingproject.spine.benchmark;
+
+import com.invoicingproject.spine.repository.PermissionRepository;
+import com.invoicingproject.spine.security.PermissionPolicy;
+import com.invoicingproject.spine.service.PermissionService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One permission check through PermissionService (a role_permissions query per check,
+ * here answered by SyntheticJdbc, so this is the CPU floor of that path) against the
+ * compiled PermissionPolicy used by @RequiresPermission. 40 permissions, 4 roles.
+ *
+ * Run with:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.invoicingproject.spine.benchmark.PermissionCheckBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PermissionCheckBenchmark {
+
+    private static final int PERMISSIONS = 40;
+    private static final int ROLES = 4;
+
+    private PermissionService permissionService;
+    private PermissionPolicy permissionPolicy;
+    private final PermissionPolicy.Rule anyOfRule = new PermissionPolicy.Rule(
+            new String[] { "PERMISSION_38", "PERMISSION_3" }, true);
+
+    @Setup
+    public void setUp() {
+        JdbcTemplate jdbcTemplate = new SyntheticJdbc()
+                .table("WHERE rp.role_id = ?", namesForRole())
+                .table("FROM role_permissions rp", namesByRole())
+                .table("FROM permissions WHERE is_active", activePermissions())
+                .jdbcTemplate();
+        PermissionRepository permissionRepository = new PermissionRepository();
+        ReflectionTestUtils.setField(permissionRepository, "jdbcTemplate", jdbcTemplate);
+        permissionService = new PermissionService();
+        ReflectionTestUtils.setField(permissionService, "permissionRepository", permissionRepository);
+        permissionPolicy = new PermissionPolicy();
+        ReflectionTestUtils.setField(permissionPolicy, "permissionRepository", permissionRepository);
+        permissionPolicy.reload();
+
+        if (!serviceCheck() || !policyCheck() || !policyRuleCheck()) {
+            throw new IllegalStateException("Synthetic permissions not granted");
+        }
+    }
+
+    @Benchmark
+    public boolean serviceCheck() {
+        return permissionService.hasPermission(3L, "PERMISSION_3");
+    }
+
+    @Benchmark
+    public boolean policyCheck() {
+        return permissionPolicy.hasPermission(3L, "PERMISSION_3");
+    }
+
+    @Benchmark
+    public boolean policyRuleCheck() {
+        return permissionPolicy.isAllowed(3L, anyOfRule);
+    }
+
+    // Each role holds every ROLES-th permission, starting at its own id
+    private static SyntheticJdbc.Table namesForRole() {
+        Object[][] rows = new Object[PERMISSIONS / ROLES][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new Object[] { "PERMISSION_" + (3 + i * ROLES) };
+        }
+        return new SyntheticJdbc.Table(new String[] { "permission_name" }, rows);
+    }
+
+    private static SyntheticJdbc.Table namesByRole() {
+        Object[][] rows = new Object[PERMISSIONS][];
+        for (int i = 0; i < PERMISSIONS; i++) {
+            rows[i] = new Object[] { (long) (i % ROLES == 0 ? ROLES : i % ROLES), "PERMISSION_" + i };
+        }
+        return new SyntheticJdbc.Table(new String[] { "role_id", "permission_name" }, rows);
+    }
+
+    private static SyntheticJdbc.Table activePermissions() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Object[][] rows = new Object[PERMISSIONS][];
+        for (int i = 0; i < PERMISSIONS; i++) {
+            rows[i] = new Object[] { (long) i + 1, "PERMISSION_" + i, "Permission " + i, "resource" + i / 4,
+                    "action" + i % 4, now, now, true };
+        }
+        return new SyntheticJdbc.Table(new String[] { "id", "permission_name", "permission_description", "resource",
+                "action", "created_at", "updated_at", "is_active" }, rows);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PermissionCheckBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,86 @@
+package com.invoicingproject.spine.benchmark;
+
+import com.invoicingproject.spine.entity.Employee;
+import com.invoicingproject.spine.entity.Project;
+import com.invoicingproject.spine.entity.User;
+import com.invoicingproject.spine.repository.EmployeeRepository;
+import com.invoicingproject.spine.repository.ProjectRepository;
+import com.invoicingproject.spine.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The User, Employee and Project row mappers, driven through the repositories' list
+ * queries over a synthetic ResultSet (see SyntheticJdbc). Reported per row.
+ *
+ * Run with:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.invoicingproject.spine.benchmark.RowMapperBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private UserRepository userRepository;
+    private EmployeeRepository employeeRepository;
+    private ProjectRepository projectRepository;
+
+    @Setup
+    public void setUp() {
+        JdbcTemplate jdbcTemplate = new SyntheticJdbc()
+                .table("FROM users", SyntheticJdbc.users(ROWS))
+                .table("FROM employees", SyntheticJdbc.employees(ROWS))
+                .table("FROM projects", SyntheticJdbc.projects(ROWS))
+                .jdbcTemplate();
+        userRepository = new UserRepository();
+        employeeRepository = new EmployeeRepository();
+        projectRepository = new ProjectRepository();
+        ReflectionTestUtils.setField(userRepository, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(employeeRepository, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(projectRepository, "jdbcTemplate", jdbcTemplate);
+
+        // UserRepository returns an empty list on mapping errors; make sure every row mapped
+        if (users().size() != ROWS || employees().size() != ROWS || projects().size() != ROWS) {
+            throw new IllegalStateException("Synthetic rows did not map");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<User> users() {
+        return userRepository.findFinanceUsers();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Employee> employees() {
+        return employeeRepository.findAll();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Project> projects() {
+        return projectRepository.findAll();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RowMapperBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
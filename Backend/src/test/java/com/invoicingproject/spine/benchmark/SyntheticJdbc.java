@@ -0,0 +1,208 @@
+package com.invoicingproject.spine.benchmark;
+
+import ch.qos.logback.classic.Level;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory JDBC for CPU benchmarks: a JdbcTemplate whose queries return fixed tables
+ * chosen by a fragment of their SQL, so repository row mappers and the code above them
+ * run without a database. Parameters are ignored.
+ *
+ * Every ResultSet call goes through a JDK proxy, which adds a small constant cost per
+ * column read; compare runs of these benchmarks with each other, not with a live driver.
+ */
+final class SyntheticJdbc {
+
+    private static final LocalDate START_DATE = LocalDate.of(2022, 4, 1);
+    private static final Timestamp TIMESTAMP = Timestamp.valueOf("2025-01-15 10:30:00");
+
+    static {
+        // Outside Spring Boot, logback defaults to DEBUG and JdbcTemplate would log every query
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+
+    private final Map<String, Table> tables = new LinkedHashMap<>();
+
+    // The first registered fragment contained in a query's SQL picks its table
+    SyntheticJdbc table(String sqlFragment, Table table) {
+        tables.put(sqlFragment, table);
+        return this;
+    }
+
+    JdbcTemplate jdbcTemplate() {
+        return new JdbcTemplate(dataSource());
+    }
+
+    private DataSource dataSource() {
+        Connection connection = proxy(Connection.class, (method, args) -> switch (method.getName()) {
+            case "prepareStatement", "createStatement" -> statement(args != null ? (String) args[0] : null);
+            case "getAutoCommit" -> true;
+            case "isClosed", "isReadOnly" -> false;
+            default -> null;
+        });
+        return proxy(DataSource.class, (method, args) ->
+                method.getName().equals("getConnection") ? connection : null);
+    }
+
+    private PreparedStatement statement(String preparedSql) {
+        return proxy(PreparedStatement.class, (method, args) -> switch (method.getName()) {
+            case "executeQuery" -> resultSet(preparedSql != null ? preparedSql : (String) args[0]);
+            case "executeUpdate" -> 0;
+            case "execute" -> false;
+            default -> null;
+        });
+    }
+
+    private ResultSet resultSet(String sql) {
+        for (Map.Entry<String, Table> entry : tables.entrySet()) {
+            if (sql.contains(entry.getKey())) {
+                return entry.getValue().open();
+            }
+        }
+        throw new IllegalArgumentException("No synthetic table for " + sql);
+    }
+
+    // Tables shaped like the production schema, with values typical of the live data
+
+    static Table users(int count) {
+        Object[][] rows = new Object[count][];
+        for (int i = 0; i < count; i++) {
+            rows[i] = new Object[] { (long) i + 1, "user" + i, "$2a$10$abcdefghijklmnopqrstuvABCDEFGHIJKLMNOPQRSTUVWXYZ01234",
+                    "user" + i + "@example.com", "User Number " + i, "Pune", "Finance", "EMP" + (10000 + i),
+                    (long) (1 + i % 4), TIMESTAMP, TIMESTAMP };
+        }
+        return new Table(new String[] { "id", "username", "password", "email", "name", "location", "department",
+                "employee_number", "role_id", "created_at", "updated_at" }, rows);
+    }
+
+    static Table employees(int count) {
+        Object[][] rows = new Object[count][];
+        for (int i = 0; i < count; i++) {
+            rows[i] = new Object[] { (long) i + 1, "E" + (1000 + i), "Employee Number " + i, "Project " + (i % 40),
+                    "Agency " + (i % 5), i % 3 == 0 ? "FTE" : "T&M", "Developer", i % 10 != 0, "Monthly",
+                    Date.valueOf(START_DATE.plusDays(i % 900)), null, null, TIMESTAMP, TIMESTAMP };
+        }
+        return new Table(new String[] { "id", "emp_id", "name", "project", "agency", "project_type", "employee_role",
+                "billable_status", "billing_type", "start_date", "tenure", "tenure_days", "created_at", "updated_at" },
+                rows);
+    }
+
+    static Table projects(int count) {
+        Object[][] rows = new Object[count][];
+        for (int i = 0; i < count; i++) {
+            rows[i] = new Object[] { (long) i + 1, "Project " + i, "Delivery engagement for account " + i,
+                    "PRJ-" + (100 + i), (long) (1 + i % 6), "FTE", "ACTIVE", Date.valueOf(START_DATE),
+                    null, new BigDecimal("250000.00"), "Pune", "Operations", 1L, TIMESTAMP, TIMESTAMP };
+        }
+        return new Table(new String[] { "id", "project_name", "project_description", "project_code", "category_id",
+                "project_type", "status", "start_date", "end_date", "budget", "location", "department", "created_by",
+                "created_at", "updated_at" }, rows);
+    }
+
+    static Table employeeProjects(int count) {
+        Object[][] rows = new Object[count][];
+        for (int i = 0; i < count; i++) {
+            rows[i] = new Object[] { (long) i + 1, 1L, (long) i + 1, new BigDecimal("50.00"),
+                    Date.valueOf(START_DATE), null, i == 0, TIMESTAMP, TIMESTAMP };
+        }
+        return new Table(new String[] { "id", "employee_id", "project_id", "allocation_percentage", "start_date",
+                "end_date", "is_primary", "created_at", "updated_at" }, rows);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(SyntheticJdbc.class.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> handler.invoke(method, args));
+    }
+
+    private interface Handler {
+        Object invoke(Method method, Object[] args) throws Exception;
+    }
+
+    /**
+     * Rows of column values in column order. Values are the Java types a driver would hand
+     * back (Long, String, Boolean, BigDecimal, java.sql.Date, java.sql.Timestamp) or null.
+     */
+    static final class Table {
+        private final String[] columns;
+        private final Map<String, Integer> indexByLabel = new HashMap<>();
+        private final Object[][] rows;
+
+        Table(String[] columns, Object[][] rows) {
+            this.columns = columns;
+            this.rows = rows;
+            for (int i = 0; i < columns.length; i++) {
+                indexByLabel.put(columns[i], i);
+            }
+        }
+
+        int size() {
+            return rows.length;
+        }
+
+        ResultSet open() {
+            Cursor cursor = new Cursor();
+            ResultSetMetaData metaData = proxy(ResultSetMetaData.class, (method, args) -> switch (method.getName()) {
+                case "getColumnCount" -> columns.length;
+                case "getColumnLabel", "getColumnName" -> columns[(Integer) args[0] - 1];
+                default -> null;
+            });
+            return proxy(ResultSet.class, (method, args) -> switch (method.getName()) {
+                case "next" -> ++cursor.row < rows.length;
+                case "wasNull" -> cursor.wasNull;
+                case "getMetaData" -> metaData;
+                case "close", "getWarnings" -> null;
+                case "isClosed" -> false;
+                case "findColumn" -> column(args[0]) + 1;
+                default -> method.getName().startsWith("get") && args != null
+                        ? cursor.get(method.getName(), column(args[0])) : null;
+            });
+        }
+
+        private int column(Object labelOrIndex) {
+            if (labelOrIndex instanceof Integer index) {
+                return index - 1;
+            }
+            Integer index = indexByLabel.get((String) labelOrIndex);
+            if (index == null) {
+                throw new IllegalArgumentException("No column " + labelOrIndex);
+            }
+            return index;
+        }
+
+        private final class Cursor {
+            private int row = -1;
+            private boolean wasNull;
+
+            Object get(String getter, int column) {
+                Object value = rows[row][column];
+                wasNull = value == null;
+                return switch (getter) {
+                    case "getLong" -> value == null ? 0L : ((Number) value).longValue();
+                    case "getInt" -> value == null ? 0 : ((Number) value).intValue();
+                    case "getBoolean" -> value != null && (Boolean) value;
+                    case "getString" -> value == null ? null : value.toString();
+                    case "getBigDecimal" -> (BigDecimal) value;
+                    default -> value;
+                };
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.invoicingproject.spine.controller;
+
+import com.invoicingproject.spine.dto.EmployeeRequest;
+import com.invoicingproject.spine.entity.Employee;
+import com.invoicingproject.spine.entity.EmployeeProject;
+import com.invoicingproject.spine.entity.Project;
+import com.invoicingproject.spine.repository.EmployeeProjectRepository;
+import com.invoicingproject.spine.repository.EmployeeRepository;
+import com.invoicingproject.spine.repository.ProjectRepository;
+import com.invoicingproject.spine.service.AllocationLedger;
+import com.invoicingproject.spine.service.WriteTransactionRunner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeControllerTests {
+
+	private static final LocalDate TODAY = LocalDate.now();
+	private static final LocalDate LAST_YEAR = TODAY.minusYears(1);
+
+	private final EmployeeController controller = new EmployeeController();
+	private final RecordingEmployeeProjectRepository written = new RecordingEmployeeProjectRepository();
+	private int ledgerLoads;
+
+	@BeforeEach
+	void setUp() {
+		// Employee 1 was fully on project 10 for the first half of last year and has been
+		// fully on project 20 since
+		AllocationLedger allocationLedger = new AllocationLedger();
+		ReflectionTestUtils.setField(allocationLedger, "employeeProjectRepository", new EmployeeProjectRepository() {
+			@Override
+			public List<EmployeeProject> findByEmployeeId(Long employeeId) {
+				ledgerLoads++;
+				return List.of(assignment(10L, "100.00", LAST_YEAR, LAST_YEAR.plusMonths(6)),
+						assignment(20L, "100.00", LAST_YEAR.plusMonths(7), null));
+			}
+		});
+
+		ReflectionTestUtils.setField(controller, "employeeRepository", new EmployeeRepository() {
+			@Override
+			public boolean existsByEmpId(String empId) {
+				return false;
+			}
+
+			@Override
+			public Optional<Employee> findById(Long id) {
+				Employee employee = new Employee();
+				employee.setId(id);
+				return Optional.of(employee);
+			}
+
+			@Override
+			public Employee save(Employee employee) {
+				return employee;
+			}
+		});
+		ReflectionTestUtils.setField(controller, "projectRepository", new ProjectRepository() {
+			@Override
+			public Optional<Project> findById(Long id) {
+				return Optional.empty();
+			}
+		});
+		ReflectionTestUtils.setField(controller, "employeeProjectRepository", written);
+		ReflectionTestUtils.setField(controller, "allocationLedger", allocationLedger);
+		ReflectionTestUtils.setField(controller, "writeTransactionRunner",
+				new WriteTransactionRunner(new NoOpTransactionManager(), new SimpleMeterRegistry()));
+	}
+
+	@Test
+	void createAboveFullAllocationIsRejected() {
+		EmployeeRequest request = request(LAST_YEAR, List.of(20L, 30L), "60.00", "50.00");
+
+		assertEquals(HttpStatus.CONFLICT, controller.createEmployee(request).getStatusCode());
+		assertTrue(written.inserted.isEmpty());
+	}
+
+	@Test
+	void updateAboveFullAllocationIsRejected() {
+		EmployeeRequest request = request(LAST_YEAR, List.of(20L, 30L), "60.00", "50.00");
+
+		assertEquals(HttpStatus.CONFLICT, controller.updateEmployee(1L, request).getStatusCode());
+		assertTrue(written.updated.isEmpty());
+	}
+
+	@Test
+	void updateStartsNewAssignmentsTodayBesideEndedHistory() {
+		// The hire date predates the ended 100% assignment; new rows must not start there
+		EmployeeRequest request = request(LAST_YEAR, List.of(20L, 30L), "50.00", "50.00");
+
+		assertEquals(HttpStatus.OK, controller.updateEmployee(1L, request).getStatusCode());
+
+		EmployeeProject kept = written.updated.get(0);
+		assertEquals(20L, kept.getProjectId());
+		assertEquals(0, new BigDecimal("50.00").compareTo(kept.getAllocationPercentage()));
+		assertEquals(Date.valueOf(LAST_YEAR.plusMonths(7)), kept.getStartDate());
+		EmployeeProject added = written.inserted.get(0);
+		assertEquals(30L, added.getProjectId());
+		assertEquals(Date.valueOf(TODAY), added.getStartDate());
+		assertTrue(written.deleted.isEmpty());
+	}
+
+	@Test
+	void droppedAssignmentIsEndedAndLaterEditsUseTheLedger() {
+		assertEquals(HttpStatus.OK,
+				controller.updateEmployee(1L, request(LAST_YEAR, List.of(30L), "100.00")).getStatusCode());
+
+		EmployeeProject ended = written.updated.get(0);
+		assertEquals(20L, ended.getProjectId());
+		assertEquals(Date.valueOf(TODAY.minusDays(1)), ended.getEndDate());
+		assertEquals(30L, written.inserted.get(0).getProjectId());
+
+		// Project 30 is now current and is updated in place, not inserted again
+		written.updated.clear();
+		written.inserted.clear();
+		assertEquals(HttpStatus.OK,
+				controller.updateEmployee(1L, request(LAST_YEAR, List.of(30L), "80.00")).getStatusCode());
+		assertEquals(30L, written.updated.get(0).getProjectId());
+		assertTrue(written.inserted.isEmpty());
+		assertEquals(1, ledgerLoads);
+	}
+
+	private static EmployeeRequest request(LocalDate startDate, List<Long> projectIds, String... allocations) {
+		// Mutable lists, as Jackson binds them
+		EmployeeRequest request = new EmployeeRequest();
+		request.setEmpId("E-1");
+		request.setName("Employee One");
+		request.setStartDate(startDate);
+		request.setProjectIds(new ArrayList<>(projectIds));
+		List<BigDecimal> percentages = new ArrayList<>();
+		for (String allocation : allocations) {
+			percentages.add(new BigDecimal(allocation));
+		}
+		request.setAllocationPercentages(percentages);
+		return request;
+	}
+
+	private static EmployeeProject assignment(Long projectId, String percentage, LocalDate start, LocalDate end) {
+		EmployeeProject ep = new EmployeeProject();
+		ep.setEmployeeId(1L);
+		ep.setProjectId(projectId);
+		ep.setAllocationPercentage(new BigDecimal(percentage));
+		ep.setStartDate(Date.valueOf(start));
+		ep.setEndDate(end != null ? Date.valueOf(end) : null);
+		return ep;
+	}
+
+	private static final class RecordingEmployeeProjectRepository extends EmployeeProjectRepository {
+		final List<EmployeeProject> inserted = new ArrayList<>();
+		final List<EmployeeProject> updated = new ArrayList<>();
+		final List<EmployeeProject> deleted = new ArrayList<>();
+
+		@Override
+		public List<EmployeeProject> findByEmployeeId(Long employeeId) {
+			return List.of();
+		}
+
+		@Override
+		public void insertAll(List<EmployeeProject> employeeProjects) {
+			inserted.addAll(employeeProjects);
+		}
+
+		@Override
+		public void updateAll(List<EmployeeProject> employeeProjects) {
+			updated.addAll(employeeProjects);
+		}
+
+		@Override
+		public void deleteAll(List<EmployeeProject> employeeProjects) {
+			deleted.addAll(employeeProjects);
+		}
+	}
+
+	private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+		@Override
+		protected Object doGetTransaction() {
+			return new Object();
+		}
+
+		@Override
+		protected void doBegin(Object transaction, TransactionDefinition definition) {
+		}
+
+		@Override
+		protected void doCommit(DefaultTransactionStatus status) {
+		}
+
+		@Override
+		protected void doRollback(DefaultTransactionStatus status) {
+		}
+	}
+}
@@ -0,0 +1,302 @@
+package com.invoicingproject.spine.metrics;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Records every statement a repository runs through a wrapped DataSource, with the
+ * parameters of its first execution, then EXPLAINs each one against a real database and
+ * reports the plan problems that hurt on large tables: full scans (type=ALL), filesorts
+ * and temporary tables.
+ *
+ * Statements are keyed by the repository method that issued them (found on the stack) and
+ * their shape, so a report line reads "FULL_SCAN employees EmployeeRepository.findAll".
+ * INSERTs are not explained; a statement MySQL cannot explain is reported as ERROR. An
+ * ERROR is broken SQL rather than a plan trade-off, so no baseline can accept it.
+ *
+ *   QueryPlanRecorder recorder = new QueryPlanRecorder();
+ *   JdbcTemplate jdbcTemplate = new JdbcTemplate(recorder.wrap(dataSource));
+ *   ... run repository methods ...
+ *   List<QueryPlanRecorder.Finding> findings = recorder.explain(new JdbcTemplate(dataSource), SMALL_TABLES);
+ */
+public final class QueryPlanRecorder {
+
+	public enum Kind {
+		FULL_SCAN, FILESORT, TEMPORARY, ERROR
+	}
+
+	private static final String REPOSITORY_PACKAGE = "com.invoicingproject.spine.repository.";
+	private static final Pattern TABLE_REFERENCE = Pattern.compile(
+			"(?i)\\b(?:FROM|JOIN|UPDATE|INTO)\\s+(\\w+)(?:\\s+(?:AS\\s+)?(\\w+))?");
+	private static final Set<String> NOT_ALIASES = Set.of("where", "on", "set", "left", "right", "inner", "outer",
+			"join", "order", "group", "limit", "for", "values", "using", "having", "union");
+
+	private final Map<String, Captured> statements = new ConcurrentHashMap<>();
+
+	public DataSource wrap(DataSource target) {
+		return new DelegatingDataSource(target) {
+			@Override
+			public Connection getConnection() throws SQLException {
+				return connection(super.getConnection());
+			}
+
+			@Override
+			public Connection getConnection(String username, String password) throws SQLException {
+				return connection(super.getConnection(username, password));
+			}
+		};
+	}
+
+	public Collection<Captured> statements() {
+		return statements.values();
+	}
+
+	/**
+	 * EXPLAIN every recorded statement. Findings on tables in ignoredTables (small
+	 * lookup tables, where a scan is the right plan) are dropped.
+	 */
+	public List<Finding> explain(JdbcTemplate jdbcTemplate, Set<String> ignoredTables) {
+		List<Finding> findings = new ArrayList<>();
+		for (Captured statement : new TreeMap<>(statements).values()) {
+			String verb = statement.sql.stripLeading().toUpperCase(Locale.ROOT);
+			if (verb.startsWith("INSERT") || verb.startsWith("SELECT LAST_INSERT_ID")) {
+				continue;
+			}
+			try {
+				List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + statement.sql,
+						statement.params.toArray());
+				findings.addAll(findings(statement, plan, ignoredTables));
+			} catch (DataAccessException e) {
+				String message = e.getMostSpecificCause().getMessage();
+				findings.add(new Finding(Kind.ERROR, "-", statement, 0, message));
+			}
+		}
+		return findings;
+	}
+
+	static List<Finding> findings(Captured statement, List<Map<String, Object>> plan, Set<String> ignoredTables) {
+		Map<String, String> aliases = tableAliases(statement.sql);
+		List<Finding> findings = new ArrayList<>();
+		for (Map<String, Object> row : plan) {
+			Object reference = row.get("table");
+			String table = reference == null ? "-" : aliases.getOrDefault(reference.toString(), reference.toString());
+			if (ignoredTables.contains(table)) {
+				continue;
+			}
+			long rows = row.get("rows") instanceof Number n ? n.longValue() : 0;
+			String extra = row.get("Extra") != null ? row.get("Extra").toString() : "";
+			if ("ALL".equals(row.get("type"))) {
+				findings.add(new Finding(Kind.FULL_SCAN, table, statement, rows, extra));
+			}
+			if (extra.contains("Using filesort")) {
+				findings.add(new Finding(Kind.FILESORT, table, statement, rows, extra));
+			}
+			if (extra.contains("Using temporary")) {
+				findings.add(new Finding(Kind.TEMPORARY, table, statement, rows, extra));
+			}
+		}
+		return findings;
+	}
+
+	// EXPLAIN names tables by alias; map each alias (and each table name) to its table
+	static Map<String, String> tableAliases(String sql) {
+		Map<String, String> aliases = new HashMap<>();
+		Matcher matcher = TABLE_REFERENCE.matcher(sql);
+		while (matcher.find()) {
+			String table = matcher.group(1);
+			aliases.put(table, table);
+			String alias = matcher.group(2);
+			if (alias != null && !NOT_ALIASES.contains(alias.toLowerCase(Locale.ROOT))) {
+				aliases.put(alias, table);
+			}
+		}
+		return aliases;
+	}
+
+	/**
+	 * Accepted findings, one Finding.key() per line; blank lines and # comments ignored.
+	 * Missing resource reads as an empty baseline; an ERROR line is rejected.
+	 */
+	public static Set<String> readBaseline(String resource) throws IOException {
+		Set<String> keys = new LinkedHashSet<>();
+		InputStream in = QueryPlanRecorder.class.getResourceAsStream(resource);
+		if (in == null) {
+			return keys;
+		}
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.strip();
+				if (line.startsWith(Kind.ERROR + " ")) {
+					throw new IllegalStateException(resource + " accepts a statement that fails to run: " + line);
+				}
+				if (!line.isEmpty() && !line.startsWith("#")) {
+					keys.add(line);
+				}
+			}
+		}
+		return keys;
+	}
+
+	private void record(String sql, Map<Integer, Object> params) {
+		String origin = origin();
+		statements.computeIfAbsent(origin + " " + SqlStatementStats.shapeOf(sql),
+				key -> new Captured(origin, sql, new ArrayList<>(new TreeMap<>(params).values())));
+	}
+
+	// The innermost repository frame, with lambda$findByUsername$0 reported as findByUsername
+	private static String origin() {
+		return StackWalker.getInstance().walk(frames -> frames
+				.filter(frame -> frame.getClassName().startsWith(REPOSITORY_PACKAGE))
+				.findFirst()
+				.map(frame -> {
+					String className = frame.getClassName().substring(REPOSITORY_PACKAGE.length());
+					String method = frame.getMethodName();
+					if (method.startsWith("lambda$")) {
+						method = method.substring("lambda$".length(), method.indexOf('$', "lambda$".length()));
+					}
+					return className.replaceAll("\\$.*", "") + "." + method;
+				})
+				.orElse("(outside repositories)"));
+	}
+
+	private Connection connection(Connection target) {
+		return proxy(Connection.class, target, (method, args) -> {
+			Object result = method.invoke(target, args);
+			return switch (method.getName()) {
+				case "prepareStatement", "prepareCall" -> preparedStatement((PreparedStatement) result, (String) args[0]);
+				case "createStatement" -> statement((Statement) result);
+				default -> result;
+			};
+		});
+	}
+
+	private PreparedStatement preparedStatement(PreparedStatement target, String sql) {
+		Map<Integer, Object> params = new HashMap<>();
+		return proxy(PreparedStatement.class, target, (method, args) -> {
+			String name = method.getName();
+			if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+				params.put(index, name.equals("setNull") ? null : args[1]);
+			} else if (name.startsWith("execute") || name.equals("addBatch")) {
+				record(sql, params);
+			}
+			return method.invoke(target, args);
+		});
+	}
+
+	private Statement statement(Statement target) {
+		return proxy(Statement.class, target, (method, args) -> {
+			if ((method.getName().startsWith("execute") || method.getName().equals("addBatch"))
+					&& args != null && args.length > 0 && args[0] instanceof String sql) {
+				record(sql, Map.of());
+			}
+			return method.invoke(target, args);
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, T target, Handler handler) {
+		return (T) Proxy.newProxyInstance(QueryPlanRecorder.class.getClassLoader(), new Class<?>[] { type },
+				(proxy, method, args) -> {
+					try {
+						return handler.invoke(method, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+				});
+	}
+
+	private interface Handler {
+		Object invoke(Method method, Object[] args) throws Exception;
+	}
+
+	/**
+	 * A recorded statement: the repository method that issued it, its SQL and the
+	 * parameters of its first execution.
+	 */
+	public static final class Captured {
+		private final String origin;
+		private final String sql;
+		private final List<Object> params;
+
+		Captured(String origin, String sql, List<Object> params) {
+			this.origin = origin;
+			this.sql = sql;
+			this.params = params;
+		}
+
+		public String getOrigin() {
+			return origin;
+		}
+
+		public String getSql() {
+			return sql;
+		}
+	}
+
+	public static final class Finding {
+		private final Kind kind;
+		private final String table;
+		private final Captured statement;
+		private final long rows;
+		private final String detail;
+
+		Finding(Kind kind, String table, Captured statement, long rows, String detail) {
+			this.kind = kind;
+			this.table = table;
+			this.statement = statement;
+			this.rows = rows;
+			this.detail = detail;
+		}
+
+		public Kind getKind() {
+			return kind;
+		}
+
+		public String getTable() {
+			return table;
+		}
+
+		// What a baseline line matches: stable across parameter values and SQL formatting
+		public String key() {
+			return kind + " " + table + " " + statement.origin;
+		}
+
+		public boolean isAcceptedBy(Set<String> baseline) {
+			return kind != Kind.ERROR && baseline.contains(key());
+		}
+
+		@Override
+		public String toString() {
+			return key() + " (rows " + rows + (detail.isEmpty() ? "" : "; " + detail) + ")\n    "
+					+ SqlStatementStats.shapeOf(statement.sql);
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package com.invoicingproject.spine.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryPlanRecorderTests {
+
+	@Test
+	void recordsEachStatementOnceWithItsFirstParameters() {
+		QueryPlanRecorder recorder = new QueryPlanRecorder();
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(recorder.wrap(fakeDataSource()));
+
+		jdbcTemplate.query("SELECT * FROM employees WHERE project = ? ORDER BY emp_id", rs -> null, "Apollo");
+		jdbcTemplate.query("SELECT * FROM employees WHERE project = ? ORDER BY emp_id", rs -> null, "Zeus");
+		jdbcTemplate.update("UPDATE users SET email = ? WHERE username = ?", "a@example.com", "alice");
+
+		assertEquals(2, recorder.statements().size());
+		assertTrue(recorder.statements().stream()
+				.allMatch(statement -> statement.getOrigin().equals("(outside repositories)")));
+	}
+
+	@Test
+	void mapsAliasesToTables() {
+		Map<String, String> aliases = QueryPlanRecorder.tableAliases("SELECT p.*, pc.category_name FROM projects p "
+				+ "LEFT JOIN project_category pc ON pc.id = p.category_id WHERE p.id = ?");
+		assertEquals("projects", aliases.get("p"));
+		assertEquals("project_category", aliases.get("pc"));
+
+		assertFalse(QueryPlanRecorder.tableAliases("SELECT * FROM users WHERE id = ?").containsKey("WHERE"));
+	}
+
+	@Test
+	void reportsScansSortsAndTemporaryTablesOutsideIgnoredTables() {
+		QueryPlanRecorder.Captured statement = new QueryPlanRecorder.Captured("ProjectRepository.findSummaryById",
+				"SELECT ep.* FROM employee_projects ep JOIN project_category pc ON pc.id = ep.project_id "
+						+ "GROUP BY ep.project_id ORDER BY ep.start_date", List.of());
+		List<Map<String, Object>> plan = List.of(
+				Map.of("table", "ep", "type", "ALL", "rows", 300000L,
+						"Extra", "Using where; Using temporary; Using filesort"),
+				Map.of("table", "pc", "type", "ALL", "rows", 5L, "Extra", ""));
+
+		List<QueryPlanRecorder.Finding> findings = QueryPlanRecorder.findings(statement, plan,
+				Set.of("project_category"));
+
+		assertEquals(List.of("FULL_SCAN employee_projects ProjectRepository.findSummaryById",
+				"FILESORT employee_projects ProjectRepository.findSummaryById",
+				"TEMPORARY employee_projects ProjectRepository.findSummaryById"),
+				findings.stream().map(QueryPlanRecorder.Finding::key).toList());
+	}
+
+	@Test
+	void errorsAreNeverAccepted() {
+		QueryPlanRecorder.Captured statement = new QueryPlanRecorder.Captured("UserRepository.findByRole",
+				"SELECT * FROM users WHERE role = ?", List.of("ADMIN"));
+		QueryPlanRecorder.Finding error = new QueryPlanRecorder.Finding(QueryPlanRecorder.Kind.ERROR, "-",
+				statement, 0, "Unknown column 'role' in 'where clause'");
+		QueryPlanRecorder.Finding scan = new QueryPlanRecorder.Finding(QueryPlanRecorder.Kind.FULL_SCAN, "users",
+				statement, 1000, "");
+
+		assertFalse(error.isAcceptedBy(Set.of(error.key())));
+		assertTrue(scan.isAcceptedBy(Set.of(scan.key())));
+	}
+
+	// Just enough JDBC for JdbcTemplate: every statement runs and returns an empty result
+	private static DataSource fakeDataSource() {
+		ResultSet resultSet = (ResultSet) Proxy.newProxyInstance(QueryPlanRecorderTests.class.getClassLoader(),
+				new Class<?>[] { ResultSet.class }, (proxy, method, args) -> method.getReturnType() == boolean.class
+						? false : method.getReturnType() == int.class ? 0 : null);
+		Object statement = Proxy.newProxyInstance(QueryPlanRecorderTests.class.getClassLoader(),
+				new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> switch (method.getName()) {
+					case "executeQuery", "getResultSet" -> resultSet;
+					case "executeUpdate", "getUpdateCount" -> 0;
+					case "execute" -> false;
+					default -> null;
+				});
+		Connection connection = (Connection) Proxy.newProxyInstance(QueryPlanRecorderTests.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, (proxy, method, args) -> switch (method.getName()) {
+					case "prepareStatement", "createStatement" -> statement;
+					case "getAutoCommit" -> true;
+					case "isClosed", "isReadOnly" -> false;
+					default -> null;
+				});
+		return (DataSource) Proxy.newProxyInstance(QueryPlanRecorderTests.class.getClassLoader(),
+				new Class<?>[] { DataSource.class }, (proxy, method, args) ->
+						method.getName().equals("getConnection") ? connection : null);
+	}
+}
@@ -0,0 +1,99 @@
+package com.invoicingproject.spine.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.stereotype.Repository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepositoryMetricsAspectTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	void publicRepositoryMethodsAreTimedByOutcome() {
+		SampleRepository repository = proxy(new SampleRepository());
+
+		repository.findName(1L);
+		repository.findName(2L);
+		assertThrows(IllegalStateException.class, () -> repository.findName(null));
+
+		assertEquals(2, timer("findName", "success").count());
+		assertEquals(1, timer("findName", "IllegalStateException").count());
+	}
+
+	@Test
+	void nestedCallsAreTimedOnce() {
+		proxy(new SampleRepository()).findNameTwice(1L);
+
+		assertEquals(1, timer("findNameTwice", "success").count());
+		assertNull(registry.find(RepositoryMetricsAspect.METRIC_NAME).tag("method", "findName").timer());
+	}
+
+	@Test
+	void flightRecordingCapturesCallsWithRowCounts() throws Exception {
+		SampleRepository repository = proxy(new SampleRepository());
+		Path file = Files.createTempFile("repository", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable("spine.RepositoryCall").withThreshold(Duration.ZERO);
+			recording.start();
+			repository.findNames(3);
+			recording.stop();
+			recording.dump(file);
+
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+			assertEquals(1, events.size());
+			assertEquals("SampleRepository", events.get(0).getString("repository"));
+			assertEquals("findNames", events.get(0).getString("method"));
+			assertEquals(3, events.get(0).getLong("rows"));
+			assertEquals("success", events.get(0).getString("outcome"));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private Timer timer(String method, String outcome) {
+		return registry.get(RepositoryMetricsAspect.METRIC_NAME)
+				.tag("repository", "SampleRepository")
+				.tag("method", method)
+				.tag("outcome", outcome)
+				.timer();
+	}
+
+	private SampleRepository proxy(SampleRepository target) {
+		AspectJProxyFactory factory = new AspectJProxyFactory(target);
+		factory.setProxyTargetClass(true);
+		factory.addAspect(new RepositoryMetricsAspect(registry));
+		return factory.getProxy();
+	}
+
+	@Repository
+	static class SampleRepository {
+
+		public String findName(Long id) {
+			if (id == null) {
+				throw new IllegalStateException("no id");
+			}
+			return "name-" + id;
+		}
+
+		public List<String> findNames(int count) {
+			return Collections.nCopies(count, "name");
+		}
+
+		public String findNameTwice(Long id) {
+			return findName(id) + findName(id);
+		}
+	}
+}
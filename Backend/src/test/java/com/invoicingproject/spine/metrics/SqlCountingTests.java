@@ -0,0 +1,114 @@
+package com.invoicingproject.spine.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlCountingTests {
+
+	private final JdbcTemplate jdbcTemplate = new JdbcTemplate(new SqlCountingDataSource(fakeDataSource()));
+
+	@Test
+	void countsPreparedAndPlainStatementsOnlyWhileCapturing() {
+		jdbcTemplate.update("UPDATE employees SET name = ? WHERE id = ?", "a", 1L);
+
+		SqlStatementStats stats = SqlStatementAssertions.capture(() -> {
+			jdbcTemplate.update("UPDATE employees SET name = ? WHERE id = ?", "a", 1L);
+			jdbcTemplate.query("SELECT id FROM projects", rs -> null);
+		});
+
+		assertEquals(2, stats.getCount());
+		assertNull(SqlStatementCounter.current());
+	}
+
+	@Test
+	void groupsStatementsByShape() {
+		SqlStatementStats stats = SqlStatementAssertions.capture(() -> {
+			for (long id = 1; id <= 5; id++) {
+				jdbcTemplate.query("SELECT * FROM employee_projects WHERE employee_id = " + id, rs -> null);
+			}
+			jdbcTemplate.query("SELECT * FROM projects WHERE id IN (?, ?)", rs -> null, 1L, 2L);
+			jdbcTemplate.query("SELECT * FROM projects WHERE id IN (?, ?, ?)", rs -> null, 1L, 2L, 3L);
+		});
+
+		assertEquals(7, stats.getCount());
+		assertEquals(5, stats.mostRepeated().getValue());
+		assertEquals("SELECT * FROM employee_projects WHERE employee_id = ?", stats.mostRepeated().getKey());
+		assertEquals(2, stats.countsByShape().get("SELECT * FROM projects WHERE id IN (?...)"));
+		assertThrows(AssertionError.class, () -> SqlStatementAssertions.assertMaxRepeats(4, () -> {
+			for (long id = 1; id <= 5; id++) {
+				jdbcTemplate.query("SELECT * FROM employee_projects WHERE employee_id = " + id, rs -> null);
+			}
+		}));
+	}
+
+	@Test
+	void filterWritesHeaderAndMetric() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		SqlCountingFilter filter = new SqlCountingFilter(registry, 20);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/employees");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+			@Override
+			protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+				jdbcTemplate.query("SELECT id FROM employees", rs -> null);
+				jdbcTemplate.query("SELECT id FROM projects", rs -> null);
+				resp.getWriter().write("[]");
+				jdbcTemplate.query("SELECT id FROM users", rs -> null);
+			}
+		}));
+
+		assertEquals("2", response.getHeader(SqlCountingFilter.HEADER_NAME));
+		SqlStatementAssertions.assertHeaderAtMost(response, 2);
+		assertEquals(3.0, registry.get(SqlCountingFilter.METRIC_NAME)
+				.tag("method", "GET").tag("uri", "/api/employees").summary().totalAmount());
+		assertNull(SqlStatementCounter.current());
+	}
+
+	// Just enough JDBC for JdbcTemplate: every statement runs and returns an empty result
+	private static DataSource fakeDataSource() {
+		ResultSet resultSet = fake(ResultSet.class);
+		Object statement = Proxy.newProxyInstance(SqlCountingTests.class.getClassLoader(),
+				new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> switch (method.getName()) {
+					case "executeQuery", "getResultSet" -> resultSet;
+					case "executeUpdate", "getUpdateCount" -> 0;
+					case "execute" -> false;
+					default -> null;
+				});
+		Connection connection = (Connection) Proxy.newProxyInstance(SqlCountingTests.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, (proxy, method, args) -> switch (method.getName()) {
+					case "prepareStatement", "createStatement" -> statement;
+					case "getAutoCommit" -> true;
+					case "isClosed", "isReadOnly" -> false;
+					default -> null;
+				});
+		return (DataSource) Proxy.newProxyInstance(SqlCountingTests.class.getClassLoader(),
+				new Class<?>[] { DataSource.class }, (proxy, method, args) ->
+						method.getName().equals("getConnection") ? connection : null);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T fake(Class<T> type) {
+		return (T) Proxy.newProxyInstance(SqlCountingTests.class.getClassLoader(), new Class<?>[] { type },
+				(proxy, method, args) -> method.getReturnType() == boolean.class ? false
+						: method.getReturnType() == int.class ? 0 : null);
+	}
+}
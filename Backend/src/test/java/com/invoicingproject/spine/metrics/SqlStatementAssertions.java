@@ -0,0 +1,60 @@
+package com.invoicingproject.spine.metrics;
+
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement-count assertions for controller tests. Works wherever the DataSource is a
+ * SqlCountingDataSource: in a Spring context (SqlCountingConfig wraps it) or a hand-built
+ * one. Call the controller directly through assertMaxStatements / assertMaxRepeats, or
+ * check the X-SQL-Count header of a MockMvc response with assertHeaderAtMost.
+ *
+ *   List<Employee> employees = assertMaxStatements(2, () -> controller.getAllEmployees());
+ */
+public final class SqlStatementAssertions {
+
+	private SqlStatementAssertions() {
+	}
+
+	public static SqlStatementStats capture(Runnable action) {
+		SqlStatementStats previous = SqlStatementCounter.begin();
+		try {
+			action.run();
+		} catch (RuntimeException | Error e) {
+			SqlStatementCounter.end(previous);
+			throw e;
+		}
+		return SqlStatementCounter.end(previous);
+	}
+
+	public static <T> T assertMaxStatements(int max, Supplier<T> action) {
+		Object[] result = new Object[1];
+		SqlStatementStats stats = capture(() -> result[0] = action.get());
+		assertTrue(stats.getCount() <= max, () -> "Expected at most " + max + " SQL statements but got "
+				+ stats.getCount() + " " + stats.countsByShape());
+		@SuppressWarnings("unchecked")
+		T value = (T) result[0];
+		return value;
+	}
+
+	// Fails on an N+1 loop: any one statement shape issued more than maxRepeats times
+	public static void assertMaxRepeats(int maxRepeats, Runnable action) {
+		SqlStatementStats stats = capture(action);
+		Map.Entry<String, Integer> repeated = stats.mostRepeated();
+		if (repeated != null) {
+			assertTrue(repeated.getValue() <= maxRepeats, () -> "Statement issued " + repeated.getValue()
+					+ " times (at most " + maxRepeats + " expected): " + repeated.getKey());
+		}
+	}
+
+	public static void assertHeaderAtMost(MockHttpServletResponse response, int max) {
+		String header = response.getHeader(SqlCountingFilter.HEADER_NAME);
+		assertNotNull(header, "Response has no " + SqlCountingFilter.HEADER_NAME + " header");
+		int count = Integer.parseInt(header);
+		assertTrue(count <= max, () -> "Expected at most " + max + " SQL statements but the request issued " + count);
+	}
+}
@@ -0,0 +1,41 @@
+package com.invoicingproject.spine.repository;
+
+import com.invoicingproject.spine.entity.Project;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectRepositoryTests {
+
+	@Test
+	void cursorKeepsMicrosecondsAndId() {
+		Project project = new Project();
+		project.setId(42L);
+		project.setCreatedAt(LocalDateTime.of(2026, 3, 1, 10, 15, 30, 123_456_000));
+
+		Object[] cursor = ProjectRepository.decodeCursor(ProjectRepository.encodeCursor(project));
+
+		assertEquals(123_456_000, ((Timestamp) cursor[0]).getNanos());
+		assertEquals(project.getCreatedAt(), ((Timestamp) cursor[0]).toLocalDateTime());
+		assertEquals(42L, cursor[1]);
+	}
+
+	@Test
+	void cursorOnAWholeSecondRoundTrips() {
+		Project project = new Project();
+		project.setId(7L);
+		project.setCreatedAt(LocalDateTime.of(2026, 3, 1, 10, 15));
+
+		Object[] cursor = ProjectRepository.decodeCursor(ProjectRepository.encodeCursor(project));
+
+		assertEquals(project.getCreatedAt(), ((Timestamp) cursor[0]).toLocalDateTime());
+	}
+
+	@Test
+	void malformedCursorIsRejected() {
+		assertThrows(IllegalArgumentException.class, () -> ProjectRepository.decodeCursor("bm90LWEtY3Vyc29y"));
+	}
+}
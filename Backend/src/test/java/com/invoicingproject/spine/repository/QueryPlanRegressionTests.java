@@ -0,0 +1,385 @@
+package com.invoicingproject.spine.repository;
+
+import com.invoicingproject.spine.dto.ProjectSearchRequest;
+import com.invoicingproject.spine.entity.EmployeeProject;
+import com.invoicingproject.spine.metrics.QueryPlanRecorder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Query plan regression check. Runs every repository method against a seeded MySQL schema
+ * through a QueryPlanRecorder, EXPLAINs each statement they issued and fails on a full
+ * scan, filesort or temporary table that is not accepted in query-plan-baseline.txt, and
+ * on any statement MySQL cannot run (ERROR), which the baseline cannot accept.
+ * Writes methods run inside a transaction that is rolled back.
+ *
+ *   mvn test -Dtest=QueryPlanRegressionTests -Dbench.db.url=jdbc:mysql://localhost:3306/spine_bench
+ *       -Dbench.db.user=root -Dbench.db.password=root
+ *
+ * The full report goes to target/query-plans.txt. After accepting a finding on purpose, add
+ * -Dquery-plans.update-baseline=true once to rewrite the baseline from the current findings.
+ * Skipped when bench.db.url is not set. Every public method of a JDBC @Repository class
+ * must be called from readMethods / writeMethods, or be listed in UNCHECKED with the
+ * reason; a new method that is neither fails the test.
+ */
+@EnabledIfSystemProperty(named = "bench.db.url", matches = ".+")
+class QueryPlanRegressionTests {
+
+	private static final String BASELINE = "/query-plan-baseline.txt";
+
+	// Configuration tables of a few dozen rows, where a scan is the right plan
+	private static final Set<String> SMALL_TABLES = Set.of("finance_roles", "permissions", "role_permissions",
+			"project_category", "employee_roles", "rbac_version");
+
+	// Methods whose SQL is not worth explaining
+	private static final Set<String> UNCHECKED = Set.of(
+			// INSERT only; QueryPlanRecorder does not explain inserts
+			"UserRepository.save", "FinanceRoleRepository.save", "RefreshTokenRepository.save",
+			"EmployeeProjectRepository.insertAll", "RbacVersionRepository.bump");
+
+	private static final QueryPlanRecorder recorder = new QueryPlanRecorder();
+	// Repository methods called through the tracked repositories, as "UserRepository.save"
+	private static final Set<String> called = ConcurrentHashMap.newKeySet();
+	private static DataSource target;
+	private static TransactionTemplate transactionTemplate;
+
+	private static UserRepository userRepository;
+	private static EmployeeRepository employeeRepository;
+	private static EmployeeProjectRepository employeeProjectRepository;
+	private static ProjectRepository projectRepository;
+	private static ProjectCategoryRepository projectCategoryRepository;
+	private static FinanceRoleRepository financeRoleRepository;
+	private static PermissionRepository permissionRepository;
+	private static RefreshTokenRepository refreshTokenRepository;
+	private static RbacVersionRepository rbacVersionRepository;
+
+	@BeforeAll
+	static void connect() {
+		target = new DriverManagerDataSource(System.getProperty("bench.db.url"),
+				System.getProperty("bench.db.user", "root"), System.getProperty("bench.db.password", "root"));
+		Integer employees = new JdbcTemplate(target).queryForObject("SELECT COUNT(*) FROM employees", Integer.class);
+		// On a near-empty table a full scan is the cheapest plan and says nothing about the query
+		assumeTrue(employees != null && employees >= 1000, "Seed the schema (DatasetGenerator) before running");
+
+		DataSource recording = recorder.wrap(target);
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(recording);
+		transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(recording));
+
+		// Fields are set on the targets; the tracking proxies only record which methods were called
+		RbacVersionRepository rbacVersion = repository(new RbacVersionRepository(), jdbcTemplate);
+		rbacVersionRepository = tracked(rbacVersion);
+		UserRepository users = repository(new UserRepository(), jdbcTemplate);
+		ReflectionTestUtils.setField(users, "userCache", new UserCache());
+		userRepository = tracked(users);
+		employeeRepository = tracked(repository(new EmployeeRepository(), jdbcTemplate));
+		employeeProjectRepository = tracked(repository(new EmployeeProjectRepository(), jdbcTemplate));
+		projectRepository = tracked(repository(new ProjectRepository(), jdbcTemplate));
+		projectCategoryRepository = tracked(repository(new ProjectCategoryRepository(), jdbcTemplate));
+		FinanceRoleRepository financeRoles = repository(new FinanceRoleRepository(), jdbcTemplate);
+		ReflectionTestUtils.setField(financeRoles, "rbacVersionRepository", rbacVersion);
+		financeRoleRepository = tracked(financeRoles);
+		permissionRepository = tracked(repository(new PermissionRepository(), jdbcTemplate));
+		refreshTokenRepository = tracked(repository(new RefreshTokenRepository(), jdbcTemplate));
+	}
+
+	@Test
+	void repositoryQueriesHaveNoNewPlanFindings() throws IOException {
+		Sample sample = new Sample(new JdbcTemplate(target));
+		readMethods(sample);
+		transactionTemplate.executeWithoutResult(status -> {
+			writeMethods(sample);
+			status.setRollbackOnly();
+		});
+
+		List<QueryPlanRecorder.Finding> findings = recorder.explain(new JdbcTemplate(target), SMALL_TABLES);
+		Set<String> baseline = QueryPlanRecorder.readBaseline(BASELINE);
+		List<String> report = new ArrayList<>();
+		List<QueryPlanRecorder.Finding> regressions = new ArrayList<>();
+		for (QueryPlanRecorder.Finding finding : findings) {
+			boolean accepted = finding.isAcceptedBy(baseline);
+			report.add((accepted ? "accepted " : "NEW      ") + finding);
+			if (!accepted) {
+				regressions.add(finding);
+			}
+		}
+		report.add(0, recorder.statements().size() + " statements, " + findings.size() + " findings, "
+				+ regressions.size() + " new");
+		Files.createDirectories(Path.of("target"));
+		Files.write(Path.of("target/query-plans.txt"), report);
+
+		if (Boolean.getBoolean("query-plans.update-baseline")) {
+			// Plan findings can be accepted; a statement that fails to run still fails the test
+			Set<String> keys = new TreeSet<>();
+			findings.stream()
+					.filter(finding -> finding.getKind() != QueryPlanRecorder.Kind.ERROR)
+					.forEach(finding -> keys.add(finding.key()));
+			List<String> lines = new ArrayList<>(List.of(
+					"# Accepted query plan findings (see QueryPlanRegressionTests); one per line:",
+					"# <FULL_SCAN|FILESORT|TEMPORARY> <table> <Repository.method>"));
+			lines.addAll(keys);
+			Files.write(Path.of("src/test/resources" + BASELINE), lines);
+			regressions.removeIf(finding -> finding.getKind() != QueryPlanRecorder.Kind.ERROR);
+		}
+		Set<String> uncalled = uncalledRepositoryMethods();
+		assertAll(
+				() -> assertTrue(uncalled.isEmpty(), () -> "Repository methods never run, so their SQL is not "
+						+ "checked; call them in readMethods / writeMethods or list them in UNCHECKED:\n"
+						+ String.join("\n", uncalled)),
+				() -> assertTrue(regressions.isEmpty(), () -> regressions.size() + " query plan regressions (full "
+						+ "report in target/query-plans.txt):\n"
+						+ String.join("\n", regressions.stream().map(Object::toString).toList())));
+	}
+
+	// Public methods of the @Repository classes not called here and not in UNCHECKED. Spring
+	// Data interfaces (EmployeeRoleRepository) are not candidates: they run through
+	// Hibernate, not a JdbcTemplate the recorder can wrap.
+	private static Set<String> uncalledRepositoryMethods() {
+		ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+		scanner.addIncludeFilter(new AnnotationTypeFilter(Repository.class));
+		Set<String> uncalled = new TreeSet<>();
+		for (BeanDefinition candidate : scanner.findCandidateComponents(QueryPlanRegressionTests.class.getPackageName())) {
+			Class<?> type = ClassUtils.resolveClassName(candidate.getBeanClassName(), null);
+			for (Method method : type.getDeclaredMethods()) {
+				String name = type.getSimpleName() + "." + method.getName();
+				if (Modifier.isPublic(method.getModifiers()) && !Modifier.isStatic(method.getModifiers())
+						&& !method.isSynthetic() && !called.contains(name) && !UNCHECKED.contains(name)) {
+					uncalled.add(name);
+				}
+			}
+		}
+		return uncalled;
+	}
+
+	private static void readMethods(Sample sample) {
+		userRepository.findByUsername(sample.username);
+		userRepository.findByEmail(sample.email);
+		userRepository.findByEmployeeNumber(sample.employeeNumber);
+		userRepository.existsByUsername(sample.username);
+		userRepository.existsByEmail(sample.email);
+		userRepository.existsByEmployeeNumber(sample.employeeNumber);
+		userRepository.findConflictingKeys(sample.username, sample.email, sample.employeeNumber);
+		userRepository.findByDepartment("Trace Sheets");
+		userRepository.findByDepartmentIn(List.of("Finance", "Trace Sheets"));
+		userRepository.findFinanceUsers();
+		userRepository.findOperationsUsers();
+		userRepository.findTraceSheetsUsers();
+		userRepository.findByRole("ADMIN");
+		userRepository.findByRoleIn(List.of("ADMIN", "MANAGER"));
+		userRepository.findAdminUsers();
+		userRepository.findUserUsers();
+		userRepository.findByDepartmentAndRole("Finance", "ADMIN");
+		userRepository.countUsersByRole();
+		userRepository.countUsersByDepartment();
+		userRepository.findByLocation("Chicago");
+		userRepository.findByUsernameAndDepartment(sample.username, "Finance");
+		userRepository.findByEmailAndDepartment(sample.email, "Finance");
+		userRepository.findAll();
+		userRepository.findByIdIn(List.of(sample.userId, sample.userId + 1));
+		userRepository.findRoleIdByUsername(sample.username);
+		userRepository.findById(sample.userId);
+
+		employeeRepository.findAll();
+		employeeRepository.findByProject(sample.projectName);
+		employeeRepository.findByEmployeeRole("Trainee");
+		employeeRepository.findById(sample.employeeId);
+		employeeRepository.findByEmpId(sample.empId);
+		employeeRepository.existsById(sample.employeeId);
+		employeeRepository.existsByEmpId(sample.empId);
+		employeeRepository.count();
+		employeeRepository.findByTenureDaysBetween(365, 400);
+
+		employeeProjectRepository.findByEmployeeId(sample.employeeId);
+		employeeProjectRepository.findByProjectId(sample.projectId);
+		employeeProjectRepository.findById(sample.employeeProjectId);
+		employeeProjectRepository.streamAllocations(new EmployeeProjectRepository.AllocationRowHandler() {
+			@Override
+			public void employee(long employeeId, boolean billable) {
+			}
+
+			@Override
+			public void assignment(long employeeId, long projectId, BigDecimal allocationPercentage,
+					LocalDate startDate, LocalDate endDate, boolean primary) {
+			}
+		});
+		employeeProjectRepository.count();
+
+		projectRepository.findAll();
+		projectRepository.findByStatus("ON_HOLD");
+		projectRepository.findByCategoryId(sample.categoryId);
+		projectRepository.findByDepartment("Trace Sheets");
+		projectRepository.findById(sample.projectId);
+		projectRepository.findByCode(sample.projectCode);
+		projectRepository.findByProjectName(sample.projectName);
+		projectRepository.findSummaryById(sample.projectId);
+		projectRepository.existsById(sample.projectId);
+		projectRepository.existsByCode(sample.projectCode);
+		projectRepository.countByStatus("ON_HOLD");
+		projectRepository.countByCategoryId(sample.categoryId);
+		ProjectSearchRequest search = new ProjectSearchRequest();
+		search.setStatus("ACTIVE");
+		search.setProjectType("FTE");
+		projectRepository.search(search);
+		projectRepository.countMatching(search);
+		ProjectSearchRequest byDates = new ProjectSearchRequest();
+		byDates.setDepartment("Operations");
+		byDates.setStartDateFrom(LocalDate.now().minusYears(1));
+		projectRepository.search(byDates);
+
+		projectCategoryRepository.findAll();
+		projectCategoryRepository.findAllActive();
+		projectCategoryRepository.findById(sample.categoryId);
+		projectCategoryRepository.findByName("Development");
+		projectCategoryRepository.existsById(sample.categoryId);
+		financeRoleRepository.findAll();
+		financeRoleRepository.findAllActive();
+		financeRoleRepository.findByName("FINANCE");
+		financeRoleRepository.countUsersByRole();
+		financeRoleRepository.findById(sample.roleId);
+		financeRoleRepository.existsByName("FINANCE");
+		financeRoleRepository.getRoleIdByName("FINANCE");
+		permissionRepository.findAllActive();
+		permissionRepository.findByRoleName("FINANCE");
+		permissionRepository.findPermissionNamesByRole();
+		permissionRepository.findAll();
+		permissionRepository.findById(1L);
+		permissionRepository.findByName("PROJECT_WRITE");
+		permissionRepository.existsByName("PROJECT_WRITE");
+		permissionRepository.findByResource("projects");
+		permissionRepository.findByRoleId(sample.roleId);
+		permissionRepository.getPermissionNamesByRoleId(sample.roleId);
+		permissionRepository.getPermissionKeysByRoleId(sample.roleId);
+		permissionRepository.countByResource();
+		rbacVersionRepository.currentVersion();
+
+		refreshTokenRepository.findByFamilyId("no-such-family");
+		refreshTokenRepository.forEachRevokedUnexpired(rs -> { });
+	}
+
+	// Rolled back by the caller; the keys used don't need to exist. save methods that insert
+	// or update are given a loaded row, so they run their UPDATE.
+	private static void writeMethods(Sample sample) {
+		userRepository.updateUserEmail(sample.username, sample.email);
+		userRepository.updateRoleIdByIds(List.of(sample.userId), sample.roleId);
+		userRepository.updateUserRoleById(sample.userId, sample.roleId);
+		userRepository.updateUserRole("no-such-user", "USER");
+		userRepository.updateMultipleUserRoles(List.of("no-such-user"), "USER");
+		userRepository.updateUserPassword("no-such-user", "password");
+		userRepository.updateUserPasswordIfUnchanged("no-such-user", "password", "password");
+		userRepository.lockExistingIds(List.of(sample.userId));
+		userRepository.deleteByUsername("no-such-user");
+		userRepository.deleteById(-1L);
+		employeeRepository.findById(sample.employeeId).ifPresent(employeeRepository::save);
+		employeeRepository.updateEmployeeRoleByName("No Such Role", "Trainee");
+		employeeRepository.materializeTenure();
+		employeeRepository.deleteById(-1L);
+		EmployeeProject stored = employeeProjectRepository.findById(sample.employeeProjectId);
+		if (stored != null) {
+			employeeProjectRepository.save(stored);
+		}
+		employeeProjectRepository.deleteById(-1L);
+		employeeProjectRepository.deleteByEmployeeAndProject(-1L, -1L);
+		EmployeeProject missing = new EmployeeProject();
+		missing.setEmployeeId(-1L);
+		missing.setProjectId(-1L);
+		employeeProjectRepository.updateAll(List.of(missing));
+		employeeProjectRepository.deleteAll(List.of(missing));
+		employeeProjectRepository.deleteByEmployeeId(-1L);
+		projectRepository.findById(sample.projectId).ifPresent(projectRepository::save);
+		projectRepository.deleteById(-1L);
+		projectCategoryRepository.findById(sample.categoryId).ifPresent(projectCategoryRepository::save);
+		projectCategoryRepository.deleteById(-1L);
+		financeRoleRepository.deactivateRole(-1L);
+		financeRoleRepository.activateRole(-1L);
+		refreshTokenRepository.revoke("no-such-token");
+		refreshTokenRepository.revokeFamily("no-such-family");
+		refreshTokenRepository.revokeAllForUser(sample.username);
+		refreshTokenRepository.deleteExpired();
+	}
+
+	private static <T> T repository(T repository, JdbcTemplate jdbcTemplate) {
+		ReflectionTestUtils.setField(repository, "jdbcTemplate", jdbcTemplate);
+		return repository;
+	}
+
+	// Class proxy that records each method called on it before running the target's
+	@SuppressWarnings("unchecked")
+	private static <T> T tracked(T repository) {
+		ProxyFactory factory = new ProxyFactory(repository);
+		factory.setProxyTargetClass(true);
+		factory.addAdvice((MethodInterceptor) invocation -> {
+			called.add(repository.getClass().getSimpleName() + "." + invocation.getMethod().getName());
+			return invocation.proceed();
+		});
+		return (T) factory.getProxy();
+	}
+
+	// Real keys from the seeded schema, read without recording
+	private static final class Sample {
+		final long userId;
+		final String username;
+		final String email;
+		final String employeeNumber;
+		final long roleId;
+		final long employeeId;
+		final String empId;
+		final long projectId;
+		final String projectCode;
+		final String projectName;
+		final long categoryId;
+		final long employeeProjectId;
+
+		Sample(JdbcTemplate jdbcTemplate) {
+			Map<String, Object> user = jdbcTemplate.queryForMap(
+					"SELECT id, username, email, employee_number, role_id FROM users ORDER BY id LIMIT 1");
+			userId = ((Number) user.get("id")).longValue();
+			username = (String) user.get("username");
+			email = (String) user.get("email");
+			employeeNumber = (String) user.get("employee_number");
+			roleId = user.get("role_id") != null ? ((Number) user.get("role_id")).longValue() : 1L;
+			Map<String, Object> assignment = jdbcTemplate.queryForMap(
+					"SELECT ep.id, e.id AS employee_id, e.emp_id, p.id AS project_id, p.project_code, "
+							+ "p.project_name, p.category_id FROM employee_projects ep "
+							+ "JOIN employees e ON e.id = ep.employee_id JOIN projects p ON p.id = ep.project_id "
+							+ "ORDER BY ep.id LIMIT 1");
+			employeeProjectId = ((Number) assignment.get("id")).longValue();
+			employeeId = ((Number) assignment.get("employee_id")).longValue();
+			empId = (String) assignment.get("emp_id");
+			projectId = ((Number) assignment.get("project_id")).longValue();
+			projectCode = (String) assignment.get("project_code");
+			projectName = (String) assignment.get("project_name");
+			categoryId = assignment.get("category_id") != null ? ((Number) assignment.get("category_id")).longValue()
+					: 1L;
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package com.invoicingproject.spine.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs EXPLAIN on the repositories' finder queries and fails if any of them reads a table
+ * with a full scan (type=ALL). Needs a MySQL 8 schema with the V15 and V16 indexes and
+ * enough rows that the optimizer prefers an index, e.g. filled by DatasetGenerator:
+ *
+ *   mvn test -Dtest=RepositoryIndexTests -Dbench.db.url=jdbc:mysql://localhost:3306/spine_bench
+ *       -Dbench.db.user=root -Dbench.db.password=root
+ *
+ * Skipped when bench.db.url is not set. Queries that read a whole table on purpose are
+ * not listed: findAll / count, the allocation snapshot, the nightly tenure refresh and
+ * the GROUP BY statistics.
+ */
+@EnabledIfSystemProperty(named = "bench.db.url", matches = ".+")
+class RepositoryIndexTests {
+
+	private static final Date DATE = Date.valueOf(LocalDate.of(2025, 1, 1));
+	private static final Timestamp NOW = new Timestamp(System.currentTimeMillis());
+
+	// SQL as issued by the repositories, with representative parameters
+	private static final Object[][] QUERIES = {
+			{ "SELECT * FROM users WHERE username = ?", "GEN-U000001" },
+			{ "SELECT * FROM users WHERE email = ?", "gen-u000001@generated.example.com" },
+			{ "SELECT * FROM users WHERE employee_number = ?", "GEN-U000001" },
+			{ "SELECT COALESCE(MAX(username = ?), 0) AS username_taken, COALESCE(MAX(email = ?), 0) AS email_taken, "
+					+ "COALESCE(MAX(employee_number = ?), 0) AS employee_number_taken "
+					+ "FROM users WHERE username = ? OR email = ? OR employee_number = ?",
+					"a", "a@example.com", "E1", "a", "a@example.com", "E1" },
+			{ "SELECT * FROM users WHERE department = ? ORDER BY username", "Trace Sheets" },
+			{ "SELECT * FROM users WHERE location = ? ORDER BY username", "Chicago" },
+			{ "SELECT * FROM users WHERE email = ? AND department = ?", "a@example.com", "Finance" },
+			{ "SELECT role_id FROM users WHERE username = ?", "GEN-U000001" },
+			{ "UPDATE users SET role_id = ?, updated_at = ? WHERE username = ?", 1L, NOW, "GEN-U000001" },
+
+			{ "SELECT * FROM employees WHERE project = ? ORDER BY emp_id ASC", "Generated Account 1" },
+			{ "SELECT * FROM employees WHERE employee_role = ? ORDER BY emp_id ASC", "Trainee" },
+			{ "SELECT * FROM employees WHERE emp_id = ?", "GEN-E0000001" },
+			{ "SELECT 1 FROM employees WHERE emp_id = ? LIMIT 1", "GEN-E0000001" },
+			{ "SELECT * FROM employees WHERE tenure_days BETWEEN ? AND ? ORDER BY tenure_days DESC, emp_id ASC",
+					365, 400 },
+			{ "UPDATE employees SET employee_role = ?, updated_at = ? WHERE employee_role = ?", "Trainee", NOW,
+					"No Such Role" },
+
+			{ "SELECT * FROM projects WHERE status = ? ORDER BY created_at DESC", "ON_HOLD" },
+			{ "SELECT * FROM projects WHERE category_id = ? ORDER BY created_at DESC", 1L },
+			{ "SELECT * FROM projects WHERE department = ? ORDER BY created_at DESC", "Trace Sheets" },
+			{ "SELECT * FROM projects WHERE project_code = ?", "GEN-P000001" },
+			{ "SELECT * FROM projects WHERE project_name = ?", "Generated Account 1" },
+			{ "SELECT COUNT(*) FROM projects WHERE status = ?", "ON_HOLD" },
+			{ "SELECT p.*, pc.category_name FROM projects p LEFT JOIN project_category pc ON pc.id = p.category_id "
+					+ "WHERE p.status = ? AND p.project_type = ? ORDER BY p.created_at DESC, p.id DESC LIMIT ?",
+					"ACTIVE", "FTE", 21 },
+			{ "SELECT p.*, pc.category_name, "
+					+ "(SELECT COUNT(DISTINCT ep.employee_id) FROM employee_projects ep "
+					+ "WHERE ep.project_id = p.id AND (ep.end_date IS NULL OR ep.end_date >= CURDATE())) AS headcount, "
+					+ "(SELECT COALESCE(SUM(ep.allocation_percentage), 0) / 100 FROM employee_projects ep "
+					+ "INNER JOIN employees e ON e.id = ep.employee_id "
+					+ "WHERE ep.project_id = p.id AND e.billable_status = TRUE "
+					+ "AND (ep.end_date IS NULL OR ep.end_date >= CURDATE())) AS billable_fte, "
+					+ "(SELECT COUNT(*) FROM invoices i WHERE i.project_id = p.id) AS invoice_count, "
+					+ "(SELECT COALESCE(SUM(i.total_amount), 0) FROM invoices i WHERE i.project_id = p.id) AS invoice_total "
+					+ "FROM projects p LEFT JOIN project_category pc ON pc.id = p.category_id WHERE p.id = ?", 1L },
+
+			{ "SELECT ep.* FROM employee_projects ep WHERE ep.employee_id = ? ORDER BY ep.is_primary DESC, ep.id ASC",
+					1L },
+			{ "SELECT ep.* FROM employee_projects ep WHERE ep.project_id = ?", 1L },
+			{ "DELETE FROM employee_projects WHERE employee_id = ? AND project_id = ?", -1L, -1L },
+
+			{ "SELECT * FROM refresh_tokens WHERE family_id = ? ORDER BY created_at", "f" },
+			{ "SELECT * FROM refresh_tokens WHERE username = ? AND revoked_at IS NULL AND expires_at > ?", "a", NOW },
+			{ "SELECT jti, expires_at FROM refresh_tokens WHERE revoked_at IS NOT NULL AND expires_at > ?", NOW },
+			{ "DELETE FROM refresh_tokens WHERE expires_at <= ?", DATE },
+	};
+
+	private static JdbcTemplate jdbcTemplate;
+
+	@BeforeAll
+	static void connect() {
+		jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(System.getProperty("bench.db.url"),
+				System.getProperty("bench.db.user", "root"), System.getProperty("bench.db.password", "root")));
+		Integer employees = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees", Integer.class);
+		// On a near-empty table a full scan is the cheapest plan and says nothing about the indexes
+		assumeTrue(employees != null && employees >= 1000, "Seed the schema (DatasetGenerator) before running");
+	}
+
+	@Test
+	void findersUseIndexes() {
+		List<String> fullScans = new ArrayList<>();
+		for (Object[] query : QUERIES) {
+			String sql = (String) query[0];
+			Object[] params = Arrays.copyOfRange(query, 1, query.length);
+			for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + sql, params)) {
+				if ("ALL".equals(row.get("type"))) {
+					fullScans.add(row.get("table") + " (rows " + row.get("rows") + "): " + sql);
+				}
+			}
+		}
+		assertTrue(fullScans.isEmpty(), () -> "Full table scans:\n" + String.join("\n", fullScans));
+	}
+}
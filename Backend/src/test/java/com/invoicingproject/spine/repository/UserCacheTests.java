@@ -0,0 +1,61 @@
+package com.invoicingproject.spine.repository;
+
+import com.invoicingproject.spine.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCacheTests {
+
+	@Test
+	void secondLookupIsServedFromCacheUntilInvalidated() {
+		UserCache cache = new UserCache();
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.get("alice", () -> load(loads, 1L));
+		Optional<User> cached = cache.get("alice", () -> load(loads, 1L));
+		assertEquals(1, loads.get());
+		assertEquals("alice", cached.get().getUsername());
+
+		cache.invalidateIds(List.of(1L));
+		cache.get("alice", () -> load(loads, 1L));
+		assertEquals(2, loads.get());
+		assertEquals(1, cache.getStats().getHits());
+		assertEquals(2, cache.getStats().getMisses());
+	}
+
+	@Test
+	void callersCannotMutateTheCachedCopy() {
+		UserCache cache = new UserCache();
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.get("alice", () -> load(loads, 1L)).get().setEmail("changed@example.com");
+		assertEquals("alice@example.com", cache.get("alice", () -> load(loads, 1L)).get().getEmail());
+	}
+
+	@Test
+	void loadRacingAnInvalidationIsNotCached() {
+		UserCache cache = new UserCache();
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.get("alice", () -> {
+			cache.invalidate("alice");
+			return load(loads, 1L);
+		});
+		cache.get("alice", () -> load(loads, 1L));
+		assertEquals(2, loads.get());
+	}
+
+	private static Optional<User> load(AtomicInteger loads, Long id) {
+		loads.incrementAndGet();
+		User user = new User();
+		user.setId(id);
+		user.setUsername("alice");
+		user.setEmail("alice@example.com");
+		return Optional.of(user);
+	}
+}
@@ -0,0 +1,77 @@
+package com.invoicingproject.spine.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTests {
+
+	@Test
+	void previousWindowIsWeightedByOverlap() {
+		LoginRateLimiter.SlidingWindow window = new LoginRateLimiter.SlidingWindow();
+		long windowMs = 1000;
+		for (int i = 0; i < 10; i++) {
+			assertTrue(window.tryAcquire(10_000 + i, windowMs, 10));
+		}
+		assertFalse(window.tryAcquire(10_500, windowMs, 10));
+
+		// 75% into the next window only a quarter of the previous 10 still counts
+		assertTrue(window.tryAcquire(11_750, windowMs, 10));
+		// Two windows later nothing carries over
+		for (int i = 0; i < 10; i++) {
+			assertTrue(window.tryAcquire(13_000 + i, windowMs, 10));
+		}
+	}
+
+	@Test
+	void identifierLimitIsCaseInsensitiveAndResetOnSuccess() {
+		LoginRateLimiter limiter = new LoginRateLimiter(2, 60_000, 1000, 60_000, 1000);
+
+		assertEquals(LoginRateLimiter.Decision.ALLOWED, limiter.tryAcquire("Alice", "10.0.0.1"));
+		assertEquals(LoginRateLimiter.Decision.ALLOWED, limiter.tryAcquire("alice ", "10.0.0.2"));
+		assertEquals(LoginRateLimiter.Decision.REJECTED_IDENTIFIER, limiter.tryAcquire("ALICE", "10.0.0.3"));
+
+		limiter.recordSuccess("alice");
+		assertEquals(LoginRateLimiter.Decision.ALLOWED, limiter.tryAcquire("alice", "10.0.0.4"));
+		assertEquals(1, limiter.getStats().getRejectedByIdentifier());
+	}
+
+	@Test
+	void ipLimitAppliesAcrossIdentifiers() {
+		LoginRateLimiter limiter = new LoginRateLimiter(100, 60_000, 3, 60_000, 1000);
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(LoginRateLimiter.Decision.ALLOWED, limiter.tryAcquire("user" + i, "10.0.0.9"));
+		}
+		assertEquals(LoginRateLimiter.Decision.REJECTED_IP, limiter.tryAcquire("user3", "10.0.0.9"));
+	}
+
+	@Test
+	void keyCountStaysBounded() {
+		LoginRateLimiter.Limiter limiter = new LoginRateLimiter.Limiter(5, 60_000, 160);
+		for (int i = 0; i < 10_000; i++) {
+			limiter.tryAcquire("user" + i, 1_000_000);
+		}
+		assertTrue(limiter.size() <= 160, "size " + limiter.size());
+	}
+
+	@Test
+	void fullStripeRejectsNewKeysUntilWindowsLapse() {
+		LoginRateLimiter.Limiter limiter = new LoginRateLimiter.Limiter(5, 1000, 160);
+		String tracked = null;
+		for (int i = 0; i < 10_000; i++) {
+			if (limiter.tryAcquire("user" + i, 1_000_000) && tracked == null) {
+				tracked = "user" + i;
+			}
+		}
+		assertEquals(160, limiter.size());
+
+		// A full stripe of live windows turns new keys away instead of evicting tracked ones
+		assertFalse(limiter.tryAcquire("user10000", 1_000_500));
+		assertTrue(limiter.tryAcquire(tracked, 1_000_500));
+		assertEquals(160, limiter.size());
+
+		// Two windows later every entry has lapsed and makes room
+		assertTrue(limiter.tryAcquire("user10000", 1_002_000));
+	}
+}
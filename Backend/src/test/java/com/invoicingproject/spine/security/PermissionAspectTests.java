@@ -0,0 +1,104 @@
+package com.invoicingproject.spine.security;
+
+import com.invoicingproject.spine.entity.Permission;
+import com.invoicingproject.spine.repository.PermissionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PermissionAspectTests {
+
+	private Endpoints endpoints;
+
+	@BeforeEach
+	void setUp() {
+		PermissionPolicy policy = new PermissionPolicy();
+		ReflectionTestUtils.setField(policy, "permissionRepository", new StubPermissionRepository());
+		policy.load();
+		PermissionAspect aspect = new PermissionAspect();
+		ReflectionTestUtils.setField(aspect, "permissionPolicy", policy);
+
+		AspectJProxyFactory factory = new AspectJProxyFactory(new Endpoints());
+		factory.addAspect(aspect);
+		endpoints = factory.getProxy();
+	}
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void roleWithoutTheGrantIsDenied() {
+		signIn(1L, "USER");
+		assertThrows(AccessDeniedException.class, () -> endpoints.createProject());
+		assertThrows(AccessDeniedException.class, () -> endpoints.allocationReport());
+	}
+
+	@Test
+	void grantedRoleIsAllowed() {
+		signIn(3L, "MANAGER");
+		assertEquals("created", endpoints.createProject());
+
+		signIn(4L, "FINANCE");
+		assertEquals("report", endpoints.allocationReport());
+	}
+
+	@Test
+	void adminNeedsNoGrant() {
+		signIn(2L, "ADMIN");
+		assertEquals("created", endpoints.createProject());
+	}
+
+	@Test
+	void anonymousCallerIsRejected() {
+		assertThrows(AuthenticationCredentialsNotFoundException.class, () -> endpoints.createProject());
+	}
+
+	private static void signIn(Long roleId, String roleName) {
+		AuthenticatedUser user = new AuthenticatedUser(roleId, roleName.toLowerCase(), "Finance", roleId, roleName,
+				Set.of());
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(user, null, List.of()));
+	}
+
+	static class Endpoints {
+		@RequiresPermission("projects:write")
+		public String createProject() {
+			return "created";
+		}
+
+		@RequiresPermission("analytics:read")
+		public String allocationReport() {
+			return "report";
+		}
+	}
+
+	// The grants seeded by V17
+	private static final class StubPermissionRepository extends PermissionRepository {
+		@Override
+		public List<Permission> findAllActive() {
+			return List.of(new Permission("PROJECT_WRITE", null, "projects", "write"),
+					new Permission("EMPLOYEE_WRITE", null, "employees", "write"),
+					new Permission("ANALYTICS_READ", null, "analytics", "read"));
+		}
+
+		@Override
+		public Map<Long, Set<String>> findPermissionNamesByRole() {
+			return Map.of(3L, Set.of("PROJECT_WRITE", "EMPLOYEE_WRITE", "ANALYTICS_READ"),
+					4L, Set.of("PROJECT_WRITE", "ANALYTICS_READ"));
+		}
+	}
+}
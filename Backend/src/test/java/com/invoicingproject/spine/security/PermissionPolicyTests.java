@@ -0,0 +1,75 @@
+package com.invoicingproject.spine.security;
+
+import com.invoicingproject.spine.entity.Permission;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PermissionPolicyTests {
+
+	private static final List<Permission> PERMISSIONS = List.of(
+			new Permission("USER_READ", "View users", "users", "read"),
+			new Permission("USER_ASSIGN_ROLE", "Assign roles", "users", "assign_role"),
+			new Permission("INVOICE_APPROVE", "Approve invoices", "invoices", "approve"));
+
+	private final PermissionPolicy.Snapshot snapshot = PermissionPolicy.Snapshot.compile(PERMISSIONS,
+			Map.of(1L, Set.of("USER_READ"), 4L, Set.of("USER_READ", "INVOICE_APPROVE")));
+
+	@Test
+	void namesAndResourceKeysShareABit() {
+		assertTrue(snapshot.grants(4L, "INVOICE_APPROVE"));
+		assertTrue(snapshot.grants(4L, "invoices:approve"));
+		assertFalse(snapshot.grants(1L, "invoices:approve"));
+		assertFalse(snapshot.grants(3L, "USER_READ"));
+	}
+
+	@Test
+	void allOfNeedsEveryPermission() {
+		PermissionPolicy.Rule rule = new PermissionPolicy.Rule(new String[] { "users:read", "INVOICE_APPROVE" }, false);
+		assertTrue(snapshot.allows(4L, rule));
+		assertFalse(snapshot.allows(1L, rule));
+	}
+
+	@Test
+	void anyOfNeedsOnePermission() {
+		PermissionPolicy.Rule rule = new PermissionPolicy.Rule(new String[] { "USER_ASSIGN_ROLE", "USER_READ" }, true);
+		assertTrue(snapshot.allows(1L, rule));
+		assertFalse(snapshot.allows(99L, rule));
+	}
+
+	@Test
+	void unknownPermissionIsNeverGranted() {
+		assertFalse(snapshot.allows(4L, new PermissionPolicy.Rule(new String[] { "INVOICE_APPROVE", "NO_SUCH" }, false)));
+		assertTrue(snapshot.allows(4L, new PermissionPolicy.Rule(new String[] { "INVOICE_APPROVE", "NO_SUCH" }, true)));
+		assertFalse(snapshot.grants(4L, "NO_SUCH"));
+	}
+
+	@Test
+	void roleNamesSkipInactivePermissions() {
+		PermissionPolicy.Snapshot withInactive = PermissionPolicy.Snapshot.compile(PERMISSIONS,
+				Map.of(4L, Set.of("INVOICE_APPROVE", "INVOICE_DELETE")));
+
+		assertEquals(Set.of("INVOICE_APPROVE"), withInactive.namesFor(4L));
+		assertEquals(Set.of("USER_READ", "INVOICE_APPROVE"), snapshot.namesFor(4L));
+		assertEquals(Set.of(), snapshot.namesFor(3L));
+	}
+
+	@Test
+	void masksSpanMoreThanOneWord() {
+		List<Permission> permissions = new ArrayList<>();
+		for (int i = 0; i < 130; i++) {
+			permissions.add(new Permission("P" + i, null, "r" + i, "a"));
+		}
+		PermissionPolicy.Snapshot wide = PermissionPolicy.Snapshot.compile(permissions,
+				Map.of(1L, Set.of("P0", "P64", "P129")));
+
+		assertTrue(wide.allows(1L, new PermissionPolicy.Rule(new String[] { "P0", "r64:a", "P129" }, false)));
+		assertFalse(wide.allows(1L, new PermissionPolicy.Rule(new String[] { "P129", "P128" }, false)));
+		assertTrue(wide.allows(1L, new PermissionPolicy.Rule(new String[] { "P1", "P129" }, true)));
+	}
+}
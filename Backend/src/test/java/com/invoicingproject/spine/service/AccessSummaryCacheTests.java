@@ -0,0 +1,156 @@
+package com.invoicingproject.spine.service;
+
+import com.invoicingproject.spine.entity.Permission;
+import com.invoicingproject.spine.repository.PermissionRepository;
+import com.invoicingproject.spine.repository.RbacVersionRepository;
+import com.invoicingproject.spine.security.PermissionPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessSummaryCacheTests {
+
+	private final AccessSummaryCache cache = new AccessSummaryCache();
+	private final StubVersionRepository versions = new StubVersionRepository();
+	private final AtomicInteger policyReloads = new AtomicInteger();
+	private final AtomicInteger loads = new AtomicInteger();
+	private final PermissionPolicy policy = new PermissionPolicy() {
+		@Override
+		public void reload() {
+			policyReloads.incrementAndGet();
+			super.reload();
+		}
+	};
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(policy, "permissionRepository", new StubPermissionRepository());
+		ReflectionTestUtils.setField(cache, "rbacVersionRepository", versions);
+		ReflectionTestUtils.setField(cache, "permissionPolicy", policy);
+		cache.listenForPolicyReloads();
+		policy.load();
+		policyReloads.set(0);
+	}
+
+	@Test
+	void summaryIsLoadedOncePerVersion() {
+		cache.pollVersion();
+		cache.get(3L, this::load);
+		cache.get(3L, this::load);
+		assertEquals(1, loads.get());
+
+		cache.pollVersion();
+		cache.get(3L, this::load);
+		assertEquals(1, loads.get());
+		assertEquals(0, policyReloads.get());
+	}
+
+	@Test
+	void versionChangeDropsSummariesAndReloadsPolicy() {
+		cache.pollVersion();
+		cache.get(3L, this::load);
+
+		versions.version = 8;
+		cache.pollVersion();
+		assertEquals(0, cache.size());
+		assertEquals(1, policyReloads.get());
+
+		cache.get(3L, this::load);
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void unreadableVersionDisablesCaching() {
+		cache.pollVersion();
+		cache.get(3L, this::load);
+
+		versions.failing = true;
+		cache.pollVersion();
+		cache.get(3L, this::load);
+		cache.get(3L, this::load);
+		assertEquals(3, loads.get());
+
+		versions.failing = false;
+		cache.pollVersion();
+		cache.get(3L, this::load);
+		cache.get(3L, this::load);
+		assertEquals(4, loads.get());
+	}
+
+	@Test
+	void nothingIsCachedBeforeThePolicyLoads() {
+		AccessSummaryCache fresh = new AccessSummaryCache();
+		PermissionPolicy unloaded = new PermissionPolicy();
+		ReflectionTestUtils.setField(unloaded, "permissionRepository", new StubPermissionRepository());
+		ReflectionTestUtils.setField(fresh, "rbacVersionRepository", versions);
+		ReflectionTestUtils.setField(fresh, "permissionPolicy", unloaded);
+		fresh.listenForPolicyReloads();
+
+		fresh.pollVersion();
+		fresh.get(3L, this::load);
+		fresh.get(3L, this::load);
+		assertEquals(2, loads.get());
+
+		unloaded.load();
+		fresh.get(3L, this::load);
+		fresh.get(3L, this::load);
+		assertEquals(3, loads.get());
+	}
+
+	@Test
+	void scheduledPolicyReloadDropsSummaries() {
+		cache.pollVersion();
+		cache.get(3L, this::load);
+
+		policy.refresh();
+		assertEquals(0, cache.size());
+		cache.get(3L, this::load);
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void entriesExpireAfterTheTtl() {
+		ReflectionTestUtils.setField(cache, "ttlMs", 0L);
+		cache.pollVersion();
+		cache.get(3L, this::load);
+		cache.get(3L, this::load);
+		assertEquals(2, loads.get());
+	}
+
+	private UserService.AccessSummary load() {
+		loads.incrementAndGet();
+		return new UserService.AccessSummary(3L, "MANAGER", Set.of("USER_READ"), Set.of("user"), true, true, false);
+	}
+
+	private static final class StubVersionRepository extends RbacVersionRepository {
+		long version = 7;
+		boolean failing;
+
+		@Override
+		public long currentVersion() {
+			if (failing) {
+				throw new IllegalStateException("rbac_version unavailable");
+			}
+			return version;
+		}
+	}
+
+	private static final class StubPermissionRepository extends PermissionRepository {
+		@Override
+		public List<Permission> findAllActive() {
+			return List.of(new Permission("USER_READ", "View users", "users", "read"));
+		}
+
+		@Override
+		public Map<Long, Set<String>> findPermissionNamesByRole() {
+			return Map.of(3L, Set.of("USER_READ"));
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package com.invoicingproject.spine.service;
+
+import com.invoicingproject.spine.dto.AllocationReportResponse;
+import com.invoicingproject.spine.dto.AllocationReportResponse.EmployeeAllocation;
+import com.invoicingproject.spine.dto.AllocationReportResponse.ProjectAllocation;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AllocationAnalyticsServiceTests {
+
+	private static final LocalDate JAN_1 = LocalDate.of(2026, 1, 1);
+	private static final LocalDate FEB_28 = LocalDate.of(2026, 2, 28);
+
+	@Test
+	void billableFteIsDayWeightedPerMonth() {
+		AllocationSnapshot snapshot = AllocationSnapshot.builder()
+				.addEmployee(1, true)
+				.addEmployee(2, false)
+				// Billable, full time for all of January only
+				.addAssignment(1, 10, new BigDecimal("100.00"), JAN_1, LocalDate.of(2026, 1, 31), true)
+				// Non-billable, half time, open ended
+				.addAssignment(2, 10, new BigDecimal("50.00"), null, null, false)
+				.build();
+
+		AllocationReportResponse report = AllocationAnalyticsService.compute(snapshot, JAN_1, FEB_28, true);
+
+		assertEquals(2, report.getMonths().size());
+		ProjectAllocation project = report.getProjects().get(0);
+		assertEquals(10L, project.getProjectId());
+		assertEquals(1.5, project.getFte()[0], 1e-9);
+		assertEquals(0.5, project.getFte()[1], 1e-9);
+		assertEquals(1.0, project.getBillableFte()[0], 1e-9);
+		assertEquals(0.0, project.getBillableFte()[1], 1e-9);
+		assertArrayEquals(new int[] { 2, 1 }, project.getHeadcount());
+		assertArrayEquals(new int[] { 1, 0 }, project.getPrimaryHeadcount());
+		// Employee 1 has nothing in February
+		assertArrayEquals(new int[] { 0, 1 }, report.getBenchHeadcount());
+	}
+
+	@Test
+	void overlappingAssignmentsAboveFullTimeAreOverAllocated() {
+		AllocationSnapshot snapshot = AllocationSnapshot.builder()
+				.addEmployee(7, true)
+				.addAssignment(7, 1, new BigDecimal("100.00"), JAN_1, null, true)
+				.addAssignment(7, 2, new BigDecimal("50.00"), LocalDate.of(2026, 1, 11), LocalDate.of(2026, 1, 20),
+						false)
+				.build();
+
+		AllocationReportResponse report = AllocationAnalyticsService.compute(snapshot, JAN_1,
+				LocalDate.of(2026, 1, 31), true);
+
+		EmployeeAllocation employee = report.getEmployees().get(0);
+		assertEquals(150.0, employee.getPeakAllocationPercent(), 1e-9);
+		assertEquals(10, employee.getOverAllocatedDays());
+		assertEquals(0, employee.getBenchDays());
+		assertEquals((100.0 * 31 + 50.0 * 10) / 31, employee.getUtilizationPercent(), 1e-9);
+		assertArrayEquals(new int[] { 1 }, report.getOverAllocatedHeadcount());
+	}
+
+	@Test
+	void rejectsInvertedRange() {
+		assertThrows(IllegalArgumentException.class,
+				() -> AllocationAnalyticsService.validateRange(FEB_28, JAN_1));
+	}
+}
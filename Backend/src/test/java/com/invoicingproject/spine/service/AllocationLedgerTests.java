@@ -0,0 +1,120 @@
+package com.invoicingproject.spine.service;
+
+import com.invoicingproject.spine.entity.EmployeeProject;
+import com.invoicingproject.spine.repository.EmployeeProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AllocationLedgerTests {
+
+	@Test
+	void timelineSumsOnlyOverlappingRanges() {
+		AllocationLedger.AllocationTimeline timeline = new AllocationLedger.AllocationTimeline();
+		timeline.add(assignment("60.00", "2026-01-01", "2026-03-31"));
+		timeline.add(assignment("40.00", "2026-04-01", null));
+		assertEquals(6000, timeline.peak());
+
+		timeline.add(assignment("50.00", "2026-03-15", "2026-04-15"));
+		assertEquals(11000, timeline.peak());
+	}
+
+	@Test
+	void copyDoesNotChangeOriginal() {
+		AllocationLedger.AllocationTimeline timeline = new AllocationLedger.AllocationTimeline();
+		timeline.add(assignment("100.00", null, null));
+
+		AllocationLedger.AllocationTimeline copy = timeline.copy();
+		copy.add(assignment("10.00", "2026-01-01", "2026-01-01"));
+
+		assertEquals(10000, timeline.peak());
+		assertEquals(11000, copy.peak());
+	}
+
+	@Test
+	void newEmployeeIsCheckedOnItsOwn() {
+		AllocationLedger ledger = new AllocationLedger();
+
+		assertFalse(ledger.wouldOverAllocate(null,
+				List.of(assignment("50.00", "2026-01-01", null), assignment("50.00", "2026-01-01", null))));
+		assertTrue(ledger.wouldOverAllocate(null,
+				List.of(assignment("100.00", "2026-01-01", null), assignment("0.01", "2026-06-01", null))));
+	}
+
+	@Test
+	void replacementKeepsEndedAssignmentsAndReusesCurrentRows() {
+		AllocationLedger ledger = new AllocationLedger();
+		ReflectionTestUtils.setField(ledger, "employeeProjectRepository", new EmployeeProjectRepository() {
+			@Override
+			public List<EmployeeProject> findByEmployeeId(Long employeeId) {
+				return List.of(assignment(10L, "100.00", "2026-01-01", "2026-03-31"),
+						assignment(20L, "60.00", "2026-04-01", null),
+						assignment(30L, "40.00", "2026-04-01", null));
+			}
+		});
+		LocalDate today = LocalDate.of(2026, 6, 1);
+
+		// Project 20 stays at a new share, 30 is left, 40 is joined today
+		AllocationLedger.Replacement replacement = ledger.planReplacement(1L,
+				List.of(assignment(20L, "50.00", "2026-06-01", null), assignment(40L, "50.00", "2026-06-01", null)),
+				today);
+
+		assertFalse(replacement.isOverAllocated());
+		assertEquals(2, replacement.getUpdates().size());
+		EmployeeProject kept = replacement.getUpdates().get(0);
+		assertEquals(Date.valueOf("2026-04-01"), kept.getStartDate());
+		assertEquals(0, new BigDecimal("50.00").compareTo(kept.getAllocationPercentage()));
+		assertEquals(Date.valueOf("2026-05-31"), replacement.getUpdates().get(1).getEndDate());
+		assertEquals(40L, replacement.getInserts().get(0).getProjectId());
+		assertTrue(replacement.getDeletes().isEmpty());
+		assertEquals(4, replacement.getResult().size());
+
+		// A replacement reaching back into the ended assignment overlaps it
+		assertTrue(ledger.planReplacement(1L, List.of(assignment(40L, "100.00", "2026-03-01", null)), today)
+				.isOverAllocated());
+	}
+
+	@Test
+	void droppedAssignmentThatHasNotStartedIsDeleted() {
+		AllocationLedger ledger = new AllocationLedger();
+		ledger.replace(1L, List.of(assignment(20L, "100.00", "2026-07-01", null)));
+
+		AllocationLedger.Replacement replacement = ledger.planReplacement(1L, List.of(), LocalDate.of(2026, 6, 1));
+
+		assertEquals(20L, replacement.getDeletes().get(0).getProjectId());
+		assertTrue(replacement.getResult().isEmpty());
+	}
+
+	@Test
+	void recordedAssignmentsCountTowardsLaterChecks() {
+		AllocationLedger ledger = new AllocationLedger();
+		ledger.replace(1L, List.of(assignment("80.00", "2026-01-01", "2026-12-31")));
+
+		EmployeeProject extra = assignment("20.00", "2026-06-01", null);
+		assertFalse(ledger.wouldOverAllocate(1L, List.of(extra)));
+		ledger.record(extra);
+
+		assertTrue(ledger.wouldOverAllocate(1L, List.of(assignment("1.00", "2026-07-01", "2026-07-01"))));
+		assertFalse(ledger.wouldOverAllocate(1L, List.of(assignment("80.00", "2027-01-01", null))));
+	}
+
+	private static EmployeeProject assignment(String percentage, String start, String end) {
+		return assignment(null, percentage, start, end);
+	}
+
+	private static EmployeeProject assignment(Long projectId, String percentage, String start, String end) {
+		EmployeeProject ep = new EmployeeProject();
+		ep.setEmployeeId(1L);
+		ep.setProjectId(projectId);
+		ep.setAllocationPercentage(new BigDecimal(percentage));
+		ep.setStartDate(start != null ? Date.valueOf(LocalDate.parse(start)) : null);
+		ep.setEndDate(end != null ? Date.valueOf(LocalDate.parse(end)) : null);
+		return ep;
+	}
+}
@@ -0,0 +1,31 @@
+package com.invoicingproject.spine.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthServiceTests {
+
+	@Test
+	void duplicateKeyIsMappedToColumn() {
+		assertEquals("email", AuthService.conflictingKeyOf(duplicate("Duplicate entry 'a@b.com' for key 'users.email'")));
+		assertEquals("username", AuthService.conflictingKeyOf(duplicate("Duplicate entry 'bob' for key 'username'")));
+		assertEquals("employee_number", AuthService.conflictingKeyOf(
+				duplicate("Duplicate entry '1001' for key 'users.uk_users_employee_number'")));
+	}
+
+	@Test
+	void keyNameIsNotMatchedAgainstTheDuplicateValue() {
+		// The value contains "email" but the key is username
+		assertEquals("username", AuthService.conflictingKeyOf(duplicate("Duplicate entry 'email' for key 'users.username'")));
+		assertNull(AuthService.conflictingKeyOf(duplicate("Duplicate entry 'x' for key 'users.UK_6dotkott2kjsp8vw4d0m25fb7'")));
+		assertEquals("Username, email or employee number already exists", AuthService.conflictMessage(null));
+	}
+
+	private static DuplicateKeyException duplicate(String message) {
+		return new DuplicateKeyException("INSERT INTO users", new SQLIntegrityConstraintViolationException(message));
+	}
+}
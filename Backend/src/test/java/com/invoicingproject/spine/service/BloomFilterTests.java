@@ -0,0 +1,32 @@
+package com.invoicingproject.spine.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTests {
+
+	@Test
+	void containsEverythingPutAndFewFalsePositives() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		String[] added = new String[10_000];
+		for (int i = 0; i < added.length; i++) {
+			added[i] = UUID.randomUUID().toString();
+			filter.put(added[i]);
+		}
+		for (String jti : added) {
+			assertTrue(filter.mightContain(jti));
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain(UUID.randomUUID().toString())) {
+				falsePositives++;
+			}
+		}
+		// Configured for 1%; allow generous slack for randomness
+		assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+	}
+}
@@ -0,0 +1,47 @@
+package com.invoicingproject.spine.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetGeneratorTests {
+
+	@Test
+	void skewedFavoursLowIndexes() {
+		Random random = new Random(1);
+		int[] counts = new int[100];
+		for (int i = 0; i < 100_000; i++) {
+			counts[DatasetGenerator.skewed(random, counts.length)]++;
+		}
+		int top10 = 0;
+		for (int i = 0; i < 10; i++) {
+			top10 += counts[i];
+		}
+		// u^3: the first 10% of indexes draw about 46% of the samples
+		assertTrue(top10 > 40_000 && top10 < 52_000, "top 10% drew " + top10);
+		assertTrue(counts[99] > 0);
+	}
+
+	@Test
+	void pickFollowsWeights() {
+		Random random = new Random(2);
+		int[] counts = new int[3];
+		for (int i = 0; i < 100_000; i++) {
+			counts[DatasetGenerator.pick(random, 80, 15, 5)]++;
+		}
+		assertEquals(80_000, counts[0], 1_000);
+		assertEquals(15_000, counts[1], 1_000);
+		assertEquals(5_000, counts[2], 1_000);
+	}
+
+	@Test
+	void specRejectsAssignmentsWithoutEmployees() {
+		DatasetGenerator.Spec spec = new DatasetGenerator.Spec();
+		spec.setEmployees(0);
+		assertThrows(IllegalArgumentException.class, spec::validate);
+		spec.setAssignments(0);
+		spec.validate();
+	}
+}
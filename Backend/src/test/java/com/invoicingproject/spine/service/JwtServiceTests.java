@@ -0,0 +1,47 @@
+package com.invoicingproject.spine.service;
+
+import com.invoicingproject.spine.security.AuthenticatedUser;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTests {
+
+	private JwtService jwtService;
+
+	@BeforeEach
+	void setUp() {
+		jwtService = new JwtService();
+		ReflectionTestUtils.setField(jwtService, "jwtSecret", "testSecretKey1234567890123456789012345678901234567890");
+		ReflectionTestUtils.setField(jwtService, "jwtExpirationInMs", 60_000L);
+		ReflectionTestUtils.setField(jwtService, "refreshTokenExpirationInMs", 120_000L);
+	}
+
+	@Test
+	void accessTokenCarriesRoleAndPermissions() {
+		String token = jwtService.generateToken(42L, "alice", "Finance", 2L, "ADMIN",
+				Set.of("USER_READ", "INVOICE_APPROVE"));
+
+		AuthenticatedUser user = jwtService.parseAccessToken(token);
+
+		assertEquals(42L, user.getId());
+		assertEquals("alice", user.getUsername());
+		assertEquals("Finance", user.getDepartment());
+		assertTrue(user.isAdmin());
+		assertEquals(Set.of("USER_READ", "INVOICE_APPROVE"), user.getPermissions());
+	}
+
+	@Test
+	void refreshTokenIsNotAcceptedAsAccessToken() {
+		String refresh = jwtService.generateRefreshToken(42L, "alice", "Finance", "jti-1", "family-1",
+				jwtService.newRefreshTokenExpiry());
+
+		assertThrows(JwtException.class, () -> jwtService.parseAccessToken(refresh));
+		assertEquals("family-1", jwtService.parseRefreshToken(refresh).get("fam", String.class));
+	}
+}
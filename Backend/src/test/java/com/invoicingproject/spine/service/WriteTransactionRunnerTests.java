@@ -0,0 +1,90 @@
+package com.invoicingproject.spine.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteTransactionRunnerTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final CountingTransactionManager transactionManager = new CountingTransactionManager();
+	private final WriteTransactionRunner runner = new WriteTransactionRunner(transactionManager, registry);
+	private final AtomicInteger attempts = new AtomicInteger();
+
+	WriteTransactionRunnerTests() {
+		ReflectionTestUtils.setField(runner, "backoffMs", 0L);
+	}
+
+	@Test
+	void deadlockVictimIsRetriedInAFreshTransaction() {
+		String result = runner.execute("employee.update", status -> {
+			if (attempts.incrementAndGet() < 3) {
+				throw new CannotAcquireLockException("Deadlock found", null);
+			}
+			return "saved";
+		});
+
+		assertEquals("saved", result);
+		assertEquals(3, transactionManager.begun);
+		assertEquals(2, transactionManager.rolledBack);
+		assertEquals(1, transactionManager.committed);
+		assertEquals(2, registry.get("spine.write.lock_failures").tag("outcome", "retried").counter().count());
+	}
+
+	@Test
+	void givesUpAfterMaxAttempts() {
+		assertThrows(CannotAcquireLockException.class, () -> runner.execute("employee.update", status -> {
+			attempts.incrementAndGet();
+			throw new CannotAcquireLockException("Deadlock found", null);
+		}));
+
+		assertEquals(3, attempts.get());
+		assertEquals(1, registry.get("spine.write.lock_failures").tag("outcome", "gave_up").counter().count());
+	}
+
+	@Test
+	void otherFailuresAreNotRetried() {
+		assertThrows(DataIntegrityViolationException.class, () -> runner.execute("employee.create", status -> {
+			attempts.incrementAndGet();
+			throw new DataIntegrityViolationException("Duplicate entry");
+		}));
+
+		assertEquals(1, attempts.get());
+		assertEquals(1, transactionManager.rolledBack);
+	}
+
+	private static final class CountingTransactionManager extends AbstractPlatformTransactionManager {
+		int begun;
+		int committed;
+		int rolledBack;
+
+		@Override
+		protected Object doGetTransaction() {
+			return new Object();
+		}
+
+		@Override
+		protected void doBegin(Object transaction, TransactionDefinition definition) {
+			begun++;
+		}
+
+		@Override
+		protected void doCommit(DefaultTransactionStatus status) {
+			committed++;
+		}
+
+		@Override
+		protected void doRollback(DefaultTransactionStatus status) {
+			rolledBack++;
+		}
+	}
+}
@@ -273,8 +273,11 @@ const Employees = () => {
     // Set editing employee with all fields
     setEditingEmployee({ ...employee });
     
-    // Set selected projects from employee's projectIds or derive from project names
-    if (employee.projectIds && employee.projectIds.length > 0) {
+    // Set selected projects from the current (not ended) assignments, which are what an
+    // update replaces; fall back to projectIds or project names for older responses
+    if (employee.currentProjectIds) {
+      setEditingSelectedProjects(employee.currentProjectIds);
+    } else if (employee.projectIds && employee.projectIds.length > 0) {
       setEditingSelectedProjects(employee.projectIds);
     } else if (employee.projects && employee.projects.length > 0) {
       // Fallback: derive project IDs from project names
@@ -26,6 +26,8 @@ const FinanceManagerDashboard = () => {
 
   // Projects state
   const [projects, setProjects] = useState([]);
+  const [projectsNextCursor, setProjectsNextCursor] = useState(null);
+  const [projectsTotal, setProjectsTotal] = useState(null);
   const [categories, setCategories] = useState([]);
   const [categoriesLoading, setCategoriesLoading] = useState(false);
   const [categoriesError, setCategoriesError] = useState(null);
@@ -213,16 +215,50 @@ const FinanceManagerDashboard = () => {
     }).format(amount);
   };
 
-  // Load projects from API
-  const loadProjects = async () => {
+  // Load projects from API - the FTE/Contingency filter is applied server-side.
+  // Only the first page is fetched, with the total from a count-only query;
+  // further pages are loaded on demand
+  const PROJECT_PAGE_SIZE = 50;
+  const projectTypeByFilter = { contingency: "Contingency", fte: "FTE" };
+
+  const loadProjects = async (filter = projectFilter) => {
+    const projectType = projectTypeByFilter[filter];
     try {
-      const data = await ProjectService.getAllProjects();
-      setProjects(data);
+      const [page, count] = await Promise.all([
+        ProjectService.searchProjects({ projectType, limit: PROJECT_PAGE_SIZE }),
+        ProjectService.searchProjects({ projectType, countOnly: true })
+      ]);
+      setProjects(page.projects);
+      setProjectsNextCursor(page.nextCursor);
+      setProjectsTotal(count.totalCount);
     } catch (error) {
       console.error("Error loading projects:", error);
     }
   };
 
+  const loadMoreProjects = async () => {
+    if (!projectsNextCursor) return;
+    try {
+      const page = await ProjectService.searchProjects({
+        projectType: projectTypeByFilter[projectFilter],
+        limit: PROJECT_PAGE_SIZE,
+        cursor: projectsNextCursor
+      });
+      setProjects(prev => [...prev, ...page.projects]);
+      setProjectsNextCursor(page.nextCursor);
+    } catch (error) {
+      console.error("Error loading more projects:", error);
+    }
+  };
+
+  // Re-query when the project type filter changes on the overview
+  useEffect(() => {
+    if (activeSection === "overview") {
+      loadProjects(projectFilter);
+    }
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [projectFilter]);
+
   // Load invoice projects from API
   const loadInvoiceProjects = async () => {
     setInvoiceLoading(true);
@@ -1008,7 +1044,11 @@ const FinanceManagerDashboard = () => {
                       All Projects
                     </h2>
                     <div className="projects-count">
-                      <span className="count-badge">{getFilteredProjects().length} Projects</span>
+                      <span className="count-badge">
+                        {projectsTotal != null && projectsTotal > getFilteredProjects().length
+                          ? `${getFilteredProjects().length} of ${projectsTotal} Projects`
+                          : `${getFilteredProjects().length} Projects`}
+                      </span>
                     </div>
                   </div>
                   <div className="overview-buttons">
@@ -1128,6 +1168,14 @@ const FinanceManagerDashboard = () => {
                     ))}
                   </div>
                 )}
+                {projectsNextCursor && (
+                  <div className="overview-buttons">
+                    <button className="action-btn secondary" onClick={loadMoreProjects}>
+                      <i className="fas fa-angle-down"></i>
+                      Load More Projects
+                    </button>
+                  </div>
+                )}
               </section>
             </section>
           )}
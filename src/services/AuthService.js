@@ -99,7 +99,7 @@ class AuthService {
             const data = await response.json();
             
             if (data.success) {
-                this.setTokens(data.accessToken, this.refreshToken); // Keep same refresh token
+                this.setTokens(data.accessToken, data.refreshToken); // Refresh tokens are single-use; keep the rotated one
                 return { success: true, data };
             } else {
                 this.logout();
@@ -36,6 +36,7 @@ const EmployeeService = {
         method: 'POST',
         headers: {
           'Content-Type': 'application/json',
+          'Authorization': `Bearer ${localStorage.getItem('accessToken')}`,
         },
         body: JSON.stringify(employeeData),
       });
@@ -59,6 +60,7 @@ const EmployeeService = {
         method: 'PUT',
         headers: {
           'Content-Type': 'application/json',
+          'Authorization': `Bearer ${localStorage.getItem('accessToken')}`,
         },
         body: JSON.stringify(employeeData),
       });
@@ -79,6 +81,9 @@ const EmployeeService = {
     try {
       const response = await fetch(`${API_BASE_URL}/employees/${id}`, {
         method: 'DELETE',
+        headers: {
+          'Authorization': `Bearer ${localStorage.getItem('accessToken')}`,
+        },
       });
 
       if (!response.ok) {
@@ -15,6 +15,26 @@ const ProjectService = {
     }
   },
 
+  // Search projects with server-side filters; pass the returned nextCursor to get the next page
+  async searchProjects(filters = {}) {
+    try {
+      const params = new URLSearchParams();
+      Object.entries(filters).forEach(([key, value]) => {
+        if (value !== undefined && value !== null && value !== '') {
+          params.append(key, value);
+        }
+      });
+      const response = await fetch(`${API_BASE_URL}/projects/search?${params.toString()}`);
+      if (!response.ok) {
+        throw new Error('Failed to search projects');
+      }
+      return await response.json();
+    } catch (error) {
+      console.error('Error searching projects:', error);
+      throw error;
+    }
+  },
+
   // Get project by ID
   async getProjectById(id) {
     try {
@@ -29,6 +49,20 @@ const ProjectService = {
     }
   },
 
+  // Get project with category, headcount, billable FTE and invoice totals in one request
+  async getProjectSummary(id) {
+    try {
+      const response = await fetch(`${API_BASE_URL}/projects/${id}/summary`);
+      if (!response.ok) {
+        throw new Error('Failed to fetch project summary');
+      }
+      return await response.json();
+    } catch (error) {
+      console.error('Error fetching project summary:', error);
+      throw error;
+    }
+  },
+
   // Create new project
   async createProject(projectData) {
     try {
@@ -36,6 +70,7 @@ const ProjectService = {
         method: 'POST',
         headers: {
           'Content-Type': 'application/json',
+          'Authorization': `Bearer ${localStorage.getItem('accessToken')}`,
         },
         body: JSON.stringify(projectData),
       });
@@ -59,6 +94,7 @@ const ProjectService = {
         method: 'PUT',
         headers: {
           'Content-Type': 'application/json',
+          'Authorization': `Bearer ${localStorage.getItem('accessToken')}`,
         },
         body: JSON.stringify(projectData),
       });
@@ -79,6 +115,9 @@ const ProjectService = {
     try {
       const response = await fetch(`${API_BASE_URL}/projects/${id}`, {
         method: 'DELETE',
+        headers: {
+          'Authorization': `Bearer ${localStorage.getItem('accessToken')}`,
+        },
       });
       
       if (!response.ok) {